@@ -31,9 +31,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ssafy.dto.board.BoardCacheStatsDto;
 import com.ssafy.dto.board.BoardContenRegistDto;
 import com.ssafy.dto.board.BoardContentDto;
 import com.ssafy.dto.board.BoardDetailDto;
+import com.ssafy.dto.board.BoardListDto;
 import com.ssafy.dto.board.BoardPreviewDto;
 import com.ssafy.dto.board.BoardRegistDto;
 import com.ssafy.dto.board.BoardSearchDto;
@@ -61,9 +63,46 @@ public class BoardRestController {
 	    @RequestParam(defaultValue = "5") int size
 	) {
 		System.out.println("요청 : Board"+" "+page+" "+size);
-		List<BoardPreviewDto> boards = service.getBoards(page,size);
-		System.out.println(boards.toString());
-	    return ResponseEntity.ok(boards);
+		try {
+			List<BoardPreviewDto> boards = service.getBoards(page,size);
+			return ResponseEntity.ok(boards);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	// ⭐ 추가: 커서 페이지 (첫 페이지는 cursor 없이, 다음 페이지는 응답의 nextCursor 를 그대로 전달)
+	@GetMapping("/page")
+	public ResponseEntity<?> getBoardPage(
+	    @RequestParam(required = false) String cursor,
+	    @RequestParam(defaultValue = "5") int size
+	) {
+		try {
+			return ResponseEntity.ok(service.getBoardPage(cursor, size, null, null));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	// ⭐ 추가: 목록 + 개수를 한 번에 ({ items, totalCount }). category / keyword 는 /filter 와 같고 없으면 전체 목록
+	@GetMapping("/list")
+	public ResponseEntity<?> getBoardList(
+			@RequestParam(defaultValue = "1") int page,
+		    @RequestParam(defaultValue = "5") int size,
+			@ModelAttribute BoardSearchDto dto
+			) throws Exception {
+		try {
+			BoardListDto list = service.getBoardList(page, size, dto.getCategory(), dto.getKeyword());
+			return ResponseEntity.ok(list);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	// ⭐ 추가: 상세 / 목록 캐시 적중 현황
+	@GetMapping("/cache-stats")
+	public ResponseEntity<BoardCacheStatsDto> getCacheStats() {
+		return ResponseEntity.ok(service.getCacheStats());
 	}
 	
 	@GetMapping("/count")
@@ -83,14 +122,32 @@ public class BoardRestController {
 	}
 	
 	@GetMapping("/filter")
-	private List<BoardPreviewDto> findFilter(
+	private ResponseEntity<?> findFilter(
 			@RequestParam(defaultValue = "1") int page,
 		    @RequestParam(defaultValue = "5") int size,
 			@ModelAttribute BoardSearchDto dto
 			) throws Exception {
 		System.out.println("요청 : Boardfilter"+" "+page+" "+size);
-		List<BoardPreviewDto> all = service.search(page,size,dto.getCategory() , dto.getKeyword());
-		return all;
+		try {
+			List<BoardPreviewDto> all = service.search(page,size,dto.getCategory() , dto.getKeyword());
+			return ResponseEntity.ok(all);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	// ⭐ 추가: 필터 커서 페이지 (category / keyword 는 /filter 와 같음)
+	@GetMapping("/filter/page")
+	public ResponseEntity<?> findFilterPage(
+			@RequestParam(required = false) String cursor,
+		    @RequestParam(defaultValue = "5") int size,
+			@ModelAttribute BoardSearchDto dto
+			) {
+		try {
+			return ResponseEntity.ok(service.getBoardPage(cursor, size, dto.getCategory(), dto.getKeyword()));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 	
 
@@ -105,7 +162,10 @@ public class BoardRestController {
         try {
         	String uuid = UUID.randomUUID().toString();
         	dto.setId(uuid);
-        	service.boardRegist(dto);
+        	Long jobId = service.boardRegist(dto);
+        	if (jobId != null) {
+        		return ResponseEntity.status(200).header("X-Job-Id", String.valueOf(jobId)).build(); // 이미지 후처리 작업 id
+        	}
             return ResponseEntity.status(200).build();
 
         } catch (IOException e) {
@@ -127,6 +187,19 @@ public class BoardRestController {
         return ResponseEntity.status(200).body(dtos);
 	}
 	
+	// ⭐ 추가: 댓글 커서 페이지 (첫 페이지는 cursor 없이, 다음 페이지는 응답의 nextCursor 를 그대로 전달)
+	@GetMapping("/comment/page")
+	private ResponseEntity<?> getCommentPage(
+			@RequestParam String boardId,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") int size) {
+		try {
+			return ResponseEntity.ok(service.getCommentPage(boardId, cursor, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
 	@DeleteMapping("/comment/{id}")
 	private ResponseEntity deleteComment(@PathVariable int id) {
 		service.deleteComment(id);
@@ -137,8 +210,13 @@ public class BoardRestController {
 	@PutMapping("/{id}")
 	private ResponseEntity update(@PathVariable String id,@ModelAttribute BoardRegistDto dto){
 		try {
-			service.boardUpdate(id,dto);
+			Long jobId = service.boardUpdate(id,dto);
+			if (jobId != null) {
+				return ResponseEntity.status(200).header("X-Job-Id", String.valueOf(jobId)).build();
+			}
 			return ResponseEntity.status(200).build();
+		}catch(IllegalArgumentException e) {
+			return ResponseEntity.status(404).body(e.getMessage());
 		}catch(IOException e) {
 			e.printStackTrace();
 			return ResponseEntity.status(400).build();
@@ -0,0 +1,80 @@
+package com.ssafy.api;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.ssafy.service.ImageResizeService;
+import com.ssafy.service.ImageResizeService.Target;
+import com.ssafy.service.ImageResizeService.Variant;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 게시글 이미지 축소본 (/images/resize/<저장 이름>?w=200&q=80). 원본은 기존처럼 /images/<저장 이름>
+// 내용 해시 이름(cas/...) 의 축소본은 바뀌지 않으므로 1 년 immutable 캐시
+@Slf4j
+@RestController
+@RequestMapping("/images")
+@RequiredArgsConstructor
+public class ImageRestController {
+	private final ImageResizeService resizeService;
+
+	@GetMapping("/resize/{*path}")
+	public ResponseEntity<?> resize(@PathVariable String path,
+			@RequestParam(value = "w") int width,
+			@RequestParam(value = "q", required = false) Integer quality,
+			WebRequest request) {
+		String storedName = path.startsWith("/") ? path.substring(1) : path;
+		try {
+			Target target = resizeService.target(storedName, width, quality);
+			// ⭐ 수정: 304 는 축소 / 파일 읽기 전에 판단
+			String etag = "\"" + target.etag() + "\"";
+			if (request.checkNotModified(etag)) {
+				return null; // 304
+			}
+			Variant variant = resizeService.resize(target);
+			if (variant == null) { // 이미 충분히 작거나 축소할 수 없는 형식
+				// context path 가 있어도 원본 주소로 가도록 현재 요청 기준으로 만듦
+				return ResponseEntity.status(HttpStatus.FOUND)
+						.location(ServletUriComponentsBuilder.fromCurrentContextPath()
+								.path("/images/").path(storedName).build().encode().toUri())
+						.build();
+			}
+			CacheControl cacheControl = variant.immutable()
+					? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+					: CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+			return ResponseEntity.ok()
+					.cacheControl(cacheControl)
+					.eTag(etag)
+					.contentType(MediaType.parseMediaType(variant.contentType()))
+					.body(new FileSystemResource(variant.file())); // 메모리에 올리지 않고 스트리밍
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (NoSuchFileException e) {
+			return ResponseEntity.notFound().build();
+		} catch (RejectedExecutionException | TimeoutException e) {
+			// 축소 대기열이 가득 참. 잠시 후 다시 요청
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+		} catch (IOException e) {
+			log.error("이미지 축소 중 오류 발생: {}", e.getMessage(), e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+		}
+	}
+}
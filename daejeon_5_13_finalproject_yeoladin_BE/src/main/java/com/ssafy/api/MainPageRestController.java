@@ -2,6 +2,7 @@ package com.ssafy.api;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,12 +21,18 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class MainPageRestController {
 	private final ShortformService service;
+
+	@Value("${shortform.leaderboard.size}")
+	private int popularSize; // 메인 페이지에 노출할 인기 숏폼 수
+
+	@Value("${shortform.trending.size}")
+	private int trendingSize; // 메인 페이지에 노출할 트렌딩 숏폼 수
 	
 	@GetMapping("/popular-shortforms")
     public ResponseEntity<List<ShortformDto>> getPopularShortforms() {
         try {
-            // 조회수 상위 5개 숏폼 가져오기
-            List<ShortformDto> popularShortforms = service.getPopularShortforms(5);
+            // 조회수 상위 N개 숏폼 가져오기 (메모리 리더보드에서 읽음)
+            List<ShortformDto> popularShortforms = service.getPopularShortforms(popularSize);
             if (popularShortforms != null && !popularShortforms.isEmpty()) {
                 return ResponseEntity.ok(popularShortforms);
             } else {
@@ -36,4 +43,20 @@ public class MainPageRestController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+	// ⭐ 추가: 트렌딩 숏폼 (최근 조회 / 좋아요 기준, 오래된 인기 영상은 점점 밀려남)
+	@GetMapping("/trending-shortforms")
+    public ResponseEntity<List<ShortformDto>> getTrendingShortforms() {
+        try {
+            List<ShortformDto> trendingShortforms = service.getTrendingShortforms(trendingSize);
+            if (trendingShortforms != null && !trendingShortforms.isEmpty()) {
+                return ResponseEntity.ok(trendingShortforms);
+            } else {
+                return ResponseEntity.noContent().build(); // 데이터가 없을 경우 204 No Content
+            }
+        } catch (Exception e) {
+            log.error("Error fetching trending shortforms: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
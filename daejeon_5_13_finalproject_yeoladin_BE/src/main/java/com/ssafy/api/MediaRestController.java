@@ -0,0 +1,54 @@
+package com.ssafy.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ssafy.dto.media.MediaJobDto;
+import com.ssafy.dto.media.MediaStorageReportDto;
+import com.ssafy.service.MediaJobService;
+import com.ssafy.service.MediaStorageService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/auth/media")
+@RequiredArgsConstructor
+public class MediaRestController {
+	private final MediaStorageService mediaStorage;
+	private final MediaJobService jobService;
+
+	// 업로드 중복 제거로 절약한 용량 (관리자 전용, SecurityConfig 참고)
+	// scan=true 면 중복 제거 도입 전 파일도 해시해서 합쳤을 때 줄어들 용량을 같이 계산 (파일을 모두 읽으므로 느림)
+	@GetMapping("/report")
+	public ResponseEntity<MediaStorageReportDto> report(
+			@RequestParam(value = "scan", defaultValue = "false") boolean scan) {
+		try {
+			return ResponseEntity.ok(mediaStorage.report(scan));
+		} catch (Exception e) {
+			log.error("미디어 저장 공간 리포트 생성 중 오류 발생: {}", e.getMessage(), e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+		}
+	}
+
+	// ⭐ 추가: 업로드 후처리 작업 상태 (업로드 응답의 X-Job-Id). PENDING / RUNNING 이면 잠시 뒤 다시 조회
+	@GetMapping("/jobs/{id}")
+	public ResponseEntity<MediaJobDto> job(@PathVariable long id) {
+		try {
+			MediaJobDto job = jobService.findJob(id);
+			if (job == null) {
+				return ResponseEntity.notFound().build();
+			}
+			return ResponseEntity.ok(job);
+		} catch (Exception e) {
+			log.error("후처리 작업 조회 중 오류 발생: {}", e.getMessage(), e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+		}
+	}
+}
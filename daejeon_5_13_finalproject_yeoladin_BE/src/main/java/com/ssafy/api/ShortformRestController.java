@@ -2,29 +2,41 @@ package com.ssafy.api;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID; 
+import java.util.NoSuchElementException;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.ssafy.dto.MemberDto;
 import com.ssafy.dto.contenttype.ContentTypeDto;
 import com.ssafy.dto.shortform.ShortformDto;
+import com.ssafy.dto.shortform.ShortformFavoriteDto;
+import com.ssafy.dto.shortform.ShortformFavoriteRequestDto;
+import com.ssafy.dto.shortform.ShortformPageDto;
+import com.ssafy.dto.shortform.ShortformUploadDto;
+import com.ssafy.dto.shortform.ShortformViewerStatsDto;
+import com.ssafy.security.jwt.JwtMemberPrincipal;
+import com.ssafy.service.MediaStorageService;
+import com.ssafy.service.MediaStorageService.MediaKind;
 import com.ssafy.service.MemberService;
+import com.ssafy.service.ShortformLiveBroadcaster;
 import com.ssafy.service.ShortformService;
+import com.ssafy.service.ShortformUploadService;
+import com.ssafy.service.ShortformViewerCounter;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,17 +45,25 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/api/auth/video")
 @RequiredArgsConstructor
 public class ShortformRestController {
+	private static final String UPLOAD_OFFSET = "Upload-Offset";
+	private static final String JOB_ID = "X-Job-Id"; // 업로드 후처리 작업 id (GET /api/auth/media/jobs/{id})
+	private static final String UPLOAD_LENGTH = "Upload-Length";
+
 	private final ShortformService service;
 	 private final MemberService memberService;
-
-	@Value("${file.upload-dir}")
-	private String uploadDir;
+	private final ShortformUploadService uploadService;
+	private final MediaStorageService mediaStorage;
+	private final ShortformLiveBroadcaster liveBroadcaster;
 
 	// Utility method to get member PK (Long) from AuthenticationPrincipal
     private Long getMemberPkFromPrincipal(Object principal) {
         if (principal == null) {
             return null;
         }
+        // ⭐ 추가: JWT 클레임에 회원 id 가 있으면 DB 조회 없이 사용 (클레임이 없는 이전 토큰은 아래에서 이메일로 조회)
+        if (principal instanceof JwtMemberPrincipal && ((JwtMemberPrincipal) principal).getMemberId() != null) {
+            return ((JwtMemberPrincipal) principal).getMemberId();
+        }
         if (principal instanceof UserDetails) { // 일반 JWT 로그인 사용자
             // CustomUserDetails를 사용하고 있고, MemberDto를 통해 pk를 가져올 수 있다면:
             // if (principal instanceof CustomUserDetails) {
@@ -81,6 +101,68 @@ public class ShortformRestController {
         return null;
     }
 
+    // 인증 정보의 이메일로 작성자 이름 조회 (실패 시 "익명")
+    // 탈퇴한 회원의 토큰은 JwtAuthenticationFilter 에서 인증되지 않으므로 여기서는 확인하지 않음
+    private String resolveAuthorName(Object principal) {
+        String authorName = "익명"; // 기본값
+        String authorEmail = null;
+
+        // ⭐ 추가: JWT 클레임에 이름이 있으면 DB 조회 없이 사용 (발급 시점의 이름, 클레임이 없는 이전 토큰은 아래에서 조회)
+        if (principal instanceof JwtMemberPrincipal && ((JwtMemberPrincipal) principal).getName() != null) {
+            return ((JwtMemberPrincipal) principal).getName();
+        }
+        if (principal instanceof UserDetails) {
+            authorEmail = ((UserDetails) principal).getUsername();
+        } else if (principal instanceof OAuth2User) {
+            authorEmail = ((OAuth2User) principal).getAttribute("email");
+            // OAuth2User에서 이름을 가져올 수도 있음
+            // authorName = ((OAuth2User) principal).getAttribute("name");
+        }
+        
+        if (authorEmail != null) {
+            try {
+                MemberDto member = memberService.selectMember(authorEmail);
+                if (member != null) {
+                    authorName = member.getName(); // DB에 저장된 이름 사용
+                }
+            } catch (Exception e) {
+                log.warn("작성자 이름 조회 실패: {}", authorEmail);
+            }
+        }
+        return authorName;
+    }
+
+    // 업로드 폴더에 저장된 비디오 파일로 숏폼 등록 (일반 업로드 / 이어올리기 완료 공통)
+    private ResponseEntity<ShortformDto> registerVideo(String videofileDbPath, String title, String content,
+            String authorName, Integer contentTypeId, Long memberPk) throws Exception {
+        ShortformDto form = new ShortformDto();
+        form.setTitle(title);
+        form.setVideofile(videofileDbPath);
+        form.setAuthor(authorName); // 인증된 사용자 이름으로 설정
+        form.setContent(content);
+        form.setSelectedContentTypeId(contentTypeId);
+
+        int result;
+        try {
+            result = service.insertVideo(form, memberPk); // Service는 author를 그대로 받아서 저장
+        } catch (Exception e) {
+            mediaStorage.release(MediaKind.VIDEO, videofileDbPath); // 등록 실패 시 파일 참조도 되돌림
+            throw e;
+        }
+        if (result > 0) {
+            log.info("비디오 업로드 성공: {}", form);
+            ShortformDto createdVideo = service.selectVideo(form.getPk(), memberPk); // 생성된 비디오 정보 반환 시에도 memberPk 전달
+            createdVideo.setJobId(form.getJobId());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(JOB_ID, String.valueOf(form.getJobId()))
+                    .body(createdVideo);
+        } else {
+            log.warn("비디오 업로드 실패 (DB 삽입 오류): {}", form);
+            mediaStorage.release(MediaKind.VIDEO, videofileDbPath);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/contenttypes")
     public ResponseEntity<List<ContentTypeDto>> getContentTypes() {
         try {
@@ -105,28 +187,7 @@ public class ShortformRestController {
             @AuthenticationPrincipal Object principal) { // 인증된 사용자 정보 받기
         
         Long memberPk = getMemberPkFromPrincipal(principal);
-        String authorName = "익명"; // 기본값
-        String authorEmail = null;
-
-        if (principal instanceof UserDetails) {
-            authorEmail = ((UserDetails) principal).getUsername();
-        } else if (principal instanceof OAuth2User) {
-            authorEmail = ((OAuth2User) principal).getAttribute("email");
-            // OAuth2User에서 이름을 가져올 수도 있음
-            // authorName = ((OAuth2User) principal).getAttribute("name");
-        }
-        
-        if (authorEmail != null) {
-            try {
-                MemberDto member = memberService.selectMember(authorEmail);
-                if (member != null) {
-                    authorName = member.getName(); // DB에 저장된 이름 사용
-                }
-            } catch (Exception e) {
-                log.warn("작성자 이름 조회 실패: {}", authorEmail);
-            }
-        }
-
+        String authorName = resolveAuthorName(principal);
 
         if (memberPk == null && principal != null) { // principal은 있는데 pk를 못가져온 경우 (로깅/디버깅용)
              log.warn("Principal is present but could not extract member PK for video creation. Principal: {}", principal);
@@ -151,35 +212,10 @@ public class ShortformRestController {
                 return ResponseEntity.badRequest().build();
             }
 
-            Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Files.createDirectories(uploadPath);
+            // 처리 대기 이름으로만 옮겨두고 바로 응답. faststart / 중복 제거 저장은 후처리 작업에서
+            String videofileDbPath = mediaStorage.storePending(MediaKind.VIDEO, videofile);
 
-            String originalFilename = videofile.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-            Path filePath = uploadPath.resolve(uniqueFilename);
-            videofile.transferTo(filePath.toFile());
-            String videofileDbPath = uniqueFilename;
-
-            ShortformDto form = new ShortformDto();
-            form.setTitle(title);
-            form.setVideofile(videofileDbPath);
-            form.setAuthor(authorName); // 인증된 사용자 이름으로 설정
-            form.setContent(content);
-            form.setSelectedContentTypeId(contentTypeId);
-
-            int result = service.insertVideo(form, memberPk); // Service는 author를 그대로 받아서 저장
-            if (result > 0) {
-                log.info("비디오 업로드 성공: {}", form);
-                ShortformDto createdVideo = service.selectVideo(form.getPk(), memberPk); // 생성된 비디오 정보 반환 시에도 memberPk 전달
-                return ResponseEntity.status(HttpStatus.CREATED).body(createdVideo);
-            } else {
-                log.warn("비디오 업로드 실패 (DB 삽입 오류): {}", form);
-                return ResponseEntity.badRequest().build();
-            }
+            return registerVideo(videofileDbPath, title, content, authorName, contentTypeId, memberPk);
         } catch (IOException e) {
             log.error("파일 저장 중 오류 발생: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
@@ -189,6 +225,116 @@ public class ShortformRestController {
         }
     }
 
+    // --- 이어올리기(resumable) 업로드 API (tus 방식) ---
+    // 1. POST   /uploads                 : 세션 생성 (Upload-Length 헤더로 전체 크기 선언)
+    // 2. PATCH  /uploads/{id}            : Upload-Offset 위치부터 청크 이어붙이기 (application/offset+octet-stream)
+    // 3. HEAD/GET /uploads/{id}          : 현재 offset 조회 (끊긴 뒤 이어서 보낼 위치)
+    // 4. POST   /uploads/{id}/complete   : 숏폼 등록 (insertVideo 와 같은 처리)
+    // 5. DELETE /uploads/{id}            : 업로드 취소
+    @PostMapping("/uploads")
+    public ResponseEntity<ShortformUploadDto> createUpload(
+            @RequestHeader(UPLOAD_LENGTH) long length,
+            @RequestParam(value = "filename", required = false) String filename,
+            @AuthenticationPrincipal Object principal) {
+        Long memberPk = getMemberPkFromPrincipal(principal);
+        if (memberPk == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            ShortformUploadDto upload = uploadService.createSession(memberPk, length, filename);
+            return ResponseEntity.created(URI.create("/api/auth/video/uploads/" + upload.getUploadId()))
+                    .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                    .body(upload);
+        } catch (Exception e) {
+            return uploadErrorResponse(e, null);
+        }
+    }
+
+    @GetMapping("/uploads/{uploadId}") // HEAD 요청도 같이 처리됨
+    public ResponseEntity<ShortformUploadDto> getUpload(
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal Object principal) {
+        Long memberPk = getMemberPkFromPrincipal(principal);
+        try {
+            ShortformUploadDto upload = uploadService.getSession(uploadId, memberPk);
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                    .header(UPLOAD_LENGTH, String.valueOf(upload.getLength()))
+                    .cacheControl(CacheControl.noStore())
+                    .body(upload);
+        } catch (Exception e) {
+            return uploadErrorResponse(e, uploadId);
+        }
+    }
+
+    @PatchMapping(value = "/uploads/{uploadId}", consumes = "application/offset+octet-stream")
+    public ResponseEntity<Void> appendUpload(
+            @PathVariable String uploadId,
+            @RequestHeader(UPLOAD_OFFSET) long offset,
+            HttpServletRequest request,
+            @AuthenticationPrincipal Object principal) {
+        Long memberPk = getMemberPkFromPrincipal(principal);
+        try {
+            // 요청 바디를 그대로 파일 채널로 흘려보냄 (멀티파트가 아니라 컨테이너가 바디를 버퍼링하지 않음)
+            long newOffset = uploadService.appendChunk(uploadId, memberPk, offset, request.getInputStream());
+            return ResponseEntity.noContent()
+                    .header(UPLOAD_OFFSET, String.valueOf(newOffset))
+                    .build();
+        } catch (Exception e) {
+            return uploadErrorResponse(e, uploadId);
+        }
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<ShortformDto> completeUpload(
+            @PathVariable String uploadId,
+            @RequestParam("title") String title,
+            @RequestParam("content") String content,
+            @RequestParam(value = "contentTypeId", required = false) Integer contentTypeId,
+            @AuthenticationPrincipal Object principal) {
+        Long memberPk = getMemberPkFromPrincipal(principal);
+        if (contentTypeId == null) {
+            log.warn("contentTypeId is null for upload complete: {}", uploadId);
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            String videofileDbPath = uploadService.completeSession(uploadId, memberPk);
+            return registerVideo(videofileDbPath, title, content, resolveAuthorName(principal), contentTypeId, memberPk);
+        } catch (Exception e) {
+            return uploadErrorResponse(e, uploadId);
+        }
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal Object principal) {
+        Long memberPk = getMemberPkFromPrincipal(principal);
+        try {
+            uploadService.abortSession(uploadId, memberPk);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return uploadErrorResponse(e, uploadId);
+        }
+    }
+
+    // 업로드 서비스 예외 -> HTTP 상태 변환
+    private <T> ResponseEntity<T> uploadErrorResponse(Exception e, String uploadId) {
+        if (e instanceof NoSuchElementException) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } else if (e instanceof IllegalAccessException) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } else if (e instanceof IllegalStateException) { // offset 불일치, 동시 요청, 미완료 세션
+            log.info("업로드 충돌: id={}, {}", uploadId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } else if (e instanceof IllegalArgumentException) {
+            log.warn("업로드 요청 오류: id={}, {}", uploadId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        log.error("업로드 처리 중 오류 발생: id={}, {}", uploadId, e.getMessage(), e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+
 	// READ - 단건 조회
     @GetMapping("/{pk}")
     public ResponseEntity<ShortformDto> selectVideo(
@@ -249,6 +395,65 @@ public class ShortformRestController {
 		}
 	}
 
+	// ⭐ 추가: READ - 피드 커서 페이지 조회
+	// 첫 페이지는 cursor 없이, 다음 페이지는 응답의 nextCursor 를 그대로 넘김
+	@GetMapping("/feed")
+	public ResponseEntity<ShortformPageDto> selectFeed(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") int size,
+			@AuthenticationPrincipal Object principal) {
+		Long memberPk = getMemberPkFromPrincipal(principal);
+		try {
+			return ResponseEntity.ok(service.selectFeed(cursor, size, memberPk));
+		} catch (IllegalArgumentException e) {
+			log.warn("피드 조회 요청 오류: cursor={}, {}", cursor, e.getMessage());
+			return ResponseEntity.badRequest().build();
+		} catch (Exception e) {
+			log.error("피드 조회 중 오류 발생: {}", e.getMessage(), e);
+			return ResponseEntity.internalServerError().build();
+		}
+	}
+
+	// ⭐ 추가: READ - 회원 맞춤 피드 (기록이 없으면 전체 피드와 같음)
+	@GetMapping("/personal")
+	public ResponseEntity<ShortformPageDto> selectPersonalFeed(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") int size,
+			@AuthenticationPrincipal Object principal) {
+		Long memberPk = getMemberPkFromPrincipal(principal);
+		try {
+			return ResponseEntity.ok(service.selectPersonalFeed(memberPk, cursor, size));
+		} catch (IllegalArgumentException e) {
+			log.warn("맞춤 피드 조회 요청 오류: cursor={}, {}", cursor, e.getMessage());
+			return ResponseEntity.badRequest().build();
+		} catch (Exception e) {
+			log.error("맞춤 피드 조회 중 오류 발생 (사용자 PK {}): {}", memberPk, e.getMessage(), e);
+			return ResponseEntity.internalServerError().build();
+		}
+	}
+
+	// ⭐ 추가: READ - 콘텐츠 타입 조합 필터 (관련 쇼츠 등)
+	// contentTypes 는 여러 번 보낼 수 있고, 값 하나 안에서 | 는 OR, 값끼리는 AND
+	// 예) ?contentTypes=관광지|음식점&contentTypes=축제&excludePk=12  ->  (관광지 OR 음식점) AND 축제, 12번 제외
+	@GetMapping("/filter")
+	public ResponseEntity<ShortformPageDto> selectFilteredVideos(
+			@RequestParam(value = "contentTypes", required = false) List<String> contentTypes,
+			@RequestParam(value = "excludePk", required = false) Integer excludePk,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") int size,
+			@AuthenticationPrincipal Object principal) {
+		Long memberPk = getMemberPkFromPrincipal(principal);
+		try {
+			return ResponseEntity.ok(service.selectFilteredVideos(contentTypes, excludePk, cursor, size, memberPk));
+		} catch (IllegalArgumentException e) {
+			log.warn("숏폼 필터 조회 요청 오류: cursor={}, {}", cursor, e.getMessage());
+			return ResponseEntity.badRequest().build();
+		} catch (Exception e) {
+			log.error("숏폼 필터 조회 중 오류 발생 (타입: {}): {}", contentTypes, e.getMessage(), e);
+			return ResponseEntity.internalServerError().build();
+		}
+	}
+
 	// UPDATE
 	@PutMapping("/{pk}")
     public ResponseEntity<ShortformDto> updateVideo(
@@ -284,41 +489,35 @@ public class ShortformRestController {
         String videofileDbPath = existingVideo.getVideofile(); // 기본적으로 기존 파일 유지
 
         // 3. 새 파일이 업로드된 경우 처리
-        if (videofile != null && !videofile.isEmpty()) {
-            Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Files.createDirectories(uploadPath);
-
-            // 기존 파일 삭제 (선택 사항, 필요하다면)
-            if (existingVideo.getVideofile() != null && !existingVideo.getVideofile().isEmpty()) {
-                try {
-                    Path oldFilePath = uploadPath.resolve(existingVideo.getVideofile());
-                    Files.deleteIfExists(oldFilePath);
-                    log.info("Old video file deleted: {}", oldFilePath);
-                } catch (IOException e) {
-                    log.error("Failed to delete old video file: {}", existingVideo.getVideofile(), e);
-                    // 파일 삭제 실패가 전체 업데이트 실패를 의미하지는 않을 수 있음 (비즈니스 로직에 따라 결정)
-                }
-            }
-
-            String originalFilename = videofile.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-            Path filePath = uploadPath.resolve(uniqueFilename);
-            videofile.transferTo(filePath.toFile());
-            videofileDbPath = uniqueFilename; // DB에 저장될 새 파일 경로
+        boolean replaced = videofile != null && !videofile.isEmpty();
+        if (replaced) {
+            videofileDbPath = mediaStorage.storePending(MediaKind.VIDEO, videofile); // DB에 저장될 새 파일 경로 (후처리 작업에서 교체)
         }
         formToUpdate.setVideofile(videofileDbPath); // DTO에 최종 파일 경로 설정
 
         // 4. 서비스 호출하여 업데이트
         // service.updateVideo 메서드는 이제 파일 처리 로직 없이 DTO만 받아서 DB 업데이트
-        int result = service.updateVideo(formToUpdate, memberPk); // memberPk로 권한 한번 더 확인 가능
+        int result;
+        try {
+            result = service.updateVideo(formToUpdate, memberPk); // memberPk로 권한 한번 더 확인 가능
+        } catch (Exception e) {
+            if (replaced) {
+                mediaStorage.release(MediaKind.VIDEO, videofileDbPath);
+            }
+            throw e;
+        }
+        if (replaced) {
+            // 업데이트가 반영된 뒤에 기존 파일 참조 해제 (다른 숏폼이 같은 파일을 쓰면 파일은 남음)
+            mediaStorage.release(MediaKind.VIDEO, result > 0 ? existingVideo.getVideofile() : videofileDbPath);
+        }
 
         if (result > 0) {
             ShortformDto updatedVideo = service.selectVideo(pk, memberPk); // 업데이트된 정보 다시 조회
-            return ResponseEntity.ok(updatedVideo);
+            if (formToUpdate.getJobId() == null) {
+                return ResponseEntity.ok(updatedVideo);
+            }
+            updatedVideo.setJobId(formToUpdate.getJobId());
+            return ResponseEntity.ok().header(JOB_ID, String.valueOf(formToUpdate.getJobId())).body(updatedVideo);
         } else {
             log.warn("비디오 업데이트 실패 (DB 업데이트 오류): {}", formToUpdate);
             return ResponseEntity.badRequest().build(); // 또는 INTERNAL_SERVER_ERROR
@@ -346,18 +545,8 @@ public class ShortformRestController {
         int result = service.deleteVideo(pk, memberPk); // 작성자 검증 포함된 삭제 메서드
 
         if (result > 0) {
-            // 파일 시스템에서 파일 삭제
-            if (videoToDelete.getVideofile() != null && !videoToDelete.getVideofile().isEmpty()) {
-                try {
-                    Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-                    Path filePath = uploadPath.resolve(videoToDelete.getVideofile());
-                    Files.deleteIfExists(filePath);
-                    log.info("Video file deleted from filesystem: {}", filePath);
-                } catch (IOException e) {
-                    log.error("Failed to delete video file from filesystem: {}", videoToDelete.getVideofile(), e);
-                    // 파일 삭제 실패 시 로깅만 하고 DB 삭제는 성공으로 처리할 수 있음
-                }
-            }
+            // 파일 참조 해제 (마지막 참조일 때만 파일 시스템에서 삭제, 실패 시 로깅만 함)
+            mediaStorage.release(MediaKind.VIDEO, videoToDelete.getVideofile());
             return ResponseEntity.ok().build();
         } else {
             log.warn("비디오 삭제 실패 (DB 삭제 오류 또는 권한 없음): PK {}", pk);
@@ -366,15 +555,55 @@ public class ShortformRestController {
     }
 	
 	@PutMapping("/{pk}/view")
-    public ResponseEntity<Void> incrementView(@PathVariable int pk) {
+    public ResponseEntity<Void> incrementView(@PathVariable int pk, @AuthenticationPrincipal Object principal,
+            HttpServletRequest request) {
         try {
-            service.incrementViewCount(pk);
+            // 고유 시청자 키: 회원이면 회원 PK, 아니면 접속 주소 + User-Agent
+            String viewerKey = ShortformViewerCounter.viewerKey(getMemberPkFromPrincipal(principal),
+                    request.getRemoteAddr(), request.getHeader("User-Agent"));
+            service.incrementViewCount(pk, viewerKey);
             return ResponseEntity.ok().build(); // 성공 시 200 OK
         } catch (Exception e) { // 구체적인 예외 처리 권장 (예: VideoNotFoundException)
             // log.error("Error incrementing view count for pk {}: {}", pk, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+	// ⭐ 추가: 조회수 / 좋아요 수 실시간 구독 (SSE). 폴링 대신 EventSource 로 연결
+	// event: counts  data: {"pk":1,"views":10,"favoriteCount":3}  (변경이 있을 때 shortform.live.interval-ms 에 최대 한 번)
+	// event: deleted (숏폼이 삭제되면 보내고 연결 종료)
+	@GetMapping(value = "/{pk}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> live(@PathVariable int pk) {
+		try {
+			return ResponseEntity.ok(liveBroadcaster.subscribe(pk));
+		} catch (NoSuchElementException e) {
+			return ResponseEntity.notFound().build();
+		} catch (IllegalStateException e) {
+			log.warn("실시간 구독 거절 (pk {}): {}", pk, e.getMessage());
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		} catch (Exception e) {
+			log.error("실시간 구독 중 오류 발생 (pk {}): {}", pk, e.getMessage(), e);
+			return ResponseEntity.internalServerError().build();
+		}
+	}
+
+	// ⭐ 추가: 고유 시청자 수 (대시보드용). 여러 숏폼을 주면 합집합으로 계산
+	// 예) ?pks=1,2,3&window=week   (window: day | week | all, 기본 all)
+	@GetMapping("/viewers")
+	public ResponseEntity<ShortformViewerStatsDto> selectUniqueViewers(
+			@RequestParam("pks") List<Integer> pks,
+			@RequestParam(value = "window", defaultValue = "all") String window) {
+		try {
+			ShortformViewerCounter.Window parsed = ShortformViewerCounter.Window.valueOf(window.toUpperCase());
+			return ResponseEntity.ok(service.selectUniqueViewers(pks, parsed));
+		} catch (IllegalArgumentException e) {
+			log.warn("고유 시청자 조회 요청 오류: pks={}, window={}, {}", pks, window, e.getMessage());
+			return ResponseEntity.badRequest().build();
+		} catch (Exception e) {
+			log.error("고유 시청자 조회 중 오류 발생 (pks: {}): {}", pks, e.getMessage(), e);
+			return ResponseEntity.internalServerError().build();
+		}
+	}
 	
 	// --- 좋아요 토글 API ---
     @PostMapping("/{pk}/favorite")
@@ -392,15 +621,18 @@ public class ShortformRestController {
         }
 
         try {
-            boolean isNowFavorited = service.toggleFavorite(memberPk, pk); // 서비스에 Long 타입 memberPk 전달
-            int currentFavoriteCount = service.getFavoriteCount(pk);
+            // 토글 결과에 좋아요 수까지 포함되어 있으므로 별도 조회하지 않음
+            ShortformFavoriteDto result = service.toggleFavorite(memberPk, pk); // 서비스에 Long 타입 memberPk 전달
 
             Map<String, Object> response = new HashMap<>();
-            response.put("favoritedByCurrentUser", isNowFavorited);
-            response.put("favoriteCount", currentFavoriteCount);
+            response.put("favoritedByCurrentUser", result.isFavoritedByCurrentUser());
+            response.put("favoriteCount", result.getFavoriteCount());
             
-            log.info("비디오 PK {} 좋아요 토글 결과: 사용자 PK {}, 현재 좋아요 상태 {}, 총 좋아요 수 {}", pk, memberPk, isNowFavorited, currentFavoriteCount);
+            log.info("비디오 PK {} 좋아요 토글 결과: 사용자 PK {}, 현재 좋아요 상태 {}, 총 좋아요 수 {}", pk, memberPk, result.isFavoritedByCurrentUser(), result.getFavoriteCount());
             return ResponseEntity.ok(response);
+        } catch (NoSuchElementException e) {
+            log.warn("좋아요 토글 실패: 비디오 PK {} 없음 (사용자 PK {})", pk, memberPk);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "비디오를 찾을 수 없습니다."));
         } catch (IllegalAccessException e) { // Service에서 던지는 예외 (여기서는 사용 안함)
              log.warn("좋아요 토글 실패: 비디오 PK {}, 사용자 PK {}", pk, memberPk, e);
              return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
@@ -409,4 +641,34 @@ public class ShortformRestController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "좋아요 처리 중 오류가 발생했습니다."));
         }
     }
+
+    // --- 좋아요 일괄 반영 API ---
+    // 오프라인 등으로 클라이언트에 쌓인 좋아요 요청을 한 번에 반영 (한 트랜잭션)
+    // 요청: [{ "shortformPk": 1, "favorited": true }, { "shortformPk": 2 }]  (favorited 생략 시 토글)
+    @PostMapping("/favorites")
+    public ResponseEntity<?> applyFavorites(
+            @RequestBody List<ShortformFavoriteRequestDto> requests,
+            @AuthenticationPrincipal Object principal) {
+
+        Long memberPk = getMemberPkFromPrincipal(principal);
+        if (memberPk == null) {
+            log.warn("좋아요 일괄 반영 요청: 사용자 PK를 확인할 수 없습니다. Principal: {}", principal);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "로그인 정보가 유효하지 않습니다."));
+        }
+
+        try {
+            List<ShortformFavoriteDto> results = service.applyFavorites(memberPk, requests);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("좋아요 일괄 반영 요청 오류 (사용자 PK {}): {}", memberPk, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (NoSuchElementException e) {
+            // 한 건이라도 없는 숏폼이면 전체 롤백
+            log.warn("좋아요 일괄 반영 실패 (사용자 PK {}): {}", memberPk, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("좋아요 일괄 반영 중 오류 발생 (사용자 PK {}): {}", memberPk, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "좋아요 처리 중 오류가 발생했습니다."));
+        }
+    }
 }
@@ -0,0 +1,250 @@
+package com.ssafy.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+// 숏폼 비디오 스트리밍 (기존 WebConfig의 /videos/** 리소스 핸들러 대체)
+// Range / If-Range / multipart/byteranges 를 지원해서 플레이어 탐색, 모바일 재연결 시 필요한 구간만 내려준다.
+@Slf4j
+@RestController
+@RequestMapping("/videos")
+public class VideoStreamRestController {
+
+	// Tomcat NIO 커넥터가 sendfile 을 지원하면 요청 속성으로 알려준다 (DefaultServlet 과 같은 방식)
+	private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+	private static final String CRLF = "\r\n";
+
+	@Value("${file.upload-dir}")
+	private String uploadDir;
+
+	@RequestMapping(value = "/{filename:.+}", method = { RequestMethod.GET, RequestMethod.HEAD })
+	public void streamVideo(@PathVariable String filename, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		Path baseDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+		Path file = baseDir.resolve(filename).normalize();
+		// 업로드 폴더 밖으로 나가는 경로(../) 차단
+		if (!file.startsWith(baseDir) || !Files.isRegularFile(file)) {
+			response.sendError(HttpStatus.NOT_FOUND.value());
+			return;
+		}
+
+		long length = Files.size(file);
+		long lastModified = Files.getLastModifiedTime(file).toMillis();
+		String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+		// If-None-Match / If-Modified-Since 처리 (304면 여기서 끝)
+		if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+			return;
+		}
+
+		String contentType = MediaTypeFactory.getMediaType(filename)
+				.orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=86400");
+
+		List<long[]> regions = null;
+		String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+		if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+			regions = resolveRanges(rangeHeader, length);
+			if (regions == null || regions.isEmpty()) {
+				response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+				response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+				return;
+			}
+		}
+		boolean headOnly = RequestMethod.HEAD.name().equals(request.getMethod());
+
+		// 1. Range 없음 (또는 If-Range 불일치) -> 200 전체 전송
+		if (regions == null) {
+			response.setStatus(HttpStatus.OK.value());
+			response.setContentType(contentType);
+			response.setContentLengthLong(length);
+			if (!headOnly) {
+				writeRegion(request, response, file, 0, length);
+			}
+			return;
+		}
+
+		response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+
+		// 2. 단일 구간 -> 206 + Content-Range
+		if (regions.size() == 1) {
+			long start = regions.get(0)[0];
+			long end = regions.get(0)[1];
+			response.setContentType(contentType);
+			response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+			response.setContentLengthLong(end - start + 1);
+			if (!headOnly) {
+				writeRegion(request, response, file, start, end - start + 1);
+			}
+			return;
+		}
+
+		// 3. 다중 구간 -> 206 multipart/byteranges
+		String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+		List<byte[]> partHeaders = new ArrayList<>(regions.size());
+		long contentLength = 0;
+		for (long[] region : regions) {
+			String partHeader = CRLF + "--" + boundary + CRLF
+					+ HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+					+ HttpHeaders.CONTENT_RANGE + ": bytes " + region[0] + "-" + region[1] + "/" + length + CRLF
+					+ CRLF;
+			byte[] bytes = partHeader.getBytes(StandardCharsets.US_ASCII);
+			partHeaders.add(bytes);
+			contentLength += bytes.length + (region[1] - region[0] + 1);
+		}
+		byte[] closing = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+		contentLength += closing.length;
+
+		response.setContentType("multipart/byteranges; boundary=" + boundary);
+		response.setContentLengthLong(contentLength);
+		if (headOnly) {
+			return;
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			OutputStream out = response.getOutputStream();
+			WritableByteChannel target = Channels.newChannel(out);
+			for (int i = 0; i < regions.size(); i++) {
+				long[] region = regions.get(i);
+				out.write(partHeaders.get(i));
+				transfer(channel, region[0], region[1] - region[0] + 1, target);
+			}
+			out.write(closing);
+			out.flush();
+		} catch (IOException e) {
+			// 사용자가 탐색하면서 이전 요청을 끊는 경우가 대부분이라 디버그 로그만 남김
+			log.debug("비디오 전송 중단: {} ({})", filename, e.getMessage());
+		}
+	}
+
+	// If-Range 가 없거나 현재 ETag / Last-Modified 와 일치할 때만 부분 응답
+	private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+		String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+		if (ifRange == null) {
+			return true;
+		}
+		if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+			// If-Range 는 강한 비교만 허용
+			return ifRange.equals(etag);
+		}
+		try {
+			long ifRangeTime = request.getDateHeader(HttpHeaders.IF_RANGE);
+			return ifRangeTime != -1 && (lastModified / 1000 * 1000) == ifRangeTime;
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	// Range 헤더 -> [start, end] (end 포함) 목록. 문법 오류면 null, 만족하는 구간이 없으면 빈 목록
+	// 겹치거나 붙어있는 구간은 합쳐서 같은 바이트를 여러 번 보내지 않도록 한다.
+	private List<long[]> resolveRanges(String rangeHeader, long length) {
+		List<HttpRange> ranges;
+		try {
+			ranges = HttpRange.parseRanges(rangeHeader);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+
+		List<long[]> regions = new ArrayList<>(ranges.size());
+		for (HttpRange range : ranges) {
+			long start;
+			long end;
+			try {
+				start = range.getRangeStart(length);
+				end = range.getRangeEnd(length);
+			} catch (IllegalArgumentException e) {
+				continue;
+			}
+			// 파일 길이를 벗어난 구간은 무시 (다른 구간이 유효하면 그 구간만 응답)
+			if (start < length && start <= end) {
+				regions.add(new long[] { start, end });
+			}
+		}
+		if (regions.size() <= 1) {
+			return regions;
+		}
+
+		regions.sort(Comparator.comparingLong(r -> r[0]));
+		List<long[]> merged = new ArrayList<>(regions.size());
+		long[] current = regions.get(0);
+		for (int i = 1; i < regions.size(); i++) {
+			long[] next = regions.get(i);
+			if (next[0] <= current[1] + 1) {
+				current[1] = Math.max(current[1], next[1]);
+			} else {
+				merged.add(current);
+				current = next;
+			}
+		}
+		merged.add(current);
+		return merged;
+	}
+
+	// 단일 구간 전송: Tomcat sendfile 이 가능하면 커넥터에 넘기고, 아니면 FileChannel.transferTo 로 복사
+	private void writeRegion(HttpServletRequest request, HttpServletResponse response, Path file, long start,
+			long count) throws IOException {
+		if (count == 0) {
+			return;
+		}
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+			request.setAttribute(SENDFILE_FILENAME_ATTR, file.toString());
+			request.setAttribute(SENDFILE_START_ATTR, Long.valueOf(start));
+			request.setAttribute(SENDFILE_END_ATTR, Long.valueOf(start + count));
+			return;
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+			transfer(channel, start, count, target);
+			response.flushBuffer();
+		} catch (IOException e) {
+			log.debug("비디오 전송 중단: {} ({})", file.getFileName(), e.getMessage());
+		}
+	}
+
+	private void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+			throws IOException {
+		long remaining = count;
+		while (remaining > 0) {
+			long sent = channel.transferTo(position, remaining, target);
+			if (sent <= 0) {
+				throw new IOException("파일 구간 전송 실패: position=" + position);
+			}
+			position += sent;
+			remaining -= sent;
+		}
+	}
+}
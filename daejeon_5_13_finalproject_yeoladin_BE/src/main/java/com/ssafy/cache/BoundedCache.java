@@ -0,0 +1,171 @@
+package com.ssafy.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiPredicate;
+
+// 크기 제한(LRU) + 만료 시간(TTL)이 있는 간단한 메모리 캐시
+// 회원별 계산 결과처럼 키가 계속 늘어나는 값을 메모리에 둘 때 사용 (가장 오래 안 쓴 항목부터 밀려남)
+// getOrLoad 는 읽기 전용 캐시로 사용: 같은 키를 동시에 요청하면 한 번만 읽고 나머지는 그 결과를 기다림
+public class BoundedCache<K, V> {
+	private final int maxSize;
+	private final long ttlMillis;
+	private final LinkedHashMap<K, Entry<V>> entries;
+	// 읽는 중인 키. invalidate / clear 되면 빠지므로, 그 전에 시작한 읽기 결과는 캐시에 넣지 않음
+	private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+	private long hits;
+	private long misses;
+	private long loads;
+	private long evictions;
+
+	@FunctionalInterface
+	public interface Loader<V> {
+		V load() throws Exception;
+	}
+
+	public record Stats(long hits, long misses, long loads, long evictions, int size, int maxSize) {
+		public double hitRate() {
+			long requests = hits + misses;
+			return requests == 0 ? 0 : (double) hits / requests;
+		}
+	}
+
+	public BoundedCache(int maxSize, long ttlMillis) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize 는 1 이상이어야 합니다.");
+		}
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlMillis;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) { // 접근 순서 유지
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				if (size() > BoundedCache.this.maxSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	// 만료된 항목은 없는 것으로 처리
+	public synchronized V get(K key) {
+		V value = lookup(key);
+		if (value != null) {
+			hits++;
+		} else {
+			misses++;
+		}
+		return value;
+	}
+
+	// 캐시에 없으면 loader 로 읽어서 넣음 (null 은 넣지 않음). loader 예외는 기다리던 요청 모두에게 그대로 전달
+	public V getOrLoad(K key, Loader<V> loader) throws Exception {
+		CompletableFuture<V> future;
+		boolean owner = false;
+		synchronized (this) {
+			V value = lookup(key);
+			if (value != null) {
+				hits++;
+				return value;
+			}
+			misses++;
+			future = loading.get(key);
+			if (future == null) {
+				future = new CompletableFuture<>();
+				loading.put(key, future);
+				owner = true;
+			}
+		}
+		if (!owner) {
+			return await(future);
+		}
+
+		try {
+			V value = loader.load();
+			synchronized (this) {
+				loads++;
+				// 읽는 동안 invalidate 됐으면 이번 값은 돌려주기만 함
+				if (loading.remove(key, future) && value != null) {
+					entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+				}
+			}
+			future.complete(value);
+			return value;
+		} catch (Exception | Error e) {
+			loading.remove(key, future);
+			future.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	public synchronized void put(K key, V value) {
+		entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+	}
+
+	public synchronized void invalidate(K key) {
+		entries.remove(key);
+		loading.remove(key);
+	}
+
+	// 조건에 맞는 항목만 제거 (예: 특정 게시글이 들어있는 목록 페이지)
+	public synchronized int invalidateIf(BiPredicate<K, V> predicate) {
+		int before = entries.size();
+		entries.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue().value));
+		loading.clear(); // 읽는 중인 값은 조건을 확인할 수 없으므로 모두 버림
+		return before - entries.size();
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		loading.clear();
+	}
+
+	// 현재 들어 있는 키 (복사본, 만료 여부는 보지 않음)
+	public synchronized List<K> keys() {
+		return new ArrayList<>(entries.keySet());
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized Stats stats() {
+		return new Stats(hits, misses, loads, evictions, entries.size(), maxSize);
+	}
+
+	private V lookup(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.isExpired(System.currentTimeMillis())) {
+			entries.remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	private static <V> V await(CompletableFuture<V> future) throws Exception {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private record Entry<V>(V value, long expiresAt) {
+		boolean isExpired(long now) {
+			return now >= expiresAt;
+		}
+	}
+}
@@ -1,8 +1,15 @@
 package com.ssafy.config;
 
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.MimeMappings;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
@@ -15,20 +22,40 @@ public class WebConfig implements WebMvcConfigurer {
     String filePath;
 	
 	@Value("${file.upload-dir}")
-    private String uploadDir;
+	String videoDir;
 	
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         
         
-        registry.addResourceHandler("/videos/**") // 요청 URL
-        .addResourceLocations("file:" + uploadDir + "/"); // 실제 경로
+        // /videos/** 는 Range 요청 지원을 위해 VideoStreamRestController 에서 직접 서빙
+        
+        // HLS 세그먼트 / 재생목록은 내용 해시 폴더 아래에서 바뀌지 않으므로 오래 캐시 (CDN 에서도 그대로 캐시 가능)
+        registry.addResourceHandler("/videos/hls/**")
+        .addResourceLocations("file:" + Paths.get(videoDir, "hls").toAbsolutePath() + "/")
+        .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+        
+        // 내용 해시 이름 이미지는 내용이 바뀌지 않으므로 브라우저 / 프록시가 오래 캐시하도록
+        registry.addResourceHandler("/images/cas/**")
+        .addResourceLocations("file:" + Paths.get(filePath, "cas").toAbsolutePath() + "/")
+        .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
         
         registry.addResourceHandler("/images/**") // 요청 URL
         .addResourceLocations("file:"+filePath); // 실제 경로
         
     }
     
+    // ⭐ 추가: HLS 재생목록 / 세그먼트 Content-Type
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> hlsMimeMappings() {
+        return factory -> {
+            MimeMappings mappings = new MimeMappings(MimeMappings.DEFAULT);
+            mappings.add("m3u8", "application/vnd.apple.mpegurl");
+            mappings.add("m4s", "video/iso.segment");
+            factory.setMimeMappings(mappings);
+        };
+    }
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
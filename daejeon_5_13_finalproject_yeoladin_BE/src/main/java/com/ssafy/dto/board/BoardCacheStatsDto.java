@@ -0,0 +1,16 @@
+package com.ssafy.dto.board;
+
+import com.ssafy.cache.BoundedCache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 게시글 상세 / 목록 페이지 캐시 현황 (적중 / 실패 / DB 조회 / 크기 초과로 밀려난 수)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardCacheStatsDto {
+	private BoundedCache.Stats detail;
+	private BoundedCache.Stats pages;
+}
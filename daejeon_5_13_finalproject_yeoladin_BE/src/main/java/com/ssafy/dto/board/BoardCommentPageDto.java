@@ -0,0 +1,17 @@
+package com.ssafy.dto.board;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 커서 기반 댓글 한 페이지 (오래된 순)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardCommentPageDto {
+	private List<BoardContentDto> items;
+	private String nextCursor; // 다음 페이지 요청 시 그대로 넘기는 값 (마지막 페이지면 null)
+	private boolean hasNext;
+}
@@ -0,0 +1,14 @@
+package com.ssafy.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 게시글 수정 시 기존 이미지와 비교할 images 행
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardImageRowDto {
+	private long id;
+	private String storedName;
+}
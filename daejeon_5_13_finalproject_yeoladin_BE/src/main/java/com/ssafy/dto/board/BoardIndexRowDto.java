@@ -0,0 +1,19 @@
+package com.ssafy.dto.board;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 게시글 검색 색인에 필요한 컬럼만 (제목 / 작성자 / 정렬 기준)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardIndexRowDto {
+	private String id;
+	private String title;
+	private long memberId;
+	private String author;
+	private LocalDateTime createdTime;
+}
@@ -0,0 +1,16 @@
+package com.ssafy.dto.board;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 게시글 목록 한 페이지 + 전체 개수 (목록 / 개수를 한 번에 요청할 때)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardListDto {
+	private List<BoardPreviewDto> items;
+	private int totalCount; // 검색 조건이 있으면 검색 결과 개수
+}
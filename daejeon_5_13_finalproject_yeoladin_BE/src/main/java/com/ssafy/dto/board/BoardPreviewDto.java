@@ -17,6 +17,7 @@ public class BoardPreviewDto {
     private String imgForderPath;
     private String thumbnailUrl;
     private LocalDateTime createdTime; // 작성일자
+    private int commentCount;          // 댓글 수 (board.comment_count)
     
 	public String getCreateTime() {
 	    if (createdTime == null) return "";
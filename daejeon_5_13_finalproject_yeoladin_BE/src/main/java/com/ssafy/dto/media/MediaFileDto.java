@@ -0,0 +1,17 @@
+package com.ssafy.dto.media;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 내용 기준으로 한 번만 저장되는 업로드 파일 (media_file 테이블 한 행)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaFileDto {
+	private String kind;        // VIDEO / IMAGE
+	private String contentHash; // SHA-256 (hex)
+	private String storedName;  // 종류별 저장 폴더 기준 경로 (DB 의 videofile / images.stored_name 과 같은 값)
+	private long size;
+	private int refCount;       // 이 파일을 쓰는 숏폼 / 게시글 이미지 수
+}
@@ -0,0 +1,28 @@
+package com.ssafy.dto.media;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 업로드 후처리 작업 (media_job 테이블 한 행, 상태 조회 API 응답)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaJobDto {
+	private Long id;
+	private String jobType;   // SHORTFORM_VIDEO / BOARD_IMAGES / HLS_PACKAGE
+	private String targetId;  // shortform.pk / board.id
+	private String fileName;
+	private String status;    // PENDING / RUNNING / DONE / FAILED
+	private int attempts;
+	private LocalDateTime nextRunAt;
+	private String lastError;
+	private LocalDateTime createdAt;
+	private LocalDateTime updatedAt;
+	@JsonIgnore
+	private String lockToken; // 이 작업을 가져간 워커 (claim 에서만 채움)
+}
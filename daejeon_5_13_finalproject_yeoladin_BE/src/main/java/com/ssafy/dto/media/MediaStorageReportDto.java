@@ -0,0 +1,20 @@
+package com.ssafy.dto.media;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 중복 제거 리포트
+// legacy* 는 scan 요청 시에만 채워짐 (중복 제거 도입 전 UUID 이름으로 저장된 파일을 해시해서 중복 용량 계산)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaStorageReportDto {
+	private List<MediaUsageDto> usage;
+	private long savedBytes;
+	private Long legacyFiles;
+	private Long legacyBytes;
+	private Long legacyDuplicateBytes; // 기존 파일을 내용 기준으로 합쳤다면 줄었을 용량
+}
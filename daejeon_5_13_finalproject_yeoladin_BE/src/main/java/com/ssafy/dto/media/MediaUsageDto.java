@@ -0,0 +1,18 @@
+package com.ssafy.dto.media;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 파일 종류별 저장 공간 사용량
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaUsageDto {
+	private String kind;
+	private long files;        // 실제 디스크에 있는 파일 수
+	private long references;   // 파일을 참조하는 업로드 수
+	private long storedBytes;  // 실제 사용 중인 용량
+	private long logicalBytes; // 중복 제거 없이 저장했다면 필요했을 용량
+	private long savedBytes;   // logicalBytes - storedBytes
+}
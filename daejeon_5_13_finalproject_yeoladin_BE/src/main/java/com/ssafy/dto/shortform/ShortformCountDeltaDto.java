@@ -0,0 +1,14 @@
+package com.ssafy.dto.shortform;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 메모리에 모아둔 카운터 증가분 (조회수 / 좋아요 수 일괄 반영용)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortformCountDeltaDto {
+	private Integer shortformPk;
+	private long delta;
+}
@@ -5,12 +5,14 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Builder(toBuilder = true) // ⭐ 추가: 캐시에 둔 값을 복사할 때 사용 (toBuilder 는 모든 필드를 복사)
 public class ShortformDto {
 	private Integer pk;
 	private String title;
@@ -18,10 +20,23 @@ public class ShortformDto {
 	private String content;
 	private int views;
 	private int favoriteCount; // 좋아요 수
+	private int uniqueViewers; // ⭐ 추가: 고유 시청자 수 추정값 (새로고침 / 반복 재생은 한 번만 셈, 주기적으로 반영)
     private boolean favoritedByCurrentUser; // 현재 로그인한 사용자가 이 비디오를 좋아하는지 여부
 	private LocalDateTime date;
 	private String videofile;
 
+	// ⭐ 추가: 업로드 시 MP4 에서 읽은 정보 (MP4 가 아니거나 이전 업로드면 null)
+	private Integer durationMs;
+	private Integer width;
+	private Integer height;
+	private String videoCodec;
+
+	// ⭐ 추가: HLS 재생목록 경로 (/videos/ 기준, 패키징 전이거나 MP4 가 아니면 null -> videofile 로 재생)
+	private String playlist;
+
+	// ⭐ 추가: 등록 / 수정 응답에서만 채워지는 후처리 작업 id (GET /api/auth/media/jobs/{id} 로 상태 조회)
+	private Long jobId;
+
 	// ⭐ 추가: 조회 시 해당 숏폼과 연결된 콘텐츠 타입 이름 목록
     private List<String> contentTypes;
 
@@ -0,0 +1,15 @@
+package com.ssafy.dto.shortform;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 좋아요 토글 결과 (토글 후 상태 + 좋아요 수)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortformFavoriteDto {
+	private Integer shortformPk;
+	private boolean favoritedByCurrentUser;
+	private int favoriteCount;
+}
@@ -0,0 +1,14 @@
+package com.ssafy.dto.shortform;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 일괄 좋아요 요청 항목 (오프라인 등으로 클라이언트에 쌓인 토글)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortformFavoriteRequestDto {
+	private Integer shortformPk;
+	private Boolean favorited; // true/false = 해당 상태로 설정, null = 토글
+}
@@ -0,0 +1,15 @@
+package com.ssafy.dto.shortform;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 숏폼 실시간 카운터 이벤트 (SSE "counts" 이벤트의 data)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortformLiveDto {
+	private int pk;
+	private long views;
+	private long favoriteCount;
+}
@@ -0,0 +1,15 @@
+package com.ssafy.dto.shortform;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 트렌딩 점수 체크포인트 (shortform_trending 테이블 한 행)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortformTrendingDto {
+	private Integer shortformPk;
+	private double logScore;  // 기준 시각 기준으로 앞당겨 쌓은 점수의 자연로그
+	private long halfLifeMs;  // 저장 당시 반감기 (설정이 바뀌면 읽을 때 환산)
+}
@@ -0,0 +1,16 @@
+package com.ssafy.dto.shortform;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 이어올리기(resumable) 업로드 세션 상태
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortformUploadDto {
+	private String uploadId;
+	private String filename; // 사용자가 올린 원본 파일명
+	private long length;     // 전체 파일 크기 (세션 생성 시 선언)
+	private long offset;     // 서버가 지금까지 받은 바이트 수 (다음 청크의 시작 위치)
+}
@@ -0,0 +1,15 @@
+package com.ssafy.dto.shortform;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 숏폼별 고유 시청자 HyperLogLog 스케치 (shortform_viewer_sketch 테이블 한 행)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortformViewerSketchDto {
+	private int shortformPk;
+	private String bucket;     // "ALL" 또는 날짜 (yyyy-MM-dd)
+	private byte[] registers;  // HyperLogLog 레지스터 4096 바이트
+}
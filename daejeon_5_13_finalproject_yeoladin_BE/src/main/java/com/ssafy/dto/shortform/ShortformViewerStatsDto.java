@@ -0,0 +1,17 @@
+package com.ssafy.dto.shortform;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 숏폼 여러 개를 합친 고유 시청자 수 (같은 사람이 여러 영상을 봐도 한 번만 셈)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortformViewerStatsDto {
+	private String window;       // DAY / WEEK / ALL
+	private List<Integer> pks;
+	private long uniqueViewers;  // 추정값 (표준 오차 약 1.6%)
+}
@@ -1,14 +1,19 @@
 package com.ssafy.repository;
 
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.annotations.Param;
 
 import com.ssafy.dto.board.BoardContenRegistDto;
 import com.ssafy.dto.board.BoardContentDto;
 import com.ssafy.dto.board.BoardDetailDto;
+import com.ssafy.dto.board.BoardImageRowDto;
+import com.ssafy.dto.board.BoardIndexRowDto;
 import com.ssafy.dto.board.BoardPreviewDto;
 import com.ssafy.dto.board.BoardRegistDto;
 import com.ssafy.dto.board.BoardSearchDto;
@@ -22,11 +27,37 @@ public interface BoardRepository {
 	public void imageSave(List<ImageDto> imgList);
 	public BoardDetailDto findDetail(String id);
 	public String findByForderPath(String id);
-	public void delete(String id);
+	public List<String> findImageStoredNames(String boardId);
+	// ⭐ 추가: 처리 대기 이미지 이름 -> 저장 이름 교체 (images 행 + 본문 / 썸네일 URL, 한 문장)
+	public int replaceImageStoredName(@Param("boardId") String boardId, @Param("oldName") String oldName, @Param("newName") String newName);
+	// ⭐ 추가: 기존 썸네일을 축소본 주소로 (query 는 "?w=&q=")
+	public int migrateThumbnailUrls(@Param("query") String query);
+	public int delete(String id);
+	// ⭐ 추가: 제자리 수정 (게시글 행을 잠그고 images 행을 비교해서 바뀐 것만 반영)
+	public String lockBoard(String id);
+	public List<BoardImageRowDto> findImagesForUpdate(String boardId);
+	public int update(BoardRegistDto dto);
+	public int deleteImages(@Param("boardId") String boardId, @Param("ids") List<Long> ids);
 	public List<BoardPreviewDto> findByBoards(Map<String, Object> param);
+	// ⭐ 추가: 커서 페이지 (cursorTime / cursorId 가 null 이면 첫 페이지, category / keyword 가 null 이면 전체)
+	public List<BoardPreviewDto> findBoardPage(@Param("cursorTime") LocalDateTime cursorTime, @Param("cursorId") String cursorId,
+			@Param("category") String category, @Param("keyword") String keyword, @Param("limit") int limit);
+	// ⭐ 추가: 검색 색인 (기동 시 전체를 스트리밍으로 한 번 읽고, 이후 변경분은 한 건씩)
+	public Cursor<BoardIndexRowDto> scanBoardIndex();
+	public BoardIndexRowDto findBoardIndexRow(String id);
+	// ⭐ 추가: 색인 검색 결과 한 페이지를 한 번에 조회 (순서는 호출하는 쪽에서 맞춤)
+	public List<BoardPreviewDto> findBoardsByIds(@Param("ids") List<String> ids);
 	public int countBoards();
 	public int countFilter(BoardSearchDto dto);
 	public void contentSave(BoardContenRegistDto dto);
 	public List<BoardContentDto> findByBoardComments(String boardId);
+	// ⭐ 추가: 댓글 커서 페이지 (cursorTime / cursorId 가 null 이면 첫 페이지)
+	public List<BoardContentDto> findCommentPage(@Param("boardId") String boardId, @Param("cursorTime") LocalDateTime cursorTime,
+			@Param("cursorId") Long cursorId, @Param("limit") int limit);
+	// ⭐ 추가: board.comment_count 갱신 (댓글 등록 / 삭제와 같은 트랜잭션)
+	public int incrementCommentCount(String boardId);
+	public String findCommentBoardId(int commentId); // 댓글 삭제 시 캐시 무효화용
+	public int decrementCommentCount(int commentId);
+	public int decrementCommentCountsByMember(long memberId); // 회원 삭제로 CASCADE 삭제될 댓글만큼
 	public void deleteComment(int id);
 }
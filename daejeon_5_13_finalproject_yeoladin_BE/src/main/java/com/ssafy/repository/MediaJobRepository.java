@@ -0,0 +1,28 @@
+package com.ssafy.repository;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.ssafy.dto.media.MediaJobDto;
+
+@Mapper
+public interface MediaJobRepository {
+	int insertJob(MediaJobDto job) throws Exception; // id 는 job 에 채워짐
+	MediaJobDto findJob(long id) throws Exception;
+	// 트랜잭션 안에서 호출 (다른 서버가 잡고 있는 행은 건너뜀)
+	List<MediaJobDto> findRunnableJobsForUpdate(@Param("limit") int limit) throws Exception;
+	int markJobsRunning(@Param("ids") List<Long> ids, @Param("lockToken") String lockToken) throws Exception;
+	// 아래 네 개는 lockToken 이 같은(아직 이 워커가 잡고 있는) 작업만 바꿈. 아니면 0
+	int completeJob(@Param("id") long id, @Param("lockToken") String lockToken) throws Exception;
+	int retryJob(@Param("id") long id, @Param("lockToken") String lockToken, @Param("delaySeconds") long delaySeconds,
+			@Param("lastError") String lastError) throws Exception;
+	int failJob(@Param("id") long id, @Param("lockToken") String lockToken, @Param("lastError") String lastError) throws Exception;
+	int renewJobLease(@Param("id") long id, @Param("lockToken") String lockToken) throws Exception;
+	int requeueStaleJobs(@Param("staleMinutes") long staleMinutes, @Param("maxAttempts") int maxAttempts) throws Exception;
+	int failStaleJobs(@Param("staleMinutes") long staleMinutes, @Param("maxAttempts") int maxAttempts) throws Exception;
+	int deleteFinishedJobs(@Param("retentionDays") long retentionDays) throws Exception;
+	// 재생목록이 없고 HLS 작업을 넣은 적도 없는 숏폼에 작업 추가 (기동 시 한 번)
+	int insertMissingHlsJobs() throws Exception;
+}
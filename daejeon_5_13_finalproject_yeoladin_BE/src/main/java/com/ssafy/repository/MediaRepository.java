@@ -0,0 +1,19 @@
+package com.ssafy.repository;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.ssafy.dto.media.MediaFileDto;
+import com.ssafy.dto.media.MediaUsageDto;
+
+@Mapper
+public interface MediaRepository {
+	MediaFileDto findMediaFile(@Param("kind") String kind, @Param("contentHash") String contentHash) throws Exception;
+	int insertMediaFile(MediaFileDto file) throws Exception;
+	int incrementMediaRef(@Param("kind") String kind, @Param("contentHash") String contentHash) throws Exception;
+	int decrementMediaRef(@Param("kind") String kind, @Param("contentHash") String contentHash) throws Exception;
+	int deleteMediaFileIfUnreferenced(@Param("kind") String kind, @Param("contentHash") String contentHash) throws Exception;
+	List<MediaUsageDto> findMediaUsage() throws Exception;
+}
@@ -1,25 +1,38 @@
 package com.ssafy.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import com.ssafy.dto.contenttype.ContentTypeDto;
+import com.ssafy.dto.shortform.ShortformCountDeltaDto;
 import com.ssafy.dto.shortform.ShortformContentTypeMappingDto;
 import com.ssafy.dto.shortform.ShortformDto;
+import com.ssafy.dto.shortform.ShortformTrendingDto;
+import com.ssafy.dto.shortform.ShortformViewerSketchDto;
 
 @Mapper
 public interface ShortformRepository {
     int insertVideo(ShortformDto formDto) throws Exception;
     List<ShortformDto> selectAllVideo() throws Exception;
+    // ⭐ 추가: 피드 커서 페이지 조회 (cursorDate 가 null 이면 첫 페이지)
+    List<ShortformDto> findShortformFeed(@Param("cursorDate") LocalDateTime cursorDate, @Param("cursorPk") Integer cursorPk,
+            @Param("limit") int limit) throws Exception;
     ShortformDto selectVideo(int pk) throws Exception;         // 변경: String id → int pk
     int updateVideo(ShortformDto formDto) throws Exception;     // dto 안에 pk 포함
     int deleteVideo(int pk) throws Exception;                   // 변경: String id → int pk
     int incrementViewCount(int pk) throws Exception;
+    // ⭐ 추가: 조회수 증가분 일괄 반영 (UPDATE ... CASE)
+    int addViewCounts(@Param("deltas") List<ShortformCountDeltaDto> deltas) throws Exception;
 
  // ⭐ 추가: 조회수 순으로 상위 N개 숏폼 조회
     List<ShortformDto> findPopularShortforms(@Param("limit") int limit) throws Exception;
+    // ⭐ 추가: 전체 숏폼 pk / 조회수만 조회 (인기 리더보드 초기화용)
+    List<ShortformDto> findAllViewCounts() throws Exception;
+    // ⭐ 추가: pk 목록으로 숏폼 조회
+    List<ShortformDto> selectVideosByPks(@Param("pks") List<Integer> pks) throws Exception;
     
     // ⭐ 추가: 콘텐츠 타입 목록 조회
     List<ContentTypeDto> findAllContentTypes() throws Exception;
@@ -45,11 +58,41 @@ public interface ShortformRepository {
  // ⭐ 추가: 특정 숏폼의 모든 콘텐츠 타입 매핑 삭제 (업데이트 시 사용)
     int deleteShortformContentTypeMappings(@Param("shortformPk") int shortformPk) throws Exception;
     
+ // ⭐ 추가: 맞춤 피드용 회원 선호 콘텐츠 타입 / 최근 좋아요
+    List<Integer> findPreferredContentTypeIds(@Param("memberId") Long memberId) throws Exception;
+    List<Integer> findRecentFavoritePks(@Param("memberId") Long memberId, @Param("limit") int limit) throws Exception;
+    List<Integer> findFavoritePksByMember(@Param("memberId") Long memberId) throws Exception; // ⭐ 추가: 좋아요 캐시 로딩용
+
  // --- 좋아요 관련 메서드 추가 ---
     int isFavorite(@Param("memberId") Long memberId, @Param("shortformPk") int shortformPk) throws Exception;
     void addFavorite(@Param("memberId") Long memberId, @Param("shortformPk") int shortformPk) throws Exception;
-    void removeFavorite(@Param("memberId") Long memberId, @Param("shortformPk") int shortformPk) throws Exception;
+    // ⭐ 추가: INSERT IGNORE 로 좋아요 추가 (영향받은 행 수로 새로 추가됐는지 판단)
+    int addFavoriteIfAbsent(@Param("memberId") Long memberId, @Param("shortformPk") int shortformPk) throws Exception;
+    int removeFavorite(@Param("memberId") Long memberId, @Param("shortformPk") int shortformPk) throws Exception;
+    // ⭐ 추가: 같은 회원의 좋아요 변경을 한 트랜잭션씩 처리하도록 회원 행을 잠금 (회원이 없으면 null)
+    Long lockMemberForFavorite(@Param("memberId") Long memberId) throws Exception;
     void incrementFavoriteCount(int pk) throws Exception;
     void decrementFavoriteCount(int pk) throws Exception;
     Integer getFavoriteCount(int pk) throws Exception; // 좋아요 수만 가져오는 메서드 (null 가능성 고려)
+    // ⭐ 추가: 좋아요 수 증감분 일괄 반영 (UPDATE ... CASE)
+    int addFavoriteCounts(@Param("deltas") List<ShortformCountDeltaDto> deltas) throws Exception;
+
+ // --- 트렌딩 점수 체크포인트 ---
+    List<ShortformTrendingDto> findTrendingScores() throws Exception;
+    int upsertTrendingScores(@Param("scores") List<ShortformTrendingDto> scores) throws Exception;
+    int deleteTrendingScores(@Param("pks") List<Integer> pks) throws Exception;
+
+ // --- HLS 재생목록 ---
+    // ⭐ 추가: 패키징이 끝난 숏폼에 재생목록 경로 기록 (그 사이 영상이 바뀌었으면 0)
+    int updatePlaylist(@Param("pk") int pk, @Param("videofile") String videofile, @Param("playlist") String playlist) throws Exception;
+    // ⭐ 추가: 패키징 대상이 아닌 영상 기록 (기동 시 HLS 작업을 다시 넣지 않도록)
+    int markHlsSkipped(@Param("pk") int pk, @Param("videofile") String videofile) throws Exception;
+    // ⭐ 추가: 후처리 작업이 저장한 파일로 교체 (videofile 이 아직 oldVideofile 일 때만)
+    int updateVideoFile(@Param("pk") int pk, @Param("oldVideofile") String oldVideofile, @Param("video") ShortformDto video) throws Exception;
+
+ // --- 고유 시청자 스케치 ---
+    List<ShortformViewerSketchDto> findViewerSketches(@Param("pks") List<Integer> pks, @Param("buckets") List<String> buckets) throws Exception;
+    int upsertViewerSketches(@Param("sketches") List<ShortformViewerSketchDto> sketches) throws Exception;
+    int updateUniqueViewers(@Param("counts") List<ShortformDto> counts) throws Exception; // pk, uniqueViewers
+    int deleteViewerSketchesBefore(@Param("day") String day) throws Exception;
 }
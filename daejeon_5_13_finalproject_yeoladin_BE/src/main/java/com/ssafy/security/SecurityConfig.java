@@ -3,9 +3,12 @@ package com.ssafy.security;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ssafy.security.jwt.JwtAuthenticationFilter;
 import com.ssafy.security.jwt.JwtTokenProvider;
+import com.ssafy.security.jwt.RevokedMemberRegistry;
 import com.ssafy.service.MemberService; // MemberService 경로에 맞게 수정
 import com.ssafy.service.RefreshTokenService;
 
+import jakarta.servlet.DispatcherType;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,16 +58,19 @@ public class SecurityConfig {
 	@Autowired
 	private final RefreshTokenService refreshTokenService;
 
+	private final RevokedMemberRegistry revokedMembers;
+
 	// JWT 토큰 프로바이더를 사용한다면 주입 (이 예제에서는 직접 문자열 사용)
 	// @Autowired
 	// private JwtTokenProvider jwtTokenProvider;
 	@Autowired
 	public SecurityConfig(CustomOAuth2UserService customOAuth2UserService, JwtTokenProvider jwtTokenProvider,
-			RefreshTokenService refreshTokenService
+			RefreshTokenService refreshTokenService, RevokedMemberRegistry revokedMembers
 	/* , RefreshTokenRepository refreshTokenRepository */) {
 		this.customOAuth2UserService = customOAuth2UserService;
 		this.jwtTokenProvider = jwtTokenProvider;
 		this.refreshTokenService = refreshTokenService; // 할당
+		this.revokedMembers = revokedMembers;
 	}
 
 	@Bean
@@ -83,7 +89,7 @@ public class SecurityConfig {
 				.httpBasic(basic -> basic.disable()) // HTTP Basic 비활성화
 				.authorizeHttpRequests(auth -> auth
 						// 1순위: 모든 사용자가 접근 가능한 정적 리소스 및 특정 페이지
-						.requestMatchers("/api/auth/board","/api/auth/tripMap/content","/api/auth/board/comment" , "/api/auth/tripMap/filter","/api/auth/tripMap/detail","/api/auth/tripMap/ai" ).permitAll()
+						.requestMatchers("/api/auth/board","/api/auth/board/page","/api/auth/tripMap/content","/api/auth/board/comment" , "/api/auth/board/comment/page", "/api/auth/tripMap/filter","/api/auth/tripMap/detail","/api/auth/tripMap/ai" ).permitAll()
 						.requestMatchers("/", "/login", "/register", "/favicon.ico").permitAll()
 						.requestMatchers("/css/**", "/js/**", "/images/**", "/videos/**").permitAll() // 비디오 경로 포함
 
@@ -94,9 +100,18 @@ public class SecurityConfig {
 						.requestMatchers("/api/auth/member/login", "/api/auth/member/register").permitAll()
 						.requestMatchers("/api/auth/tripMap/content", "/api/auth/tripMap/filter").permitAll()
 						.requestMatchers("/api/main/popular-shortforms").permitAll()
+						.requestMatchers("/api/main/trending-shortforms").permitAll()
 						.requestMatchers("/videos/**").permitAll() // 비디오 파일 접근 허용
 					    // .requestMatchers("/thumbnails/**").permitAll() // 썸네일 파일 접근 허용 (만약 사용한다면)
 
+						// ⭐ 추가: SSE(/api/auth/video/{pk}/live) 같은 비동기 요청의 재디스패치는 최초 요청에서 이미 인증됨
+						.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+						// ⭐ 추가: 저장 공간 리포트는 관리자만 (scan=true 는 업로드 파일을 모두 읽음)
+						.requestMatchers("/api/auth/media/report").hasRole("ADMIN")
+						// ⭐ 추가: 게시판 캐시 현황도 운영용이라 관리자만
+						.requestMatchers("/api/auth/board/cache-stats").hasRole("ADMIN")
+
 						// 4순위: 그 외 모든 요청은 인증 필요
 						.anyRequest().authenticated())
 				.oauth2Login(oauth2Login -> oauth2Login
@@ -114,7 +129,7 @@ public class SecurityConfig {
 				).logout(logout -> logout.logoutSuccessUrl("http://192.168.205.56:5173/") // 로그아웃 성공 시 프론트엔드 홈으로 리디렉션
 						.permitAll())
 				// JwtAuthenticationFilter를 UsernamePasswordAuthenticationFilter 전에 추가
-				.addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider),
+				.addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, revokedMembers),
 						UsernamePasswordAuthenticationFilter.class);
 		;
 		return http.build();
@@ -252,9 +267,9 @@ public class SecurityConfig {
 	public CorsConfigurationSource corsConfigurationSource() {
 		CorsConfiguration configuration = new CorsConfiguration();
 		configuration.setAllowedOrigins(Arrays.asList("http://localhost:5173", "http://192.168.205.56:5173", "http://192.168.205.63:5173")); // Vue.js 개발 서버 주소		
-		configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-		configuration.setAllowedHeaders(Arrays.asList("authorization", "content-type", "x-auth-token"));
-		configuration.setExposedHeaders(Arrays.asList("x-auth-token"));
+		configuration.setAllowedMethods(Arrays.asList("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+		configuration.setAllowedHeaders(Arrays.asList("authorization", "content-type", "x-auth-token", "upload-length", "upload-offset"));
+		configuration.setExposedHeaders(Arrays.asList("x-auth-token", "Location", "Upload-Length", "Upload-Offset", "X-Job-Id"));
 		configuration.setAllowCredentials(true); // 쿠키를 포함한 요청 허용
 		UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
 		source.registerCorsConfiguration("/**", configuration); // 모든 경로에 대해 적용
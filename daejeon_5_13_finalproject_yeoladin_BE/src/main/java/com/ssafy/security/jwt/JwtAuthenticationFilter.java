@@ -17,6 +17,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends GenericFilterBean {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final RevokedMemberRegistry revokedMembers;
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -27,6 +28,11 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
         if (token != null && jwtTokenProvider.validateToken(token)) {
             // 토큰이 유효하면 토큰으로부터 유저 정보를 받아온다
             Authentication authentication = jwtTokenProvider.getAuthentication(token);
+            // ⭐ 추가: 탈퇴한 회원의 토큰이면 인증하지 않음 (컨트롤러마다 회원을 다시 조회하지 않도록 여기서 한 번만 확인)
+            if (revokedMembers.isRevoked((JwtMemberPrincipal) authentication.getPrincipal())) {
+                chain.doFilter(request, response);
+                return;
+            }
             // SecurityContext 에 Authentication 객체를 저장
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
@@ -0,0 +1,37 @@
+package com.ssafy.security.jwt;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import lombok.Getter;
+
+// JWT 로 인증된 사용자 (토큰 클레임의 회원 id / 이름을 그대로 담아서, 컨트롤러가 회원 조회 없이 사용)
+// 이 클레임이 생기기 전에 발급된 토큰이면 memberId / name 이 null 이므로 호출하는 쪽에서 이메일로 조회해야 함
+@Getter
+public class JwtMemberPrincipal implements UserDetails {
+    private static final long serialVersionUID = 1L;
+
+    private final Long memberId;
+    private final String email;
+    private final String name;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public JwtMemberPrincipal(Long memberId, String email, String name, Collection<? extends GrantedAuthority> authorities) {
+        this.memberId = memberId;
+        this.email = email;
+        this.name = name;
+        this.authorities = authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return ""; // 토큰 인증이라 비밀번호 없음
+    }
+
+    @Override
+    public String getUsername() {
+        return email; // 기존 User 와 같이 email
+    }
+}
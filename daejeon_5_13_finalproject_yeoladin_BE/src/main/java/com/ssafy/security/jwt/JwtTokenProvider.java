@@ -7,12 +7,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import com.ssafy.dto.MemberDto;
+import com.ssafy.security.CustomUserDetails;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -26,6 +27,8 @@ import java.util.stream.Collectors;
 @Slf4j
 @Component
 public class JwtTokenProvider {
+    private static final String MEMBER_ID_CLAIM = "mid";
+    private static final String NAME_CLAIM = "name";
 
     private final Key key;
     private final long accessTokenValidityInMilliseconds;
@@ -51,9 +54,10 @@ public class JwtTokenProvider {
         long now = (new Date()).getTime();
         Date validity = new Date(now + this.accessTokenValidityInMilliseconds);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(authentication.getName()) // email
-                .claim("auth", authorities) // 권한 정보 저장
+                .claim("auth", authorities); // 권한 정보 저장
+        return withMemberClaims(builder, authentication)
                 .setIssuedAt(new Date())
                 .setExpiration(validity)
                 .signWith(key, SignatureAlgorithm.HS512)
@@ -65,14 +69,43 @@ public class JwtTokenProvider {
         long now = (new Date()).getTime();
         Date validity = new Date(now + this.refreshTokenValidityInMilliseconds);
 
-        return Jwts.builder()
-                .setSubject(authentication.getName()) // email
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(authentication.getName()); // email
+        // 재발급되는 Access Token 에도 회원 id / 이름이 들어가도록 Refresh Token 에도 담음
+        return withMemberClaims(builder, authentication)
                 .setIssuedAt(new Date())
                 .setExpiration(validity)
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    // ⭐ 추가: 회원 id / 이름 클레임 (요청마다 이메일로 회원을 조회하지 않도록)
+    // 일반 로그인(CustomUserDetails), OAuth2 로그인(userPk / name 속성), 토큰 재발급(JwtMemberPrincipal) 모두 지원
+    private JwtBuilder withMemberClaims(JwtBuilder builder, Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        Long memberId = null;
+        String name = null;
+        if (principal instanceof CustomUserDetails) {
+            MemberDto member = ((CustomUserDetails) principal).getMemberDto();
+            memberId = member.getId() != null ? member.getId().longValue() : null;
+            name = member.getName();
+        } else if (principal instanceof OAuth2User) {
+            Object userPk = ((OAuth2User) principal).getAttribute("userPk");
+            memberId = userPk instanceof Number ? ((Number) userPk).longValue() : null;
+            name = ((OAuth2User) principal).getAttribute("name");
+        } else if (principal instanceof JwtMemberPrincipal) {
+            memberId = ((JwtMemberPrincipal) principal).getMemberId();
+            name = ((JwtMemberPrincipal) principal).getName();
+        }
+        if (memberId != null) {
+            builder.claim(MEMBER_ID_CLAIM, memberId);
+        }
+        if (name != null) {
+            builder.claim(NAME_CLAIM, name);
+        }
+        return builder;
+    }
+
 
     // 토큰에서 인증 정보 조회
     public Authentication getAuthentication(String token) {
@@ -94,7 +127,11 @@ public class JwtTokenProvider {
             authorities = Collections.emptyList(); // "auth" 클레임이 없으면 빈 권한 목록으로 처리
         }
 
-        UserDetails principal = new User(claims.getSubject(), "", authorities);
+        // 회원 id / 이름 클레임이 없는 (이전에 발급된) 토큰이면 null
+        Object memberIdClaim = claims.get(MEMBER_ID_CLAIM);
+        Long memberId = memberIdClaim instanceof Number ? ((Number) memberIdClaim).longValue() : null;
+        JwtMemberPrincipal principal = new JwtMemberPrincipal(memberId, claims.getSubject(),
+                claims.get(NAME_CLAIM, String.class), authorities);
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
@@ -0,0 +1,49 @@
+package com.ssafy.security.jwt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 탈퇴한 회원의 Access Token 을 막기 위한 목록 (요청마다 회원을 조회하지 않고 JwtAuthenticationFilter 에서 한 번 확인)
+// 탈퇴 전에 발급된 Access Token 은 최대 유효 시간까지만 남아 있으므로 그 시간이 지나면 목록에서 지움
+// Refresh Token 은 refresh_token 행이 회원과 같이 삭제(FK CASCADE)되므로 재발급도 되지 않음
+// 서버 메모리에만 두므로 서버가 여러 대면 각 서버에 알려야 함 (현재는 한 대)
+@Slf4j
+@Component
+public class RevokedMemberRegistry {
+    private final long ttlMillis;
+    // 회원 id -> 목록에서 지울 시각
+    private final Map<Long, Long> memberIds = new ConcurrentHashMap<>();
+    // 회원 id 클레임이 없는 (이전에 발급된) 토큰용. 이메일 -> 목록에서 지울 시각
+    private final Map<String, Long> emails = new ConcurrentHashMap<>();
+
+    public RevokedMemberRegistry(@Value("${jwt.access-token-validity-seconds}") long accessTokenValiditySeconds) {
+        this.ttlMillis = accessTokenValiditySeconds * 1000;
+    }
+
+    // 회원 삭제가 커밋된 뒤 호출
+    public void revoke(Long memberId, String email) {
+        long now = System.currentTimeMillis();
+        memberIds.values().removeIf(expiresAt -> expiresAt <= now);
+        emails.values().removeIf(expiresAt -> expiresAt <= now);
+        if (memberId != null) {
+            memberIds.put(memberId, now + ttlMillis);
+        }
+        if (email != null) {
+            emails.put(email, now + ttlMillis);
+        }
+        log.info("탈퇴한 회원의 토큰 차단: id={}, email={}", memberId, email);
+    }
+
+    // 회원 id 클레임이 있으면 id 로만 확인 (같은 이메일로 다시 가입한 회원의 새 토큰은 막지 않음)
+    public boolean isRevoked(JwtMemberPrincipal principal) {
+        Long expiresAt = principal.getMemberId() != null
+                ? memberIds.get(principal.getMemberId())
+                : emails.get(principal.getEmail());
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+}
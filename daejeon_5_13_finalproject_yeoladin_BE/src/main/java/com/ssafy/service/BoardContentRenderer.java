@@ -0,0 +1,142 @@
+package com.ssafy.service;
+
+import java.util.List;
+
+// 게시글 본문 한 번 훑기로 처리 (등록 / 수정 공통)
+// 1. __IMAGE_n__ 토큰을 n 번째 업로드 이미지 태그로 바꾼 본문
+// 2. 태그를 빼고 이미지는 [사진] 으로 바꾼 미리보기 (앞뒤 공백 제외, 최대 PREVIEW_LENGTH 글자)
+// 예전에는 미리보기용 replaceAll 정규식 두 번 + 이미지 수만큼 본문 전체 replace 였음 (이미지 n 개면 본문을 n + 2 번 훑음)
+// 미리보기는 코드 포인트 단위로 잘라서 이모지 같은 보조 문자가 반으로 잘리지 않음 (content_priview VARCHAR(30) 도 글자 수 기준)
+// 토큰끼리 밑줄을 나눠 쓰면(__IMAGE_1__IMAGE_0__) 앞에서부터 치환 (예전 번호 순 replace 와는 이 경우만 다름)
+public final class BoardContentRenderer {
+	public static final int PREVIEW_LENGTH = 30;
+	private static final String TOKEN_PREFIX = "__IMAGE_";
+	private static final String TOKEN_SUFFIX = "__";
+	private static final String IMAGE_PREVIEW = "[사진]";
+	private static final int MAX_TOKEN_DIGITS = 9; // int 범위 안에서만 번호로 봄 (더 길면 바꾸지 않음)
+
+	public record Rendered(String content, String preview) {
+	}
+
+	private BoardContentRenderer() {
+	}
+
+	// imageUrls 의 i 번째가 __IMAGE_i__ 자리에 들어감. 이미지가 없는 번호의 토큰은 본문에 그대로 남음
+	public static Rendered render(String content, List<String> imageUrls) {
+		if (content == null) {
+			return new Rendered(null, null);
+		}
+		int length = content.length();
+		StringBuilder out = imageUrls.isEmpty() ? null : new StringBuilder(length + imageUrls.size() * 96);
+		StringBuilder preview = new StringBuilder(PREVIEW_LENGTH * 2);
+		int previewCodePoints = 0;
+		int copied = 0; // out 에 아직 옮기지 않은 본문 시작 위치
+
+		int tagEnd = 0; // 미리보기에서 제외할 태그 <...> 의 끝 (토큰 치환은 태그 안에서도 함)
+		int i = 0;
+		while (i < length) {
+			boolean previewFull = previewCodePoints >= PREVIEW_LENGTH;
+			if (previewFull) {
+				if (out == null) {
+					break; // 본문을 바꿀 필요가 없으면 미리보기만 채우고 끝
+				}
+				int next = content.indexOf(TOKEN_PREFIX, i); // 남은 건 토큰 치환뿐
+				if (next < 0) {
+					break;
+				}
+				i = next;
+			}
+			char c = content.charAt(i);
+			boolean inTag = i < tagEnd;
+
+			if (c == '<' && !inTag) {
+				int close = content.indexOf('>', i + 1);
+				if (close >= 0) {
+					tagEnd = close + 1;
+					if (out == null) {
+						i = tagEnd; // 태그 안에 바꿀 토큰이 없으면 통째로 건너뜀
+						continue;
+					}
+					i++;
+					continue;
+				}
+			} else if (c == '_') {
+				int end = tokenEnd(content, i);
+				if (end >= 0) {
+					int index = tokenIndex(content, i + TOKEN_PREFIX.length(), end - TOKEN_SUFFIX.length());
+					if (out != null && index >= 0 && index < imageUrls.size()) {
+						out.append(content, copied, i)
+								.append("<img src='").append(imageUrls.get(index)).append("' class='inline-image'>");
+						copied = end;
+					}
+					if (!previewFull && !inTag) {
+						preview.append(IMAGE_PREVIEW);
+						previewCodePoints += IMAGE_PREVIEW.length();
+					}
+					i = end;
+					continue;
+				}
+			}
+			if (inTag || previewFull) {
+				i++;
+				continue;
+			}
+
+			int codePoint = content.codePointAt(i);
+			// 앞쪽 공백은 건너뜀 (trim)
+			if (previewCodePoints > 0 || codePoint > ' ') {
+				preview.appendCodePoint(codePoint);
+				previewCodePoints++;
+			}
+			i += Character.charCount(codePoint);
+		}
+
+		String rendered = content;
+		if (out != null && copied > 0) {
+			rendered = out.append(content, copied, length).toString();
+		}
+		return new Rendered(rendered, toPreview(preview, previewCodePoints));
+	}
+
+	public static String preview(String content) {
+		return render(content, List.of()).preview();
+	}
+
+	// [사진] 은 코드 포인트 4 개로 세었으므로 넘친 만큼 잘라내고 뒤쪽 공백 제거
+	private static String toPreview(StringBuilder preview, int codePoints) {
+		int end = preview.length();
+		if (codePoints > PREVIEW_LENGTH) {
+			end = preview.offsetByCodePoints(0, PREVIEW_LENGTH);
+		}
+		while (end > 0 && preview.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		return end == 0 ? null : preview.substring(0, end);
+	}
+
+	// start 에서 __IMAGE_<숫자>__ 가 시작하면 토큰 끝 위치, 아니면 -1
+	private static int tokenEnd(String content, int start) {
+		if (!content.startsWith(TOKEN_PREFIX, start)) {
+			return -1;
+		}
+		int digitsEnd = start + TOKEN_PREFIX.length();
+		while (digitsEnd < content.length() && content.charAt(digitsEnd) >= '0' && content.charAt(digitsEnd) <= '9') {
+			digitsEnd++;
+		}
+		if (digitsEnd == start + TOKEN_PREFIX.length() || !content.startsWith(TOKEN_SUFFIX, digitsEnd)) {
+			return -1;
+		}
+		return digitsEnd + TOKEN_SUFFIX.length();
+	}
+
+	private static int tokenIndex(String content, int from, int to) {
+		if (to - from > MAX_TOKEN_DIGITS) {
+			return -1;
+		}
+		int index = 0;
+		for (int i = from; i < to; i++) {
+			index = index * 10 + (content.charAt(i) - '0');
+		}
+		return index;
+	}
+}
@@ -0,0 +1,135 @@
+package com.ssafy.service;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ssafy.cache.BoundedCache;
+import com.ssafy.dto.board.BoardSearchDto;
+import com.ssafy.repository.BoardRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+// 게시글 개수 (목록 페이지마다 같이 호출되는 /count, /filter/count 용)
+// 전체 개수는 한 번 읽은 뒤 등록 / 삭제 커밋 때 +1 / -1 로 맞추고, 검색 개수는 (category, 소문자 keyword) 별로 캐시했다가 글이 바뀌면 비움.
+// DB 밖에서 바뀐 경우를 대비해 둘 다 TTL 이 지나면 다시 읽음
+@Component
+@RequiredArgsConstructor
+public class BoardCounter {
+	private final BoardRepository boardRepo;
+	private final BoardSearchIndex searchIndex;
+
+	@Value("${board.count-cache.size}")
+	private int cacheSize;
+
+	@Value("${board.count-cache.ttl-seconds}")
+	private long ttlSeconds;
+
+	private BoundedCache<String, Integer> filtered;
+	private int total = -1; // 아직 읽지 않았으면 -1
+	private long totalExpiresAt;
+	// 읽는 동안 글이 바뀌면 읽은 값을 캐시하지 않도록 변경 횟수
+	private long version;
+
+	@PostConstruct
+	public void init() {
+		filtered = new BoundedCache<>(cacheSize, TimeUnit.SECONDS.toMillis(ttlSeconds));
+	}
+
+	public int total() {
+		long loadingVersion;
+		synchronized (this) {
+			if (total >= 0 && System.currentTimeMillis() < totalExpiresAt) {
+				return total;
+			}
+			loadingVersion = version;
+		}
+		int loaded = boardRepo.countBoards();
+		synchronized (this) {
+			if (version == loadingVersion) {
+				total = loaded;
+				totalExpiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds);
+			}
+		}
+		return loaded;
+	}
+
+	// 검색 조건이 없거나 category 가 제목 / 작성자가 아니면 SQL 과 같이 전체 개수
+	public int count(String category, String keyword) {
+		if (keyword == null || keyword.isEmpty() || BoardSearchIndex.field(category) == null) {
+			return total();
+		}
+		String key = category + "|" + keyword.toLowerCase(Locale.ROOT); // LIKE 는 대소문자 무시
+		Integer cached = filtered.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		long loadingVersion;
+		synchronized (this) {
+			loadingVersion = version;
+		}
+		int loaded = searchIndex.isReady()
+				? searchIndex.search(BoardSearchIndex.field(category), keyword).size()
+				: boardRepo.countFilter(new BoardSearchDto(category, keyword));
+		synchronized (this) {
+			if (version == loadingVersion) {
+				filtered.put(key, loaded);
+			}
+		}
+		return loaded;
+	}
+
+	public void onRegistered() {
+		afterCommit(1);
+	}
+
+	// 제목이 바뀌었을 수 있으므로 검색 개수만 비움
+	public void onUpdated() {
+		afterCommit(0, false);
+	}
+
+	// 실제로 삭제된 행이 있을 때만
+	public void onDeleted(int deleted) {
+		if (deleted > 0) {
+			afterCommit(-deleted);
+		}
+	}
+
+	// 회원 삭제로 CASCADE 삭제된 글 수는 모르므로 다시 읽음. 이름 변경은 작성자 검색 개수만 바뀜
+	public void onMemberChanged() {
+		afterCommit(0, true);
+	}
+
+	private void afterCommit(int delta) {
+		afterCommit(delta, false);
+	}
+
+	private void afterCommit(int delta, boolean reloadTotal) {
+		Runnable apply = () -> apply(delta, reloadTotal);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			apply.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				apply.run();
+			}
+		});
+	}
+
+	private synchronized void apply(int delta, boolean reloadTotal) {
+		version++;
+		if (reloadTotal) {
+			total = -1;
+		} else if (total >= 0) {
+			total = Math.max(0, total + delta);
+		}
+		filtered.clear();
+	}
+}
@@ -0,0 +1,340 @@
+package com.ssafy.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ssafy.dto.board.BoardIndexRowDto;
+import com.ssafy.repository.BoardRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 게시글 제목 / 작성자 검색용 메모리 역색인 (글자 단위 1-gram + 2-gram)
+// LIKE '%키워드%' 는 인덱스를 못 타서 목록과 개수가 각각 전체 스캔이었음.
+// 키워드의 2-gram 중 게시글 수가 가장 적은 목록만 훑고, 후보마다 실제 포함 여부를 확인하므로 결과는 LIKE 와 같음 (대소문자 무시).
+// 기동 시 전체를 스트리밍으로 한 번 읽어서 만들고, 이후 등록 / 수정 / 삭제 / 회원 이름 변경은 커밋 후 반영.
+// 만들어지기 전(또는 실패 시)에는 isReady() 가 false 이고 호출하는 쪽은 기존 SQL 로 조회
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardSearchIndex {
+	private static final int MIN_COMPACT_DELETED = 1000; // 삭제 표시가 이만큼 + 살아있는 문서의 1/4 이상 쌓이면 다시 만듦
+
+	public enum Field {
+		TITLE, AUTHOR
+	}
+
+	// 목록과 같은 순서 (최신순, 같은 시각이면 id 역순)
+	public static final Comparator<Match> ORDER = Comparator.comparing(Match::createdTime)
+			.thenComparing(Match::id).reversed();
+
+	public record Match(String id, LocalDateTime createdTime) {
+	}
+
+	private final BoardRepository boardRepo;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private Segment segment; // 만들어지기 전에는 null
+	private boolean building = true;
+	private final List<Consumer<Segment>> changesWhileBuilding = new ArrayList<>();
+
+	// 검색 조건 category 값 -> 색인 필드 (색인 대상이 아니면 null)
+	public static Field field(String category) {
+		if ("제목".equals(category)) {
+			return Field.TITLE;
+		}
+		if ("작성자".equals(category)) {
+			return Field.AUTHOR;
+		}
+		return null;
+	}
+
+	public boolean isReady() {
+		lock.readLock().lock();
+		try {
+			return segment != null;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true) // 커서를 다 읽을 때까지 세션 유지
+	public void build() {
+		long started = System.currentTimeMillis();
+		Segment built = new Segment();
+		try (Cursor<BoardIndexRowDto> rows = boardRepo.scanBoardIndex()) {
+			for (BoardIndexRowDto row : rows) {
+				built.add(row);
+			}
+		} catch (Exception e) {
+			log.error("게시글 검색 색인 생성 실패, SQL 검색 사용: {}", e.getMessage(), e);
+			lock.writeLock().lock();
+			try {
+				building = false;
+				changesWhileBuilding.clear();
+			} finally {
+				lock.writeLock().unlock();
+			}
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			// 읽는 동안 커밋된 변경은 행 단위로 덮어쓰므로 다시 적용해도 결과가 같음
+			changesWhileBuilding.forEach(change -> change.accept(built));
+			changesWhileBuilding.clear();
+			segment = built.compactIfNeeded();
+			building = false;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("게시글 검색 색인 생성: {}건, {}ms", built.liveCount(), System.currentTimeMillis() - started);
+	}
+
+	// 키워드를 포함하는 게시글 전체 (ORDER 순). 크기가 곧 검색 결과 개수
+	public List<Match> search(Field field, String keyword) {
+		String needle = normalize(keyword);
+		List<Match> matches = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			if (segment == null) {
+				throw new IllegalStateException("검색 색인이 아직 준비되지 않았습니다.");
+			}
+			segment.collect(field, needle, matches);
+		} finally {
+			lock.readLock().unlock();
+		}
+		matches.sort(ORDER);
+		return matches;
+	}
+
+	// 게시글 저장 직후 호출 (같은 트랜잭션 안에서 행을 읽고, 커밋되면 반영)
+	public void onSaved(String boardId) {
+		BoardIndexRowDto row = boardRepo.findBoardIndexRow(boardId);
+		if (row != null) {
+			afterCommit(segment -> segment.put(row));
+		}
+	}
+
+	public void onDeleted(String boardId) {
+		afterCommit(segment -> segment.remove(boardId));
+	}
+
+	// 작성자 이름은 게시글마다 색인돼 있으므로 그 회원의 게시글을 새 이름으로 다시 넣음
+	public void onMemberRenamed(long memberId, String name) {
+		afterCommit(segment -> segment.rename(memberId, name));
+	}
+
+	// 회원 삭제 시 게시글은 FK CASCADE 로 삭제됨
+	public void onMemberDeleted(long memberId) {
+		afterCommit(segment -> segment.removeMember(memberId));
+	}
+
+	private void afterCommit(Consumer<Segment> change) {
+		Runnable apply = () -> apply(change);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			apply.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				apply.run();
+			}
+		});
+	}
+
+	private void apply(Consumer<Segment> change) {
+		lock.writeLock().lock();
+		try {
+			if (building) {
+				changesWhileBuilding.add(change);
+				return;
+			}
+			if (segment != null) {
+				change.accept(segment);
+				segment = segment.compactIfNeeded();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// LIKE 비교 규칙(_ci)에 맞춰 소문자로. 한글은 그대로
+	static String normalize(String text) {
+		return text == null ? "" : text.toLowerCase(Locale.ROOT);
+	}
+
+	// 1-gram 은 글자 코드 그대로, 2-gram 은 앞 글자를 위 16비트에 (앞 글자가 0 인 2-gram 은 없으므로 겹치지 않음)
+	private static int gram(char first, char second) {
+		return (first << 16) | second;
+	}
+
+	// 문서 번호는 추가 순서대로 늘어나므로 게시 목록은 항상 정렬된 상태로 끝에만 붙음
+	private static final class Segment {
+		private String[] ids = new String[1024];
+		private String[] titles = new String[1024];  // 소문자
+		private String[] authors = new String[1024]; // 소문자
+		private long[] memberIds = new long[1024];
+		private LocalDateTime[] createdTimes = new LocalDateTime[1024];
+		private int size;
+		private final BitSet deleted = new BitSet();
+		private int deletedCount;
+		private final Map<String, Integer> docOf = new HashMap<>();
+		private final Map<Field, Map<Integer, Postings>> grams = new EnumMap<>(Field.class);
+
+		Segment() {
+			for (Field field : Field.values()) {
+				grams.put(field, new HashMap<>());
+			}
+		}
+
+		int liveCount() {
+			return size - deletedCount;
+		}
+
+		void put(BoardIndexRowDto row) {
+			remove(row.getId());
+			add(row);
+		}
+
+		void add(BoardIndexRowDto row) {
+			if (size == ids.length) {
+				int capacity = size + (size >> 1);
+				ids = Arrays.copyOf(ids, capacity);
+				titles = Arrays.copyOf(titles, capacity);
+				authors = Arrays.copyOf(authors, capacity);
+				memberIds = Arrays.copyOf(memberIds, capacity);
+				createdTimes = Arrays.copyOf(createdTimes, capacity);
+			}
+			int doc = size++;
+			ids[doc] = row.getId();
+			titles[doc] = normalize(row.getTitle());
+			authors[doc] = normalize(row.getAuthor());
+			memberIds[doc] = row.getMemberId();
+			createdTimes[doc] = row.getCreatedTime();
+			docOf.put(row.getId(), doc);
+			index(Field.TITLE, titles[doc], doc);
+			index(Field.AUTHOR, authors[doc], doc);
+		}
+
+		void remove(String id) {
+			Integer doc = docOf.remove(id);
+			if (doc != null) {
+				delete(doc);
+			}
+		}
+
+		void rename(long memberId, String name) {
+			List<BoardIndexRowDto> renamed = new ArrayList<>();
+			for (int doc = 0; doc < size; doc++) {
+				if (memberIds[doc] == memberId && !deleted.get(doc)) {
+					renamed.add(new BoardIndexRowDto(ids[doc], titles[doc], memberId, name, createdTimes[doc]));
+				}
+			}
+			renamed.forEach(this::put);
+		}
+
+		void removeMember(long memberId) {
+			for (int doc = 0; doc < size; doc++) {
+				if (memberIds[doc] == memberId && !deleted.get(doc)) {
+					docOf.remove(ids[doc]);
+					delete(doc);
+				}
+			}
+		}
+
+		private void delete(int doc) {
+			deleted.set(doc);
+			deletedCount++;
+		}
+
+		private void index(Field field, String text, int doc) {
+			Map<Integer, Postings> postings = grams.get(field);
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				postings.computeIfAbsent((int) c, k -> new Postings()).add(doc);
+				if (i + 1 < text.length()) {
+					postings.computeIfAbsent(gram(c, text.charAt(i + 1)), k -> new Postings()).add(doc);
+				}
+			}
+		}
+
+		// 가장 짧은 게시 목록 하나만 훑고 포함 여부를 직접 확인
+		void collect(Field field, String needle, List<Match> out) {
+			Map<Integer, Postings> postings = grams.get(field);
+			Postings shortest = null;
+			if (needle.length() == 1) {
+				shortest = postings.get((int) needle.charAt(0));
+			}
+			for (int i = 0; i + 1 < needle.length(); i++) {
+				Postings candidate = postings.get(gram(needle.charAt(i), needle.charAt(i + 1)));
+				if (candidate == null) {
+					return; // 없는 2-gram 이 있으면 결과 없음
+				}
+				if (shortest == null || candidate.size < shortest.size) {
+					shortest = candidate;
+				}
+			}
+			if (shortest == null) {
+				return;
+			}
+			String[] texts = field == Field.TITLE ? titles : authors;
+			for (int i = 0; i < shortest.size; i++) {
+				int doc = shortest.docs[i];
+				if (!deleted.get(doc) && texts[doc].contains(needle)) {
+					out.add(new Match(ids[doc], createdTimes[doc]));
+				}
+			}
+		}
+
+		// 삭제 표시가 많이 쌓였으면 살아있는 문서만으로 다시 만듦 (원래 순서 유지)
+		Segment compactIfNeeded() {
+			if (deletedCount < Math.max(MIN_COMPACT_DELETED, liveCount() / 4)) {
+				return this;
+			}
+			Segment compacted = new Segment();
+			for (int doc = 0; doc < size; doc++) {
+				if (!deleted.get(doc)) {
+					compacted.add(new BoardIndexRowDto(ids[doc], titles[doc], memberIds[doc], authors[doc], createdTimes[doc]));
+				}
+			}
+			return compacted;
+		}
+	}
+
+	// 문서 번호 목록 (추가 순서 = 오름차순)
+	private static final class Postings {
+		private int[] docs = new int[2];
+		private int size;
+
+		void add(int doc) {
+			if (size > 0 && docs[size - 1] == doc) {
+				return; // 한 문서에 같은 gram 이 여러 번
+			}
+			if (size == docs.length) {
+				docs = Arrays.copyOf(docs, size * 2);
+			}
+			docs[size++] = doc;
+		}
+	}
+}
@@ -5,46 +5,118 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.ssafy.cache.BoundedCache;
+import com.ssafy.dto.board.BoardCacheStatsDto;
 import com.ssafy.dto.board.BoardContenRegistDto;
+import com.ssafy.dto.board.BoardCommentPageDto;
 import com.ssafy.dto.board.BoardContentDto;
 import com.ssafy.dto.board.BoardDetailDto;
+import com.ssafy.dto.board.BoardImageRowDto;
+import com.ssafy.dto.board.BoardIndexRowDto;
+import com.ssafy.dto.board.BoardListDto;
+import com.ssafy.dto.board.BoardPageDto;
 import com.ssafy.dto.board.BoardPreviewDto;
 import com.ssafy.dto.board.BoardRegistDto;
 import com.ssafy.dto.board.BoardSearchDto;
 import com.ssafy.dto.board.BoardUpdateDto;
 import com.ssafy.dto.board.ImageDto;
 import com.ssafy.repository.BoardRepository;
+import com.ssafy.service.BoardContentRenderer.Rendered;
+import com.ssafy.service.BoardSearchIndex.Match;
+import com.ssafy.service.MediaJobService.JobType;
+import com.ssafy.service.MediaStorageService.MediaKind;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BoardService {
+	private static final int MAX_PAGE_SIZE = 50;
+	// 페이지 번호(OFFSET) 조회는 앞쪽 페이지만 허용. 더 뒤는 OFFSET 만큼 읽고 버리게 되므로 커서 페이지(getBoardPage)를 사용
+	private static final int MAX_OFFSET_PAGE = 100;
+	private static final Pattern IMG_SRC = Pattern.compile("<img\\b[^>]*\\bsrc=['\"]([^'\"]+)['\"]");
+
 	private final BoardRepository boardRepo;
-	@Value("${spring.servlet.multipart.location}")
-    String filePath;
+	private final MediaStorageService mediaStorage;
+	private final MediaJobService jobService;
+	private final BoardSearchIndex searchIndex;
+	private final BoardCounter boardCounter;
+	private final ImageResizeService imageResizer;
+	
+	// ⭐ 추가: 상세 / 앞쪽 목록 페이지 읽기 캐시 (게시판 요청 대부분이 이 둘)
+	// 같은 키를 동시에 처음 읽으면 DB 조회는 한 번만 하고, 글 / 댓글 / 이미지가 바뀌면 커밋 후 해당 항목만 비움
+	@Value("${board.cache.detail-size}")
+	private int detailCacheSize;
+	
+	@Value("${board.cache.pages}")
+	private int cachedPages; // 1 ~ cachedPages 페이지만 캐시
 	
+	@Value("${board.cache.ttl-seconds}")
+	private long cacheTtlSeconds;
+	
+	@Value("${image.resize.migrate-thumbnails}")
+	private boolean migrateThumbnails; // 켜고 한 번 띄우면 기존 썸네일을 축소본 주소로 바꿈
+	
+	private BoundedCache<String, BoardDetailDto> detailCache;
+	private BoundedCache<String, List<BoardPreviewDto>> pageCache; // "page|size" -> 목록
+	
+	@PostConstruct
+	public void initCaches() {
+		long ttlMillis = TimeUnit.SECONDS.toMillis(cacheTtlSeconds);
+		detailCache = new BoundedCache<>(detailCacheSize, ttlMillis);
+		// 페이지 크기는 요청마다 다를 수 있으므로 크기 1~MAX_PAGE_SIZE 를 모두 담을 수 있게
+		pageCache = new BoundedCache<>(Math.max(1, cachedPages) * MAX_PAGE_SIZE, ttlMillis);
+	}
 	
 //	public List<BoardPreviewDto> findAll() throws SQLException, ClassNotFoundException{
 //		return boardRepo.findAll();
 //	}
 	
 	public List<BoardPreviewDto> getBoards(int page, int size) {
+		checkOffsetPage(page, size);
+		if (page <= cachedPages) {
+			try {
+				return pageCache.getOrLoad(page + "|" + size, () -> Collections.unmodifiableList(findBoards(page, size)));
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return findBoards(page, size);
+	}
+	
+	private List<BoardPreviewDto> findBoards(int page, int size) {
 		int offset = (page - 1) * size;
 		
 		Map<String, Object> param = new HashMap<>();
@@ -55,18 +127,40 @@ public class BoardService {
 	}
 	
 	public int getBoardCount() {
-		return boardRepo.countBoards();
+		return boardCounter.total();
 	}
 	
 	public int countFilter(BoardSearchDto dto) {
-		return boardRepo.countFilter(dto);
+		return boardCounter.count(dto.getCategory(), dto.getKeyword());
+	}
+	
+	// ⭐ 추가: 목록 한 페이지 + 전체 개수 (category / keyword 가 없으면 전체 목록)
+	// 색인 검색이면 한 번 찾은 결과에서 페이지와 개수를 같이 만듦
+	public BoardListDto getBoardList(int page, int size, String category, String keyword) throws SQLException, ClassNotFoundException {
+		checkOffsetPage(page, size);
+		if (useIndex(category, keyword)) {
+			List<Match> matches = searchIndex.search(BoardSearchIndex.field(category), keyword);
+			int from = Math.min((page - 1) * size, matches.size());
+			return new BoardListDto(findByMatches(matches.subList(from, Math.min(from + size, matches.size()))), matches.size());
+		}
+		List<BoardPreviewDto> boards = keyword == null || keyword.isEmpty()
+				? getBoards(page, size)
+				: search(page, size, category, keyword);
+		return new BoardListDto(boards, boardCounter.count(category, keyword));
 	}
 	
 	public List<BoardPreviewDto> search(int page , int size ,String category, String keyword) throws SQLException, ClassNotFoundException {
 		// TODO Auto-generated method stub
 		
-		Map<String, Object> param = new HashMap<>();
+		checkOffsetPage(page, size);
 		int offset = (page - 1) * size;
+		if (useIndex(category, keyword)) {
+			List<Match> matches = searchIndex.search(BoardSearchIndex.field(category), keyword);
+			int from = Math.min(offset, matches.size());
+			return findByMatches(matches.subList(from, Math.min(from + size, matches.size())));
+		}
+		
+		Map<String, Object> param = new HashMap<>();
 		param.put("offset", offset);
 		param.put("size", size);
 		param.put("category", category);
@@ -75,55 +169,207 @@ public class BoardService {
 		return boardRepo.search(param);
 	}
 	
+	// ⭐ 추가: 커서 페이지 조회 (category / keyword 가 없으면 전체 목록)
+	// (created_time, id) keyset 으로 다음 페이지를 찾으므로 몇 번째 페이지든 인덱스에서 size + 1 건만 읽음
+	public BoardPageDto getBoardPage(String cursor, int size, String category, String keyword) {
+		int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+		
+		String[] decoded = decodeCursor(cursor);
+		LocalDateTime cursorTime = decoded == null ? null : LocalDateTime.parse(decoded[0]);
+		String cursorId = decoded == null ? null : decoded[1];
+		
+		// 한 건 더 읽어서 다음 페이지 존재 여부 판단
+		List<BoardPreviewDto> boards;
+		if (useIndex(category, keyword)) {
+			// 색인 결과(목록과 같은 순서)에서 커서 다음 위치부터
+			List<Match> matches = searchIndex.search(BoardSearchIndex.field(category), keyword);
+			int from = 0;
+			if (cursorTime != null) {
+				int found = Collections.binarySearch(matches, new Match(cursorId, cursorTime), BoardSearchIndex.ORDER);
+				from = found >= 0 ? found + 1 : -found - 1;
+			}
+			boards = findByMatches(matches.subList(from, Math.min(from + pageSize + 1, matches.size())));
+		} else {
+			boards = boardRepo.findBoardPage(cursorTime, cursorId, category, keyword, pageSize + 1);
+		}
+		boolean hasNext = boards.size() > pageSize;
+		if (hasNext) {
+			boards = new ArrayList<>(boards.subList(0, pageSize));
+		}
+		
+		String nextCursor = null;
+		if (hasNext) {
+			BoardPreviewDto last = boards.get(boards.size() - 1);
+			nextCursor = encodeCursor(last.getCreatedTime(), last.getId());
+		}
+		return new BoardPageDto(boards, nextCursor, hasNext);
+	}
+	
+	// 커서 = Base64(작성 시각|id). 없으면 null, 형식이 틀리면 IllegalArgumentException
+	private static String[] decodeCursor(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		String[] decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+		if (decoded.length != 2) {
+			throw new IllegalArgumentException("잘못된 커서입니다.");
+		}
+		try {
+			LocalDateTime.parse(decoded[0]);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("잘못된 커서입니다.", e);
+		}
+		return decoded;
+	}
+	
+	private static String encodeCursor(LocalDateTime time, Object id) {
+		String raw = time + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	// ⭐ 추가: 제목 / 작성자 키워드 검색은 색인 사용 (키워드가 없거나 색인 준비 전이면 SQL)
+	private boolean useIndex(String category, String keyword) {
+		return keyword != null && !keyword.isEmpty() && BoardSearchIndex.field(category) != null && searchIndex.isReady();
+	}
+	
+	// 색인 결과 한 페이지를 한 번에 조회해서 색인 순서대로 (그 사이 삭제된 글은 빠짐)
+	private List<BoardPreviewDto> findByMatches(List<Match> matches) {
+		if (matches.isEmpty()) {
+			return new ArrayList<>();
+		}
+		List<String> ids = new ArrayList<>(matches.size());
+		for (Match match : matches) {
+			ids.add(match.id());
+		}
+		Map<String, BoardPreviewDto> byId = new HashMap<>();
+		for (BoardPreviewDto board : boardRepo.findBoardsByIds(ids)) {
+			byId.put(board.getId(), board);
+		}
+		List<BoardPreviewDto> boards = new ArrayList<>(ids.size());
+		for (String id : ids) {
+			BoardPreviewDto board = byId.get(id);
+			if (board != null) {
+				boards.add(board);
+			}
+		}
+		return boards;
+	}
+	
+	private void checkOffsetPage(int page, int size) {
+		if (page < 1 || page > MAX_OFFSET_PAGE || size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("page 는 1~" + MAX_OFFSET_PAGE + ", size 는 1~" + MAX_PAGE_SIZE
+					+ " 까지 가능합니다. 더 뒤의 페이지는 커서 조회를 사용하세요.");
+		}
+	}
+	
 	
 
 	public BoardDetailDto boardDetail(String id) {
-		return boardRepo.findDetail(id);
+		try {
+			return detailCache.getOrLoad(id, () -> boardRepo.findDetail(id)); // 없는 글(null)은 캐시하지 않음
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	// ⭐ 추가: 축소본 도입 전에 등록된 글의 thumbnail_url 을 한 번 축소본 주소로 바꿈 (이미 바뀐 행은 건너뛰므로 다시 돌아도 같음)
+	@EventListener(ApplicationReadyEvent.class)
+	public void migrateThumbnailUrls() {
+		if (!migrateThumbnails) {
+			return;
+		}
+		int updated = boardRepo.migrateThumbnailUrls(imageResizer.thumbnailQuery());
+		log.info("기존 게시글 썸네일 {} 개를 축소본 주소로 변경. image.resize.migrate-thumbnails 는 다시 false 로", updated);
+		if (updated > 0) {
+			detailCache.clear();
+			pageCache.clear();
+		}
+	}
+	
+	// ⭐ 추가: 캐시 적중률 / 밀려난 항목 수
+	public BoardCacheStatsDto getCacheStats() {
+		return new BoardCacheStatsDto(detailCache.stats(), pageCache.stats());
+	}
+	
+	// 새 글은 맨 앞에 들어가므로 캐시한 페이지가 모두 밀림
+	private void invalidateAllPages() {
+		afterCommit(pageCache::clear);
+	}
+	
+	// 제자리 수정 (순서는 그대로): 상세와 그 글이 들어 있는 페이지만
+	private void invalidateBoard(String boardId) {
+		afterCommit(() -> {
+			detailCache.invalidate(boardId);
+			pageCache.invalidateIf((key, boards) -> containsBoard(boards, boardId));
+		});
+	}
+	
+	// 삭제: 그 글과 같거나 뒤(오래된 쪽)에서 끝나는 페이지는 한 칸씩 당겨지므로 비움. 더 앞에서 끝나는 페이지는 그대로
+	private void invalidateDeleted(String boardId, LocalDateTime createdTime) {
+		afterCommit(() -> {
+			detailCache.invalidate(boardId);
+			if (createdTime == null) {
+				pageCache.clear();
+				return;
+			}
+			Match deleted = new Match(boardId, createdTime);
+			pageCache.invalidateIf((key, boards) -> !boards.isEmpty()
+					&& BoardSearchIndex.ORDER.compare(deleted, new Match(
+							boards.get(boards.size() - 1).getId(), boards.get(boards.size() - 1).getCreatedTime())) <= 0);
+		});
+	}
+	
+	// 작성자 이름 변경 / 회원 삭제(게시글 CASCADE): 어떤 글인지 알 수 없으므로 모두 비움
+	public void onMemberChanged() {
+		afterCommit(() -> {
+			detailCache.clear();
+			pageCache.clear();
+		});
+	}
+	
+	private static boolean containsBoard(List<BoardPreviewDto> boards, String boardId) {
+		for (BoardPreviewDto board : boards) {
+			if (board.getId().equals(boardId)) {
+				return true;
+			}
+		}
+		return false;
 	}
 	
-	public void boardRegist(BoardRegistDto dto) throws IOException{
-		Path uuidFolderPath=null;
+	// 이미지가 있으면 후처리 작업 id 반환 (없으면 null)
+	@Transactional // 게시글 / 이미지 행과 후처리 작업을 같이 반영
+	public Long boardRegist(BoardRegistDto dto) throws IOException{
+		List<String> storedNames = new ArrayList<>(); // 실패 시 참조 해제용
 		try {
         	
         	if(dto.getImages().length == 0) {
         		//insert board
         		System.out.println(dto.getContent());
-        		dto.setContentPriview(createContentPreview(dto.getContent()));
+        		dto.setContentPriview(BoardContentRenderer.preview(dto.getContent()));
         		//contentPrive 제작
         		boardRepo.save(dto);
+        		searchIndex.onSaved(dto.getId());
+        		boardCounter.onRegistered();
+        		invalidateAllPages();
         	}
         	else {
         		List<String> uploadedUrls = new ArrayList<>();
-            	
-                Path uploadPath = Paths.get(filePath);
-                // uploads 폴더가 없으면 생성
-                if (!Files.exists(uploadPath)) {
-                    Files.createDirectories(uploadPath);
-                }
-                // uploads 폴더 안에 uuid 폴더 만들기
-                // 2. UUID로 하위 폴더 생성
-                String uuidFolder = UUID.randomUUID().toString();
-                uuidFolderPath = uploadPath.resolve(uuidFolder); // uploads/uuid
-                Files.createDirectories(uuidFolderPath);
                 
+                // 이미지는 게시글별 폴더 대신 내용 해시 이름(cas/<해시>.<확장자>)으로 저장하고 같은 이미지는 공유
+                // 요청에서는 처리 대기 이름(pending-<UUID>)으로만 옮기고, 해시 저장 + 본문 URL 교체는 BOARD_IMAGES 작업에서
+                // 게시글별 폴더가 없으므로 img_forder_path 는 비워둠
                 List<ImageDto> imgList = new ArrayList<>();
-        		dto.setImgForderPath(uuidFolderPath.toString());
             	MultipartFile[] images = dto.getImages();
             	for (int i = 0; i < images.length; i++) {
                     MultipartFile image = images[i];
                     String originImgName= imageNameChange(image.getOriginalFilename());
-                    String storeFileName = UUID.randomUUID() + "_" + originImgName;
-                    Path targetPath = uuidFolderPath.resolve(storeFileName); //경로 + 파일명 결합 = 실제 저장할 위치
-
-                    image.transferTo(targetPath.toFile()); //사용자가 업로드한 이미지 파일을 해당 경로에 저장
-
-                    String imageUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
-                    	    .path("/images/")
-                    	    .path(uuidFolder + "/")
-                    	    .path(storeFileName)
-                    	    .toUriString();
-                    // 외부에 나의 디렉터리 경로를 설정하는 것은 보안 이슈에 걸릴 수 있음으로, images 라는 임의 url로 설정한다.
-                    if(dto.getThumbnailUrl()==null)dto.setThumbnailUrl(imageUrl);
+                    String storeFileName = mediaStorage.storePending(MediaKind.IMAGE, image); // 처리 전에도 이 이름으로 서빙됨
+                    storedNames.add(storeFileName);
+
+                    String imageUrl = imageUrl(storeFileName);
+                    if(dto.getThumbnailUrl()==null)dto.setThumbnailUrl(imageResizer.thumbnailUrl(imageUrl)); // 목록 카드는 축소본
                     uploadedUrls.add(imageUrl); // Content에 들어갈 토큰을 uploadUrls명으로 바꿔주기 위해서 저장
                     imgList.add(ImageDto.builder()
                     		.boardId(dto.getId()).originalName(originImgName)
@@ -134,58 +380,66 @@ public class BoardService {
             	
                 // content의 토큰을 이미지 URL로 치환
             	// 해당하는 이미지는 src==로 만들어지고, 브라우저에서 해당 경로로 이미지를 받기 위해ㅔ HTTP 요청을 보낸다. (정적 리소스 설정)
-                String content = dto.getContent();
-                //content Priview 내용 저장
-                dto.setContentPriview(createContentPreview(content));
-                for (int i = 0; i < uploadedUrls.size(); i++) {
-                	content = content.replace("__IMAGE_"+i+"__", "<img src='" + uploadedUrls.get(i) + "' class='inline-image'>");
-                }
-                dto.setContent(content);
-                System.out.println(content);
+                //content Priview 내용 저장 (토큰 치환과 같이 한 번에)
+                Rendered rendered = BoardContentRenderer.render(dto.getContent(), uploadedUrls);
+                dto.setContentPriview(rendered.preview());
+                dto.setContent(rendered.content());
                 //insertBoard
                 boardRepo.save(dto);
                 //insertImg
         		boardRepo.imageSave(imgList);
+        		searchIndex.onSaved(dto.getId());
+        		boardCounter.onRegistered();
+        		invalidateAllPages();
+        		return jobService.enqueue(JobType.BOARD_IMAGES, dto.getId(), null);
         	}
+        	return null;
         	
         } catch (Exception e) {
-	   		 //이미지 폴더 삭제
-        	if (uuidFolderPath!=null && Files.exists(uuidFolderPath)){
-	   			 Files.walk(uuidFolderPath)                // 하위 모든 파일/디렉터리 탐색
-	   	         .sorted(Comparator.reverseOrder()) // 하위 → 상위 순서로 삭제
-	   	         .map(Path::toFile)
-	   	         .forEach(File::delete);
-	   		 }
+	   		 //저장한 이미지 참조 해제 (다른 게시글이 쓰지 않는 이미지만 실제로 삭제됨)
+        	for (String storedName : storedNames) {
+        		mediaStorage.release(MediaKind.IMAGE, storedName);
+        	}
         	e.printStackTrace();
         	throw new RuntimeException();
         }
 	}
 	
+	// ⭐ 추가: BOARD_IMAGES 작업. 처리 대기 이미지를 중복 제거 저장소로 옮기고 images 행 / 본문 / 썸네일 URL 교체
+	// 이미지마다 한 문장으로 반영하고, 반영된 뒤에만 대기 파일을 지우므로 중간에 실패해도 재시도하면 이어서 처리됨
+	public void processPendingImages(String boardId) throws Exception {
+		for (String pendingName : boardRepo.findImageStoredNames(boardId)) {
+			if (!mediaStorage.isPending(pendingName)) {
+				continue;
+			}
+			String storedName = mediaStorage.commitPending(MediaKind.IMAGE, pendingName);
+			int updated;
+			try {
+				updated = boardRepo.replaceImageStoredName(boardId, pendingName, storedName);
+			} catch (Exception e) {
+				mediaStorage.release(MediaKind.IMAGE, storedName);
+				throw e;
+			}
+			// 그 사이 게시글이 삭제 / 수정됐으면 반영되지 않음 (대기 파일은 그쪽에서 정리됨)
+			mediaStorage.release(MediaKind.IMAGE, updated > 0 ? pendingName : storedName);
+			if (updated > 0) {
+				invalidateBoard(boardId); // 본문 / 썸네일 URL 이 바뀜
+			}
+		}
+	}
+	
 	private String imageNameChange(String name){
         String cleanedName = name
             .replaceAll("[^a-zA-Z0-9.\\-]", "_"); // 안전 문자만 허용
         return cleanedName;
     }
-    
-    private String createContentPreview(String content) {
-        if (content == null) return null;
-
-        // 1. 이미지 태그 플레이스홀더 제거
-        String textOnly = content.replaceAll("__IMAGE_\\d+__", "[사진]");
-
-        // 2. HTML 태그 제거 (replace 후에도 <br> 남을 수 있으니 제거)
-        textOnly = textOnly.replaceAll("<[^>]*>", "").trim();
-
-        // 3. 공백 제거 후 길이 검사
-        if (textOnly.isEmpty()) return null;
-
-        // 4. 30자 이하라면 그대로, 초과라면 잘라서 반환
-        return textOnly.length() <= 30 ? textOnly : textOnly.substring(0, 30);
-    }
 	
     public void boardDelete(String id) throws IOException {
         // DB에서 이미지 폴더 경로 조회
         String forderPath = boardRepo.findByForderPath(id);
+        // 게시글 삭제 시 images 행도 CASCADE 로 지워지므로 미리 조회
+        List<String> storedNames = boardRepo.findImageStoredNames(id);
+        BoardIndexRowDto row = boardRepo.findBoardIndexRow(id); // 캐시한 목록 페이지 중 밀리는 페이지 판단용
 
         // forderPath가 null이 아니고, 비어있지 않은 경우에만 폴더 삭제 시도
         if (forderPath != null && !forderPath.isEmpty()) {
@@ -214,30 +468,225 @@ public class BoardService {
         }
 
         // DB 데이터 삭제
-        boardRepo.delete(id);
+        int deleted = boardRepo.delete(id);
+        searchIndex.onDeleted(id);
+        boardCounter.onDeleted(deleted);
+        if (deleted > 0) {
+        	invalidateDeleted(id, row == null ? null : row.getCreatedTime());
+        }
+
+        // 중복 제거 저장소 이미지 참조 해제 (마지막 참조일 때만 파일 삭제)
+        // 폴더 방식으로 저장된 이전 게시글 이미지는 위에서 폴더째 삭제됨 (수정하면서 추가한 이미지는 저장소에 있음)
+        for (String storedName : storedNames) {
+            if (!isFolderImage(forderPath, storedName)) {
+                mediaStorage.release(MediaKind.IMAGE, storedName);
+            }
+        }
     }
 
-	public void boardUpdate(String id ,BoardRegistDto dto) throws IOException {
-		//delete
-		boardDelete(id);
-		//regist
-		boardRegist(dto);
+	// ⭐ 수정: 삭제 후 재등록 대신 제자리 수정 (게시글 id / 작성 시각 / 남은 이미지 URL 유지)
+	// 기존 images 행 중 본문에 그대로 남은 이미지와, 같은 내용으로 다시 올라온 이미지는 재사용하고
+	// 새 이미지만 저장, 빠진 이미지만 커밋 후 참조 해제. 새 이미지가 있으면 후처리 작업 id 반환
+	// 폴더 방식(도입 전) 게시글도 폴더는 그대로 두고, 본문에서 빠진 폴더 이미지만 커밋 후 삭제 (새 이미지는 저장소에)
+	@Transactional
+	public Long boardUpdate(String id ,BoardRegistDto dto) throws IOException {
+		if (boardRepo.lockBoard(id) == null) {
+			throw new IllegalArgumentException("게시글이 없습니다: " + id);
+		}
+		dto.setId(id);
+		String forderPath = boardRepo.findByForderPath(id);
+		
+		String content = dto.getContent() == null ? "" : dto.getContent();
+		// 본문에 URL 이 그대로 남아 있는 이미지는 유지
+		List<BoardImageRowDto> removed = new ArrayList<>();
+		for (BoardImageRowDto row : boardRepo.findImagesForUpdate(id)) {
+			if (!content.contains(imagePath(forderPath, row.getStoredName()))) {
+				removed.add(row);
+			}
+		}
+		
+		List<String> storedNames = new ArrayList<>(); // 실패 시 참조 해제용 (새로 저장한 것만)
+		try {
+			MultipartFile[] images = dto.getImages();
+			// 폴더 이미지는 저장소 이름으로 재사용할 수 없으므로 저장소 이미지만 비교
+			List<BoardImageRowDto> reusable = new ArrayList<>();
+			for (BoardImageRowDto row : removed) {
+				if (!isFolderImage(forderPath, row.getStoredName())) {
+					reusable.add(row);
+				}
+			}
+			Map<String, List<BoardImageRowDto>> removedByHash = images.length > 0 ? hashImages(reusable) : new HashMap<>();
+			List<String> uploadedUrls = new ArrayList<>();
+			List<ImageDto> imgList = new ArrayList<>();
+			for (MultipartFile image : images) {
+				String storeFileName = null;
+				// 같은 내용의 기존 이미지가 다시 올라왔으면 쓰기 없이 그 이름 재사용
+				List<BoardImageRowDto> sameContent = removedByHash.isEmpty() ? null
+						: removedByHash.get(mediaStorage.contentHash(image));
+				if (sameContent != null && !sameContent.isEmpty()) {
+					BoardImageRowDto reused = sameContent.remove(0);
+					removed.remove(reused);
+					storeFileName = reused.getStoredName();
+				} else {
+					storeFileName = mediaStorage.storePending(MediaKind.IMAGE, image);
+					storedNames.add(storeFileName);
+					imgList.add(ImageDto.builder()
+							.boardId(id).originalName(imageNameChange(image.getOriginalFilename()))
+							.storeName(storeFileName).build());
+				}
+				uploadedUrls.add(imageUrl(storeFileName));
+			}
+			
+			Rendered rendered = BoardContentRenderer.render(content, uploadedUrls);
+			content = rendered.content();
+			dto.setContentPriview(rendered.preview());
+			dto.setContent(content);
+			Matcher firstImage = IMG_SRC.matcher(content);
+			dto.setThumbnailUrl(firstImage.find() ? imageResizer.thumbnailUrl(firstImage.group(1)) : null);
+			boardRepo.update(dto);
+			
+			if (!removed.isEmpty()) {
+				List<Long> removedIds = new ArrayList<>();
+				for (BoardImageRowDto row : removed) {
+					removedIds.add(row.getId());
+				}
+				boardRepo.deleteImages(id, removedIds);
+			}
+			Long jobId = null;
+			if (!imgList.isEmpty()) {
+				boardRepo.imageSave(imgList);
+				jobId = jobService.enqueue(JobType.BOARD_IMAGES, id, null);
+			}
+			searchIndex.onSaved(id);
+			boardCounter.onUpdated();
+			invalidateBoard(id);
+			// 롤백되면 기존 이미지를 계속 쓰므로 커밋된 뒤에만 해제
+			afterCommit(() -> {
+				for (BoardImageRowDto row : removed) {
+					if (isFolderImage(forderPath, row.getStoredName())) {
+						deleteFolderImage(forderPath, row.getStoredName());
+					} else {
+						mediaStorage.release(MediaKind.IMAGE, row.getStoredName());
+					}
+				}
+			});
+			return jobId;
+		} catch (Exception e) {
+			for (String storedName : storedNames) {
+				mediaStorage.release(MediaKind.IMAGE, storedName);
+			}
+			log.error("게시글 수정 중 오류 발생: id={}, {}", id, e.getMessage(), e);
+			throw new RuntimeException(e);
+		}
+	}
+	
+	// 폴더 방식(도입 전) 게시글에 처음부터 있던 이미지인지 (수정하면서 추가한 이미지는 처리 대기 / 저장소 이름)
+	private boolean isFolderImage(String forderPath, String storedName) {
+		return forderPath != null && !forderPath.isEmpty()
+				&& !mediaStorage.isPending(storedName) && !mediaStorage.isContentAddressed(storedName);
+	}
+	
+	// 본문에 들어 있는 이미지 경로 (/images/ 뒤). 폴더 이미지는 /images/<폴더>/<파일>
+	private String imagePath(String forderPath, String storedName) {
+		if (isFolderImage(forderPath, storedName)) {
+			return "/images/" + Paths.get(forderPath).getFileName() + "/" + storedName;
+		}
+		return "/images/" + storedName;
+	}
+	
+	// 본문에서 빠진 폴더 이미지 파일 삭제 (폴더 밖을 가리키는 이름은 무시)
+	private void deleteFolderImage(String forderPath, String storedName) {
+		Path directory = Paths.get(forderPath).toAbsolutePath().normalize();
+		Path file = directory.resolve(storedName).normalize();
+		if (!file.getParent().equals(directory)) {
+			log.warn("잘못된 이미지 이름: {}", storedName);
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("폴더 이미지 삭제 실패: {}, {}", file, e.getMessage());
+		}
+	}
+	
+	// 기존 이미지 내용 해시 -> 행 (처리 대기 파일은 읽어서 계산, 파일이 없으면 제외)
+	private Map<String, List<BoardImageRowDto>> hashImages(List<BoardImageRowDto> rows) throws IOException {
+		Map<String, List<BoardImageRowDto>> byHash = new HashMap<>();
+		for (BoardImageRowDto row : rows) {
+			String hash = mediaStorage.contentHash(MediaKind.IMAGE, row.getStoredName());
+			if (hash != null) {
+				byHash.computeIfAbsent(hash, h -> new ArrayList<>()).add(row);
+			}
+		}
+		return byHash;
+	}
+	
+	private String imageUrl(String storedName) {
+		// 외부에 나의 디렉터리 경로를 설정하는 것은 보안 이슈에 걸릴 수 있음으로, images 라는 임의 url로 설정한다.
+		return ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/images/")
+				.path(storedName)
+				.toUriString();
+	}
+	
+	private void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
 	}
 
+	@Transactional // 댓글 행과 board.comment_count 를 같이 반영
 	public void boardCommentRegist(BoardContenRegistDto dto) {
-		// TODO Auto-generated method stub		
 		boardRepo.contentSave(dto);
-
+		boardRepo.incrementCommentCount(dto.getBoardId());
+		invalidateCommentCount(dto.getBoardId());
 	}
 
 	public List<BoardContentDto> findByBoardComments(String boardId) {
 		// TODO Auto-generated method stub
 		return boardRepo.findByBoardComments(boardId);
 	}
+	
+	// ⭐ 추가: 댓글 커서 페이지 (오래된 순). (board_id, created_time, id) 인덱스에서 size + 1 건만 읽음
+	public BoardCommentPageDto getCommentPage(String boardId, String cursor, int size) {
+		int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+		String[] decoded = decodeCursor(cursor);
+		LocalDateTime cursorTime = decoded == null ? null : LocalDateTime.parse(decoded[0]);
+		Long cursorId = decoded == null ? null : Long.parseLong(decoded[1]); // 숫자가 아니면 NumberFormatException (IllegalArgumentException)
+		
+		List<BoardContentDto> comments = boardRepo.findCommentPage(boardId, cursorTime, cursorId, pageSize + 1);
+		boolean hasNext = comments.size() > pageSize;
+		if (hasNext) {
+			comments = new ArrayList<>(comments.subList(0, pageSize));
+		}
+		String nextCursor = null;
+		if (hasNext) {
+			BoardContentDto last = comments.get(comments.size() - 1);
+			nextCursor = encodeCursor(last.getCreatedTime(), last.getId());
+		}
+		return new BoardCommentPageDto(comments, nextCursor, hasNext);
+	}
 
+	@Transactional // 개수를 먼저 줄이고(댓글 행 잠금) 삭제. 이미 지워진 댓글이면 둘 다 0 건
 	public void deleteComment(int id) {
-		// TODO Auto-generated method stub
+		String boardId = boardRepo.findCommentBoardId(id);
+		boardRepo.decrementCommentCount(id);
 		boardRepo.deleteComment(id);
+		if (boardId != null) {
+			invalidateCommentCount(boardId);
+		}
+	}
+	
+	// 상세에는 댓글 수가 없으므로 목록 페이지만
+	private void invalidateCommentCount(String boardId) {
+		afterCommit(() -> pageCache.invalidateIf((key, boards) -> containsBoard(boards, boardId)));
 	}
 
 
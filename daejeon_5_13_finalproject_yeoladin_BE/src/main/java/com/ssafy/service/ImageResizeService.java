@@ -0,0 +1,433 @@
+package com.ssafy.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 게시글 이미지 축소본 (목록 카드 썸네일 등). 원본은 수 MB 라도 카드에는 몇십 KB 면 충분
+// 너비는 정해진 단계(image.resize.widths) 중 요청 이상인 가장 작은 값으로, 품질은 5 단위로 맞춰서 축소본 종류가 늘어나지 않게 함
+// 축소는 ImageIO 로 워커 풀(대기 수 제한)에서만 하고, 같은 축소본을 동시에 요청하면 한 번만 만듦
+// 만든 축소본은 <이미지 폴더>/resized 에 두고 전체 크기가 image.resize.cache-max-mb 를 넘으면 가장 오래 안 쓴 것부터 지움
+// 원본보다 크게 만들 필요가 없거나 ImageIO 가 읽지 못하는 형식(webp, CMYK JPEG 등)이면 null (원본을 그대로 사용)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageResizeService {
+	private static final String RESIZED_DIR = "resized";
+	private static final String TEMP_SUFFIX = ".tmp";
+	private static final int MIN_QUALITY = 30;
+	private static final int MAX_QUALITY = 95;
+
+	// ⭐ 수정: 축소본은 메모리에 읽지 않고 파일 경로로 넘김 (응답에서 바로 스트리밍)
+	public record Variant(Path file, String contentType, String etag, boolean immutable) {
+	}
+
+	// 만들 축소본 정보. 이름(etag)은 원본과 요청 값만으로 정해지므로 축소 / 파일 읽기 전에 304 를 판단할 수 있음
+	public record Target(String storedName, Path source, int width, int quality, boolean png, String name,
+			boolean immutable) {
+		public String etag() {
+			return name;
+		}
+
+		public String contentType() {
+			return png ? "image/png" : "image/jpeg";
+		}
+	}
+
+	private final MediaStorageService mediaStorage;
+
+	@Value("${image.resize.widths}")
+	private int[] widths;
+
+	@Value("${image.resize.default-quality}")
+	private int defaultQuality;
+
+	@Value("${image.resize.workers}")
+	private int workers;
+
+	@Value("${image.resize.queue}")
+	private int queueSize;
+
+	@Value("${image.resize.timeout-seconds}")
+	private long timeoutSeconds;
+
+	@Value("${image.resize.cache-max-mb}")
+	private long cacheMaxMb;
+
+	@Value("${image.resize.max-source-pixels}")
+	private long maxSourcePixels;
+
+	@Value("${image.resize.thumbnail-width}")
+	private int thumbnailWidth;
+
+	@Value("${image.resize.thumbnail-quality}")
+	private int thumbnailQuality;
+
+	@Value("${spring.servlet.multipart.location}")
+	private String imageDir;
+
+	private Path cacheDir;
+	private ThreadPoolExecutor executor;
+	private final Map<String, CompletableFuture<Boolean>> resizing = new ConcurrentHashMap<>();
+	// 축소본 파일 이름 -> 크기 (접근 순서)
+	private final LinkedHashMap<String, Long> cached = new LinkedHashMap<>(16, 0.75f, true);
+	private long cachedBytes;
+
+	@PostConstruct
+	public void init() throws IOException {
+		Arrays.sort(widths);
+		cacheDir = Paths.get(imageDir).toAbsolutePath().normalize().resolve(RESIZED_DIR);
+		Files.createDirectories(cacheDir);
+		executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize));
+		loadCached();
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	// 원본 이미지 URL -> 목록 썸네일용 축소본 URL (이미지 폴더 밖 URL 이나 이미 축소본이면 그대로)
+	public String thumbnailUrl(String imageUrl) {
+		if (imageUrl == null) {
+			return null;
+		}
+		int images = imageUrl.indexOf("/images/");
+		if (images < 0 || imageUrl.startsWith("/images/resize/", images)) {
+			return imageUrl;
+		}
+		return imageUrl.substring(0, images) + "/images/resize/" + imageUrl.substring(images + "/images/".length())
+				+ thumbnailQuery();
+	}
+
+	// 썸네일 축소본 쿼리 ("?w=&q=")
+	public String thumbnailQuery() {
+		return "?w=" + thumbnailWidth + "&q=" + thumbnailQuality;
+	}
+
+	// storedName 은 /images/ 뒤 경로. 원본이 없으면 NoSuchFileException
+	public Target target(String storedName, int width, Integer quality) throws IOException {
+		if (width < 1) {
+			throw new IllegalArgumentException("w 는 1 이상이어야 합니다.");
+		}
+		if (storedName.startsWith(RESIZED_DIR + "/")) {
+			throw new IllegalArgumentException("축소본은 다시 축소할 수 없습니다.");
+		}
+		Path source = mediaStorage.imagePath(storedName);
+		if (!Files.isRegularFile(source)) {
+			throw new NoSuchFileException(storedName);
+		}
+		boolean png = isPng(storedName);
+		int targetWidth = snapWidth(width);
+		int targetQuality = png ? 0 : snapQuality(quality == null ? defaultQuality : quality);
+		boolean immutable = mediaStorage.isContentAddressed(storedName);
+		String name = variantKey(storedName, source, immutable) + "-w" + targetWidth + "-q" + targetQuality
+				+ (png ? ".png" : ".jpg");
+		return new Target(storedName, source, targetWidth, targetQuality, png, name, immutable);
+	}
+
+	// 축소본이 없으면 만들고 파일 경로를 반환. 워커가 모두 바쁘면 RejectedExecutionException
+	public Variant resize(Target target) throws IOException, TimeoutException {
+		Path file = cacheDir.resolve(target.name());
+		for (int attempt = 0; attempt < 2; attempt++) {
+			if (touch(target.name())) {
+				if (Files.isRegularFile(file)) {
+					return new Variant(file, target.contentType(), target.etag(), target.immutable());
+				}
+				forget(target.name()); // 확인 직전에 밀려남. 다시 만듦
+			}
+			if (!awaitResize(target.name(), target.source(), target.width(), target.quality(), target.png())) {
+				return null;
+			}
+		}
+		return new Variant(file, target.contentType(), target.etag(), target.immutable());
+	}
+
+	// 같은 축소본을 만드는 중이면 그 결과를 기다림. 축소하지 않는 경우 false
+	private boolean awaitResize(String name, Path source, int width, int quality, boolean png)
+			throws IOException, TimeoutException {
+		CompletableFuture<Boolean> created = new CompletableFuture<>();
+		CompletableFuture<Boolean> running = resizing.putIfAbsent(name, created);
+		if (running == null) {
+			running = created;
+			try {
+				executor.execute(() -> {
+					try {
+						created.complete(write(name, source, width, quality, png));
+					} catch (Throwable e) {
+						created.completeExceptionally(e);
+					} finally {
+						resizing.remove(name, created);
+					}
+				});
+			} catch (RuntimeException e) { // RejectedExecutionException: 대기 중인 축소가 가득 참
+				resizing.remove(name, created);
+				created.completeExceptionally(e);
+				throw e;
+			}
+		}
+		try {
+			return running.get(timeoutSeconds, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("이미지 축소 대기 중 중단되었습니다.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IOException("이미지 축소 실패", e.getCause());
+		}
+	}
+
+	private boolean write(String name, Path source, int width, int quality, boolean png) throws IOException {
+		BufferedImage resized = read(source, width);
+		if (resized == null) {
+			return false;
+		}
+		Path temp = cacheDir.resolve(name + TEMP_SUFFIX);
+		try {
+			if (png) {
+				ImageIO.write(resized, "png", temp.toFile());
+			} else {
+				writeJpeg(resized, quality, temp);
+			}
+			move(temp, cacheDir.resolve(name));
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+		add(name, Files.size(cacheDir.resolve(name)));
+		return true;
+	}
+
+	// 목표 너비의 2 배 정도까지는 읽을 때 건너뛰며(subsampling) 읽어서 큰 원본도 메모리를 적게 씀
+	private BufferedImage read(Path source, int width) throws IOException {
+		try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+			Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+			if (readers == null || !readers.hasNext()) {
+				return null;
+			}
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(in, true, true);
+				int sourceWidth = reader.getWidth(0);
+				int sourceHeight = reader.getHeight(0);
+				if (sourceWidth <= width || (long) sourceWidth * sourceHeight > maxSourcePixels) {
+					return null;
+				}
+				ImageReadParam param = reader.getDefaultReadParam();
+				int step = Math.max(1, sourceWidth / (width * 2));
+				param.setSourceSubsampling(step, step, 0, 0);
+				BufferedImage decoded = reader.read(0, param);
+				int height = Math.max(1, (int) Math.round((double) sourceHeight * width / sourceWidth));
+				return scale(decoded, width, height);
+			} finally {
+				reader.dispose();
+			}
+		} catch (IIOException e) {
+			log.warn("이미지 축소 불가, 원본 사용: {} ({})", source.getFileName(), e.getMessage());
+			return null;
+		}
+	}
+
+	// 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄이다가 마지막에 목표 크기로
+	private static BufferedImage scale(BufferedImage image, int width, int height) {
+		int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+		BufferedImage current = image;
+		int currentWidth = image.getWidth();
+		int currentHeight = image.getHeight();
+		do {
+			currentWidth = Math.max(width, currentWidth / 2);
+			currentHeight = Math.max(height, currentHeight / 2);
+			BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+			Graphics2D g = next.createGraphics();
+			try {
+				g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+				g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+			} finally {
+				g.dispose();
+			}
+			current = next;
+		} while (currentWidth != width || currentHeight != height);
+		return current;
+	}
+
+	private static void writeJpeg(BufferedImage image, int quality, Path target) throws IOException {
+		BufferedImage rgb = image;
+		if (image.getType() != BufferedImage.TYPE_INT_RGB) { // JPEG 은 투명도가 없으므로 흰 배경에
+			rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+			Graphics2D g = rgb.createGraphics();
+			try {
+				g.drawImage(image, 0, 0, Color.WHITE, null);
+			} finally {
+				g.dispose();
+			}
+		}
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+		try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(quality / 100f);
+			writer.setOutput(out);
+			writer.write(null, new IIOImage(rgb, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+	}
+
+	// 요청 너비 이상인 가장 작은 단계 (가장 큰 단계보다 크면 가장 큰 단계)
+	private int snapWidth(int width) {
+		for (int step : widths) {
+			if (step >= width) {
+				return step;
+			}
+		}
+		return widths[widths.length - 1];
+	}
+
+	private static int snapQuality(int quality) {
+		int clamped = Math.max(MIN_QUALITY, Math.min(MAX_QUALITY, quality));
+		return Math.round(clamped / 5f) * 5;
+	}
+
+	// 내용 해시 이름은 해시를 그대로, 아니면 이름 + 크기 + 수정 시각으로 (같은 이름에 다른 파일이 오면 다른 축소본)
+	private static String variantKey(String storedName, Path source, boolean contentAddressed) throws IOException {
+		String fileName = source.getFileName().toString();
+		if (contentAddressed) {
+			int dot = fileName.lastIndexOf('.');
+			return dot > 0 ? fileName.substring(0, dot) : fileName;
+		}
+		BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+		String identity = storedName + "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis();
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest, 0, 20);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static boolean isPng(String storedName) {
+		String lower = storedName.toLowerCase(Locale.ROOT);
+		return lower.endsWith(".png") || lower.endsWith(".gif"); // 투명도 유지
+	}
+
+	// 기동 시 남아 있는 축소본을 수정 시각 순으로 등록 (만들다 만 임시 파일은 삭제)
+	private void loadCached() throws IOException {
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> dir = Files.newDirectoryStream(cacheDir)) {
+			for (Path file : dir) {
+				if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+					Files.deleteIfExists(file);
+				} else if (Files.isRegularFile(file)) {
+					files.add(file);
+				}
+			}
+		}
+		files.sort(Comparator.comparingLong(ImageResizeService::lastModified));
+		for (Path file : files) {
+			add(file.getFileName().toString(), Files.size(file));
+		}
+		log.info("이미지 축소본 캐시: {}개, {}KB", files.size(), cachedBytes / 1024);
+	}
+
+	// 있으면 가장 최근에 쓴 것으로 표시
+	private synchronized boolean touch(String name) {
+		return cached.get(name) != null;
+	}
+
+	private synchronized void forget(String name) {
+		Long size = cached.remove(name);
+		if (size != null) {
+			cachedBytes -= size;
+		}
+	}
+
+	// 전체 크기가 넘으면 가장 오래 안 쓴 축소본부터 삭제 (방금 넣은 것은 남김)
+	private synchronized void add(String name, long size) {
+		Long previous = cached.put(name, size);
+		cachedBytes += size - (previous == null ? 0 : previous);
+		long maxBytes = cacheMaxMb * 1024 * 1024;
+		Iterator<Map.Entry<String, Long>> eldest = cached.entrySet().iterator();
+		while (cachedBytes > maxBytes && cached.size() > 1 && eldest.hasNext()) {
+			Map.Entry<String, Long> entry = eldest.next();
+			if (entry.getKey().equals(name)) {
+				continue;
+			}
+			try {
+				Files.deleteIfExists(cacheDir.resolve(entry.getKey()));
+			} catch (IOException e) {
+				log.warn("이미지 축소본 삭제 실패: {} ({})", entry.getKey(), e.getMessage());
+			}
+			cachedBytes -= entry.getValue();
+			eldest.remove();
+		}
+	}
+
+	private static long lastModified(Path file) {
+		try {
+			return Files.getLastModifiedTime(file).toMillis();
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.ssafy.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ssafy.dto.media.MediaJobDto;
+import com.ssafy.repository.MediaJobRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 업로드 후처리 작업 큐 (media_job 테이블)
+// 업로드 요청은 enqueue 만 하고 바로 응답, 실제 처리는 MediaJobWorker 가 가져가서 함
+// 실패하면 지수 백오프로 다시 PENDING, max-attempts 를 넘으면 FAILED (클라이언트는 상태 조회 API 로 확인)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaJobService {
+	private static final int MAX_ERROR_LENGTH = 500;
+
+	public enum JobType {
+		SHORTFORM_VIDEO, // 업로드된 숏폼 영상 faststart + 중복 제거 저장 + 메타데이터
+		BOARD_IMAGES,    // 게시글 이미지 중복 제거 저장 + 본문 URL 교체
+		HLS_PACKAGE      // 숏폼 영상 HLS 패키징
+	}
+
+	public enum JobStatus {
+		PENDING, RUNNING, DONE, FAILED
+	}
+
+	private final MediaJobRepository jobRepo;
+
+	@Value("${media.job.max-attempts}")
+	private int maxAttempts;
+
+	@Value("${media.job.backoff-seconds}")
+	private long backoffSeconds;
+
+	@Value("${media.job.max-backoff-seconds}")
+	private long maxBackoffSeconds;
+
+	// 작업 추가 후 id 반환 (호출한 쪽 트랜잭션에 같이 묶임)
+	public long enqueue(JobType type, Object targetId, String fileName) throws Exception {
+		MediaJobDto job = new MediaJobDto();
+		job.setJobType(type.name());
+		job.setTargetId(String.valueOf(targetId));
+		job.setFileName(fileName);
+		jobRepo.insertJob(job);
+		log.debug("후처리 작업 추가: id={}, type={}, target={}", job.getId(), type, targetId);
+		return job.getId();
+	}
+
+	public MediaJobDto findJob(long id) throws Exception {
+		return jobRepo.findJob(id);
+	}
+
+	// 실행할 작업을 최대 limit 개 가져가서 RUNNING 으로 바꿈 (잠금은 이 트랜잭션이 끝나면 풀림)
+	// 가져갈 때마다 새 토큰을 붙이고, 결과는 그 토큰으로만 기록
+	@Transactional
+	public List<MediaJobDto> claim(int limit) throws Exception {
+		List<MediaJobDto> jobs = jobRepo.findRunnableJobsForUpdate(limit);
+		if (!jobs.isEmpty()) {
+			String lockToken = UUID.randomUUID().toString();
+			jobRepo.markJobsRunning(jobs.stream().map(MediaJobDto::getId).toList(), lockToken);
+			jobs.forEach(job -> {
+				job.setAttempts(job.getAttempts() + 1);
+				job.setLockToken(lockToken);
+			});
+		}
+		return jobs;
+	}
+
+	public void complete(MediaJobDto job) throws Exception {
+		if (jobRepo.completeJob(job.getId(), job.getLockToken()) == 0) {
+			logLostLease(job);
+		}
+	}
+
+	// 재시도 간격: backoff-seconds x 2^(시도 횟수 - 1), 최대 max-backoff-seconds
+	public void fail(MediaJobDto job, Exception cause) throws Exception {
+		String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+		if (error.length() > MAX_ERROR_LENGTH) {
+			error = error.substring(0, MAX_ERROR_LENGTH);
+		}
+		if (job.getAttempts() >= maxAttempts) {
+			if (jobRepo.failJob(job.getId(), job.getLockToken(), error) == 0) {
+				logLostLease(job);
+				return;
+			}
+			log.error("후처리 작업 최종 실패: id={}, type={}, target={}, {}", job.getId(), job.getJobType(), job.getTargetId(), error);
+			return;
+		}
+		long delay = Math.min(maxBackoffSeconds, backoffSeconds << Math.min(job.getAttempts() - 1, 20));
+		if (jobRepo.retryJob(job.getId(), job.getLockToken(), delay, error) == 0) {
+			logLostLease(job);
+			return;
+		}
+		log.warn("후처리 작업 실패, {}초 후 재시도 ({}/{}): id={}, {}", delay, job.getAttempts(), maxAttempts, job.getId(), error);
+	}
+
+	// 처리 중인 작업의 잠금 시각 연장 (stale-minutes 보다 자주 호출). 이미 다시 가져가진 작업은 건너뜀
+	public void renewLeases(Collection<MediaJobDto> jobs) throws Exception {
+		for (MediaJobDto job : jobs) {
+			jobRepo.renewJobLease(job.getId(), job.getLockToken());
+		}
+	}
+
+	// 연장 없이 staleMinutes 가 지난 작업을 다시 PENDING 으로 (시도 횟수를 다 썼으면 FAILED)
+	public int requeueStale(long staleMinutes) throws Exception {
+		int failed = jobRepo.failStaleJobs(staleMinutes, maxAttempts);
+		if (failed > 0) {
+			log.error("응답 없는 후처리 작업 {}건 최종 실패 처리", failed);
+		}
+		return jobRepo.requeueStaleJobs(staleMinutes, maxAttempts);
+	}
+
+	public int deleteFinished(long retentionDays) throws Exception {
+		return jobRepo.deleteFinishedJobs(retentionDays);
+	}
+
+	public int enqueueMissingHlsJobs() throws Exception {
+		return jobRepo.insertMissingHlsJobs();
+	}
+
+	// 처리하는 사이 만료되어 다른 워커가 다시 가져간 작업. 그쪽 결과를 덮어쓰지 않도록 기록하지 않음
+	private void logLostLease(MediaJobDto job) {
+		log.warn("후처리 작업 결과 무시 (잠금 만료 후 다시 가져가짐): id={}, type={}, target={}", job.getId(), job.getJobType(),
+				job.getTargetId());
+	}
+}
@@ -0,0 +1,130 @@
+package com.ssafy.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.dto.media.MediaJobDto;
+import com.ssafy.service.MediaJobService.JobType;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 업로드 후처리 작업 실행기
+// poll-interval-ms 마다 비어 있는 워커 수만큼만 작업을 가져가므로, 밀린 작업은 DB 에 남고 메모리 대기열은 커지지 않음
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaJobWorker {
+	private final MediaJobService jobService;
+	private final ShortformService shortformService;
+	private final BoardService boardService;
+	private final ShortformHlsPackager hlsPackager;
+
+	@Value("${media.job.workers}")
+	private int workers;
+
+	@Value("${media.job.stale-minutes}")
+	private long staleMinutes;
+
+	@Value("${media.job.retention-days}")
+	private long retentionDays;
+
+	@Value("${media.job.maintenance-interval-ms}")
+	private long maintenanceIntervalMs;
+
+	private ThreadPoolExecutor executor;
+	private Semaphore idle; // 비어 있는 워커 수
+	private final Set<MediaJobDto> running = ConcurrentHashMap.newKeySet(); // 잠금을 연장할 작업
+	private volatile long lastMaintenance;
+
+	@PostConstruct
+	public void init() {
+		executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(workers));
+		idle = new Semaphore(workers);
+	}
+
+	// 처리 중이던 작업은 RUNNING 으로 남고, stale-minutes 가 지나면 다른 서버(또는 재기동 후)가 다시 가져감
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@Scheduled(fixedDelayString = "${media.job.poll-interval-ms}")
+	public void poll() {
+		try {
+			maintain();
+			int free = idle.availablePermits();
+			if (free == 0) {
+				return;
+			}
+			List<MediaJobDto> jobs = jobService.claim(free);
+			for (MediaJobDto job : jobs) {
+				idle.acquireUninterruptibly();
+				try {
+					executor.execute(() -> {
+						try {
+							run(job);
+						} finally {
+							idle.release();
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					idle.release(); // 종료 중. 작업은 RUNNING 으로 남았다가 다시 PENDING 이 됨
+				}
+			}
+		} catch (Exception e) {
+			log.warn("후처리 작업 가져오기 실패: {}", e.getMessage());
+		}
+	}
+
+	private void run(MediaJobDto job) {
+		long start = System.currentTimeMillis();
+		running.add(job);
+		try {
+			switch (JobType.valueOf(job.getJobType())) {
+				case SHORTFORM_VIDEO -> shortformService.processPendingVideo(Integer.parseInt(job.getTargetId()), job.getFileName());
+				case BOARD_IMAGES -> boardService.processPendingImages(job.getTargetId());
+				case HLS_PACKAGE -> hlsPackager.packageAndRecord(Integer.parseInt(job.getTargetId()), job.getFileName());
+			}
+			jobService.complete(job);
+			log.info("후처리 작업 완료: id={}, type={}, target={}, {}ms", job.getId(), job.getJobType(), job.getTargetId(),
+					System.currentTimeMillis() - start);
+		} catch (Exception e) {
+			try {
+				jobService.fail(job, e);
+			} catch (Exception ex) {
+				log.error("후처리 작업 상태 기록 실패: id={}, {}", job.getId(), ex.getMessage());
+			}
+		} finally {
+			running.remove(job);
+		}
+	}
+
+	// 처리 중인 작업 잠금 연장 + 멈춘 작업 되살리기 + 끝난 작업 정리 (maintenance-interval-ms 마다)
+	private void maintain() throws Exception {
+		long now = System.currentTimeMillis();
+		if (now - lastMaintenance < maintenanceIntervalMs) {
+			return;
+		}
+		lastMaintenance = now;
+		jobService.renewLeases(List.copyOf(running));
+		int requeued = jobService.requeueStale(staleMinutes);
+		int deleted = jobService.deleteFinished(retentionDays);
+		if (requeued > 0 || deleted > 0) {
+			log.info("후처리 작업 정리: 재시도 {}건, 삭제 {}건", requeued, deleted);
+		}
+	}
+}
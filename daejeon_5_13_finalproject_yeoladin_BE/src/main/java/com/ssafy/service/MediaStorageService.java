@@ -0,0 +1,410 @@
+package com.ssafy.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ssafy.dto.media.MediaFileDto;
+import com.ssafy.dto.media.MediaStorageReportDto;
+import com.ssafy.dto.media.MediaUsageDto;
+import com.ssafy.repository.MediaRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 업로드 파일 중복 제거 저장소
+// 업로드를 디스크에 쓰면서 SHA-256 을 같이 계산하고, 같은 내용은 "<해시>.<확장자>" 파일 하나만 두고 참조 수(ref_count)로 공유한다.
+// 삭제 시 참조 수를 줄이고 0 이 되었을 때만 실제 파일을 지움.
+// 같은 해시에 대한 저장 / 삭제는 해시별 락으로 직렬화 (서버 한 대 기준)
+// 영상은 저장 전에 faststart(moov 를 앞으로) 로 바꾼 결과를 기준으로 해시하므로, 같은 원본은 같은 파일이 됨
+// 업로드 요청에서는 storePending 으로 "pending-<UUID>.<확장자>" 에 옮겨두기만 하고, 해시 / faststart 는 후처리 작업(commitPending)에서 함
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaStorageService {
+	private static final String IMAGE_CAS_DIR = "cas";
+	private static final String HLS_DIR = "hls";
+	private static final String PENDING_PREFIX = "pending-";
+	private static final Pattern CAS_NAME = Pattern.compile("(?:" + IMAGE_CAS_DIR + "/)?([0-9a-f]{64})(?:\\.[a-z0-9]+)?");
+	private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+	private static final int LOCK_STRIPES = 64;
+
+	public enum MediaKind {
+		VIDEO, IMAGE
+	}
+
+	private final MediaRepository mediaRepo;
+	private final Object[] locks = newLocks();
+
+	@Value("${file.upload-dir}")
+	private String videoDir;
+
+	@Value("${spring.servlet.multipart.location}")
+	private String imageDir;
+
+	// 멀티파트 업로드를 해시하면서 임시 파일에 쓰고, 저장된 이름 반환 (VIDEO: 업로드 폴더 기준, IMAGE: 이미지 폴더 기준)
+	public String store(MediaKind kind, MultipartFile file) throws IOException {
+		Path dir = casDir(kind);
+		Files.createDirectories(dir);
+		Path temp = Files.createTempFile(dir, ".upload-", ".tmp");
+		try {
+			MessageDigest digest = sha256();
+			long size;
+			try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+					OutputStream out = Files.newOutputStream(temp)) {
+				size = in.transferTo(out);
+			}
+			String hash = HexFormat.of().formatHex(digest.digest());
+			if (kind == MediaKind.VIDEO) {
+				hash = faststart(temp, hash);
+			}
+			return commit(kind, temp, hash, size, extensionOf(file.getOriginalFilename()));
+		} finally {
+			Files.deleteIfExists(temp); // 중복이었거나 실패한 경우
+		}
+	}
+
+	// ⭐ 추가: 해시 없이 처리 대기 이름으로만 저장 (업로드 요청 스레드용). 처리 전에도 이 이름으로 서빙됨
+	public String storePending(MediaKind kind, MultipartFile file) throws IOException {
+		Path dir = root(kind);
+		Files.createDirectories(dir);
+		String pendingName = pendingName(file.getOriginalFilename());
+		Path target = resolve(kind, pendingName);
+		file.transferTo(target); // 멀티파트 임시 파일이 같은 파일시스템이면 이동만 함
+		return pendingName;
+	}
+
+	// ⭐ 추가: 이미 디스크에 있는 파일(이어올리기 완료)을 처리 대기 이름으로 옮김
+	public String storePendingFile(MediaKind kind, Path source, String originalFilename) throws IOException {
+		Files.createDirectories(root(kind));
+		String pendingName = pendingName(originalFilename);
+		move(source, resolve(kind, pendingName));
+		return pendingName;
+	}
+
+	public boolean isPending(String storedName) {
+		return storedName != null && storedName.startsWith(PENDING_PREFIX);
+	}
+
+	// ⭐ 추가: 처리 대기 파일을 중복 제거 저장소에 넣고 저장 이름 반환 (후처리 작업용)
+	// 대기 파일은 그대로 두므로, DB 반영이 실패해도 재시도할 수 있음 (반영 후 release 로 지움)
+	public String commitPending(MediaKind kind, String pendingName) throws IOException {
+		Path pending = resolve(kind, pendingName);
+		Path dir = casDir(kind);
+		Files.createDirectories(dir);
+		Path link = dir.resolve(".job-" + UUID.randomUUID() + ".tmp");
+		try {
+			Files.createLink(link, pending); // 같은 파일시스템이면 복사 없이
+		} catch (UnsupportedOperationException | IOException e) {
+			Files.copy(pending, link, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return storeFile(kind, link, pendingName);
+	}
+
+	// 이미 디스크에 있는 파일(이어올리기 완료 등)을 저장소로 옮김. 같은 파일시스템이면 복사 없이 이동
+	public String storeFile(MediaKind kind, Path source, String originalFilename) throws IOException {
+		MessageDigest digest = sha256();
+		long size;
+		try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+			size = in.transferTo(OutputStream.nullOutputStream());
+		}
+		try {
+			String hash = HexFormat.of().formatHex(digest.digest());
+			if (kind == MediaKind.VIDEO) {
+				hash = faststart(source, hash);
+			}
+			return commit(kind, source, hash, size, extensionOf(originalFilename));
+		} finally {
+			Files.deleteIfExists(source);
+		}
+	}
+
+	// ⭐ 추가: 저장하지 않고 내용 해시만 계산 (게시글 수정 시 이미 있는 이미지인지 비교용)
+	public String contentHash(MultipartFile file) throws IOException {
+		MessageDigest digest = sha256();
+		try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+			in.transferTo(OutputStream.nullOutputStream());
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	// ⭐ 추가: 저장된 파일의 내용 해시. 중복 제거 저장소 이름이면 이름에서 바로, 처리 대기 / 도입 전 파일은 읽어서 (없으면 null)
+	// 영상은 faststart 후 내용 기준이라 원본 업로드와 비교할 수 없으므로 이미지에만 사용
+	public String contentHash(MediaKind kind, String storedName) throws IOException {
+		Matcher matcher = CAS_NAME.matcher(storedName);
+		if (matcher.matches()) {
+			return matcher.group(1);
+		}
+		Path file = resolve(kind, storedName);
+		if (!Files.exists(file)) {
+			return null;
+		}
+		MessageDigest digest = sha256();
+		try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+			in.transferTo(OutputStream.nullOutputStream());
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	// 참조 하나 해제. 마지막 참조였거나 중복 제거 도입 전 파일이면 디스크에서도 삭제
+	public void release(MediaKind kind, String storedName) {
+		if (storedName == null || storedName.isEmpty()) {
+			return;
+		}
+		try {
+			Path file = resolve(kind, storedName);
+			Matcher matcher = CAS_NAME.matcher(storedName);
+			if (!matcher.matches()) {
+				Files.deleteIfExists(file); // 도입 전 UUID 이름 파일 (공유되지 않음)
+				if (kind == MediaKind.VIDEO) {
+					deleteTree(hlsDir(storedName));
+				}
+				return;
+			}
+			String hash = matcher.group(1);
+			synchronized (lockFor(hash)) {
+				if (mediaRepo.decrementMediaRef(kind.name(), hash) == 0
+						|| mediaRepo.deleteMediaFileIfUnreferenced(kind.name(), hash) > 0) {
+					Files.deleteIfExists(file);
+					if (kind == MediaKind.VIDEO) {
+						deleteTree(hlsDir(storedName)); // 패키징된 HLS 세그먼트도 같이
+					}
+					log.info("미디어 파일 삭제: {}", storedName);
+				}
+			}
+		} catch (Exception e) {
+			// 파일 정리 실패가 게시글 / 숏폼 삭제를 막지는 않음
+			log.error("미디어 파일 참조 해제 실패: kind={}, name={}, {}", kind, storedName, e.getMessage(), e);
+		}
+	}
+
+	// 저장된 영상의 재생 시간 / 해상도 / 코덱 (MP4 가 아니면 null)
+	public Mp4Faststart.Mp4Info videoInfo(String storedName) {
+		if (storedName == null || storedName.isEmpty()) {
+			return null;
+		}
+		try {
+			return Mp4Faststart.inspect(resolve(MediaKind.VIDEO, storedName));
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	// 저장된 영상 파일 경로
+	public Path videoPath(String storedName) throws IOException {
+		return resolve(MediaKind.VIDEO, storedName);
+	}
+
+	// 저장된 이미지 파일 경로 (이미지 폴더 밖은 IOException)
+	public Path imagePath(String storedName) throws IOException {
+		return resolve(MediaKind.IMAGE, storedName);
+	}
+
+	// 내용 해시 이름(cas/<해시>.<확장자>)이면 같은 이름의 내용이 바뀌지 않음
+	public boolean isContentAddressed(String storedName) {
+		return storedName != null && storedName.startsWith(IMAGE_CAS_DIR + "/") && CAS_NAME.matcher(storedName).matches();
+	}
+
+	// 저장된 영상의 HLS 출력 폴더 (<업로드 폴더>/hls/<확장자를 뺀 저장 이름>). 같은 내용의 영상은 폴더도 공유
+	public Path hlsDir(String storedName) throws IOException {
+		Path name = Paths.get(storedName).getFileName();
+		String base = name == null ? "" : name.toString();
+		if (base.lastIndexOf('.') > 0) {
+			base = base.substring(0, base.lastIndexOf('.'));
+		}
+		Path hlsRoot = root(MediaKind.VIDEO).resolve(HLS_DIR);
+		Path dir = hlsRoot.resolve(base).normalize();
+		if (base.isEmpty() || base.startsWith(".") || !hlsRoot.equals(dir.getParent())) {
+			throw new IOException("잘못된 파일 경로입니다: " + storedName); // hls 폴더 바로 아래만 허용
+		}
+		return dir;
+	}
+
+	// 종류별 절약 용량. scan 이면 도입 전 파일을 해시해서 합쳤을 때 줄어들 용량도 계산 (파일 수만큼 디스크를 읽음)
+	public MediaStorageReportDto report(boolean scan) throws Exception {
+		List<MediaUsageDto> usage = mediaRepo.findMediaUsage();
+		long saved = usage.stream().mapToLong(MediaUsageDto::getSavedBytes).sum();
+		MediaStorageReportDto report = new MediaStorageReportDto(usage, saved, null, null, null);
+		if (scan) {
+			long[] totals = new long[3]; // 파일 수, 용량, 중복 용량
+			for (MediaKind kind : MediaKind.values()) {
+				scanLegacy(kind, totals);
+			}
+			report.setLegacyFiles(totals[0]);
+			report.setLegacyBytes(totals[1]);
+			report.setLegacyDuplicateBytes(totals[2]);
+		}
+		return report;
+	}
+
+	private String commit(MediaKind kind, Path temp, String hash, long size, String extension) throws IOException {
+		synchronized (lockFor(hash)) {
+			try {
+				MediaFileDto existing = mediaRepo.findMediaFile(kind.name(), hash);
+				if (existing != null) {
+					Path target = resolve(kind, existing.getStoredName());
+					if (!Files.exists(target)) { // 디스크에서 지워졌으면 이번 업로드로 복구
+						move(temp, target);
+					}
+					mediaRepo.incrementMediaRef(kind.name(), hash);
+					log.info("중복 업로드 재사용: {} ({} bytes)", existing.getStoredName(), size);
+					return existing.getStoredName();
+				}
+
+				String fileName = extension.isEmpty() ? hash : hash + "." + extension;
+				String storedName = kind == MediaKind.IMAGE ? IMAGE_CAS_DIR + "/" + fileName : fileName;
+				Path target = resolve(kind, storedName);
+				move(temp, target);
+				try {
+					mediaRepo.insertMediaFile(new MediaFileDto(kind.name(), hash, storedName, size, 1));
+				} catch (Exception e) {
+					Files.deleteIfExists(target);
+					throw e;
+				}
+				return storedName;
+			} catch (IOException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IOException("미디어 파일 등록 실패: " + e.getMessage(), e);
+			}
+		}
+	}
+
+	// moov 가 뒤에 있는 MP4 면 같은 폴더의 임시 파일에 앞으로 옮겨 쓰고 원래 파일과 바꿈. 바뀐 내용의 해시 반환
+	// MP4 가 아니거나 이미 faststart 면 그대로 (크기는 바뀌지 않음)
+	private String faststart(Path file, String hash) throws IOException {
+		Path rewritten = Files.createTempFile(file.getParent(), ".faststart-", ".tmp");
+		try {
+			MessageDigest digest = sha256();
+			if (!Mp4Faststart.faststart(file, rewritten, digest)) {
+				return hash;
+			}
+			move(rewritten, file);
+			return HexFormat.of().formatHex(digest.digest());
+		} finally {
+			Files.deleteIfExists(rewritten);
+		}
+	}
+
+	private void scanLegacy(MediaKind kind, long[] totals) throws IOException {
+		Path root = root(kind);
+		if (!Files.isDirectory(root)) {
+			return;
+		}
+		Map<String, Long> sizes = new HashMap<>();
+		try (Stream<Path> files = kind == MediaKind.VIDEO ? Files.list(root) : Files.walk(root)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				String relative = root.relativize(file).toString().replace('\\', '/');
+				if (!Files.isRegularFile(file) || relative.startsWith(".") || file.getFileName().toString().startsWith(".")
+						|| relative.startsWith(IMAGE_CAS_DIR + "/") || CAS_NAME.matcher(relative).matches()) {
+					continue; // 임시 파일, 이어올리기 폴더, 이미 중복 제거된 파일
+				}
+				if (file.getFileName().toString().startsWith(PENDING_PREFIX)) {
+					continue; // 후처리 대기 중인 업로드
+				}
+				MessageDigest digest = sha256();
+				long size;
+				try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+					size = in.transferTo(OutputStream.nullOutputStream());
+				}
+				totals[0]++;
+				totals[1] += size;
+				if (sizes.putIfAbsent(HexFormat.of().formatHex(digest.digest()), size) != null) {
+					totals[2] += size;
+				}
+			}
+		}
+	}
+
+	private Path root(MediaKind kind) {
+		return Paths.get(kind == MediaKind.VIDEO ? videoDir : imageDir).toAbsolutePath().normalize();
+	}
+
+	private Path casDir(MediaKind kind) {
+		return kind == MediaKind.IMAGE ? root(kind).resolve(IMAGE_CAS_DIR) : root(kind);
+	}
+
+	private Path resolve(MediaKind kind, String storedName) throws IOException {
+		Path root = root(kind);
+		Path file = root.resolve(storedName).normalize();
+		if (!file.startsWith(root)) {
+			throw new IOException("잘못된 파일 경로입니다: " + storedName);
+		}
+		return file;
+	}
+
+	static void deleteTree(Path dir) throws IOException {
+		if (!Files.exists(dir)) {
+			return;
+		}
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private Object lockFor(String hash) {
+		return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+	}
+
+	private static Object[] newLocks() {
+		Object[] locks = new Object[LOCK_STRIPES];
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = new Object();
+		}
+		return locks;
+	}
+
+	private static String pendingName(String originalFilename) {
+		String extension = extensionOf(originalFilename);
+		String name = PENDING_PREFIX + UUID.randomUUID();
+		return extension.isEmpty() ? name : name + "." + extension;
+	}
+
+	private static String extensionOf(String filename) {
+		if (filename == null || !filename.contains(".")) {
+			return "";
+		}
+		String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+		return EXTENSION.matcher(extension).matches() ? extension : "";
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
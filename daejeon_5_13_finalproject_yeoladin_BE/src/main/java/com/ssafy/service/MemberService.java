@@ -5,18 +5,30 @@ import java.util.Optional;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.ssafy.dto.MemberDto;
 import com.ssafy.dto.OAuth2MemberDto;
+import com.ssafy.repository.BoardRepository;
 import com.ssafy.repository.MemberRepository;
+import com.ssafy.security.jwt.RevokedMemberRegistry;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MemberService {
 	private final MemberRepository memberRepo;
 	private final PasswordEncoder passwordEncoder;
+	private final BoardSearchIndex boardSearchIndex;
+	private final BoardCounter boardCounter;
+	private final BoardService boardService;
+	private final BoardRepository boardRepo;
+	private final RevokedMemberRegistry revokedMembers;
 
 	// 일반 유저
 	public int insertMember(MemberDto member) throws Exception {
@@ -43,15 +55,76 @@ public class MemberService {
 			// 비밀번호 변경 요청이 없으면 기존 비밀번호 유지를 위해 pw 필드를 null로 설정 (Mapper에서 조건 처리)
 			member.setPw(null);
 		}
-		return memberRepo.updateMember(member);
+		int cnt = memberRepo.updateMember(member);
+		// ⭐ 추가: 이름이 바뀌면 게시글 작성자 검색 색인도 갱신
+		if (cnt > 0 && member.getName() != null && !member.getName().isEmpty()) {
+			MemberDto updated = findForBoardIndex(member.getEmail());
+			if (updated != null) {
+				boardSearchIndex.onMemberRenamed(updated.getId(), updated.getName());
+				boardCounter.onMemberChanged(); // 작성자 검색 개수
+				boardService.onMemberChanged(); // 캐시한 상세 / 목록의 작성자 이름
+			}
+		}
+		return cnt;
 	}
 
+	@Transactional // 댓글 수 보정과 회원 삭제를 같이 반영
 	public int deleteMember(String id) throws Exception {
+		MemberDto member = findForBoardIndex(id); // id 는 email
+		// 일반 회원만 삭제되므로 (deleteMember SQL) 그때만 보정
+		Long memberId = member != null && "LOCAL".equals(member.getProvider()) ? member.getId().longValue() : null;
+		return deleteWithCleanup(memberId, id, () -> memberRepo.deleteMember(id));
+	}
 
-		int cnt = memberRepo.deleteMember(id);
+	@FunctionalInterface
+	private interface MemberDelete {
+		int run() throws Exception;
+	}
+
+	// ⭐ 추가: 회원 삭제 공통 처리 (일반 / OAuth2 는 삭제 조건만 다름)
+	// 회원 댓글 / 게시글은 FK CASCADE 로 지워지므로 다른 회원 게시글의 comment_count 를 먼저 줄이고,
+	// 검색 색인 / 게시글 개수 / 게시글 캐시는 커밋된 뒤에 반영 (각 메서드가 커밋 후로 미룸)
+	// 남아 있는 Access Token 도 커밋된 뒤부터 거절 (JwtAuthenticationFilter)
+	private int deleteWithCleanup(Long memberId, String email, MemberDelete delete) throws Exception {
+		if (memberId != null) {
+			boardRepo.decrementCommentCountsByMember(memberId);
+		}
+		int cnt = delete.run();
+		if (cnt == 0) {
+			if (memberId != null) {
+				TransactionAspectSupport.currentTransactionStatus().setRollbackOnly(); // 삭제되지 않았으면 보정도 되돌림
+			}
+			return cnt;
+		}
+		if (memberId != null) {
+			boardSearchIndex.onMemberDeleted(memberId);
+		}
+		boardCounter.onMemberChanged();
+		boardService.onMemberChanged();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					revokedMembers.revoke(memberId, email);
+				}
+			});
+		} else {
+			revokedMembers.revoke(memberId, email);
+		}
 		return cnt;
 	}
 
+	// 색인 갱신용 회원 id 조회. 실패해도 회원 수정 / 삭제는 그대로 진행 (색인은 다음 기동 때 맞춰짐)
+	private MemberDto findForBoardIndex(String email) {
+		try {
+			MemberDto member = memberRepo.findByEmail(email);
+			return member != null && member.getId() != null ? member : null;
+		} catch (Exception e) {
+			log.warn("게시글 검색 색인 갱신용 회원 조회 실패: {}", e.getMessage());
+			return null;
+		}
+	}
+
 	public MemberDto selectMemberByEmail(String email) throws Exception {
 		return memberRepo.findByEmail(email); // 또는 기존 구현 방식
 	}
@@ -97,8 +170,11 @@ public class MemberService {
 		return memberRepo.updateOAuth2MemberProvider(member);
 	}
 
-	@Transactional
+	@Transactional // ⭐ 수정: 일반 회원 삭제와 같은 정리 (댓글 수 / 검색 색인 / 게시글 개수 / 캐시)
 	public int deleteOAuth2Member(String provider, String providerId) throws Exception { // provider, providerId로 삭제
-		return memberRepo.deleteOAuth2Member(provider, providerId);
+		OAuth2MemberDto member = memberRepo.selectOAuth2MemberByProviderId(provider, providerId).orElse(null);
+		Long memberId = member != null && member.getId() != null ? member.getId().longValue() : null;
+		String email = member != null ? member.getEmail() : null;
+		return deleteWithCleanup(memberId, email, () -> memberRepo.deleteOAuth2Member(provider, providerId));
 	}
 }
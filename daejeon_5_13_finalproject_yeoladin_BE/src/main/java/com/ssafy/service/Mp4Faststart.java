@@ -0,0 +1,319 @@
+package com.ssafy.service;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+// MP4 박스 파서 / faststart 재작성
+// 휴대폰 촬영 영상은 moov(인덱스)가 파일 끝에 있어 브라우저가 거의 다 받아야 재생을 시작함.
+// moov 를 mdat 앞으로 옮기고, 옮긴 만큼 밀리는 청크 오프셋(stco / co64)을 보정한다.
+// moov 만 메모리에 올리고 나머지 박스는 FileChannel 로 그대로 복사.
+@Slf4j
+public final class Mp4Faststart {
+	static final int MAX_MOOV_SIZE = 64 * 1024 * 1024;
+	private static final long COPY_CHUNK = 8 * 1024 * 1024;
+
+	// 재생 시간(ms), 화면 기준 해상도(회전 반영), 코덱 (예: avc1.64001f, hvc1). 알 수 없으면 null
+	public record Mp4Info(Integer durationMs, Integer width, Integer height, String videoCodec) {
+	}
+
+	record Box(String type, long offset, long size, int headerSize) {
+	}
+
+	private Mp4Faststart() {
+	}
+
+	// moov 가 mdat 뒤에 있으면 앞으로 옮긴 파일을 target 에 쓰고 true (digest 는 target 내용으로 갱신)
+	// 이미 faststart 이거나 MP4 가 아니거나 처리할 수 없는 구조(조각 MP4 등)면 false, target 은 건드리지 않음
+	public static boolean faststart(Path source, Path target, MessageDigest digest) throws IOException {
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+			List<Box> boxes = topLevelBoxes(in);
+			Box moov = find(boxes, "moov");
+			Box mdat = find(boxes, "mdat");
+			if (moov == null || mdat == null || moov.offset() < mdat.offset() || find(boxes, "moof") != null
+					|| moov.size() > MAX_MOOV_SIZE) {
+				return false;
+			}
+
+			byte[] moovBytes = read(in, moov.offset(), (int) moov.size());
+			if (moov.headerSize() == 8 && readU32(moovBytes, 0) == 0) {
+				writeU32(moovBytes, 0, moovBytes.length); // "파일 끝까지" 크기는 앞으로 옮기면 의미가 바뀌므로 실제 크기로
+			}
+			// mdat 시작 ~ 기존 moov 위치 사이의 데이터가 moov 크기만큼 뒤로 밀림
+			if (!shiftChunkOffsets(moovBytes, moov.headerSize(), moovBytes.length, mdat.offset(), moov.offset(), moov.size())) {
+				log.warn("faststart 생략 (청크 오프셋이 32비트 범위를 넘거나 moov 구조가 잘못됨): {}", source);
+				return false;
+			}
+
+			try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(target)), digest)) {
+				WritableByteChannel channel = Channels.newChannel(out);
+				for (Box box : boxes) {
+					if (box == moov) {
+						continue;
+					}
+					if (box == mdat) {
+						out.write(moovBytes);
+					}
+					copy(in, box.offset(), box.size(), channel);
+				}
+			}
+			// 재생 시작 전에 받아야 하는 양 (moov 끝까지)
+			log.info("faststart 적용: 재생 전 필요한 바이트 {} -> {}", moov.offset() + moov.size(), mdat.offset() + moov.size());
+			return true;
+		}
+	}
+
+	// MP4 가 아니거나 읽을 수 없으면 null
+	public static Mp4Info inspect(Path file) {
+		try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+			Box moov = find(topLevelBoxes(in), "moov");
+			if (moov == null || moov.size() > MAX_MOOV_SIZE) {
+				return null;
+			}
+			byte[] b = read(in, moov.offset(), (int) moov.size());
+			int[] mvhd = child(b, moov.headerSize(), b.length, "mvhd");
+			Integer durationMs = mvhd != null ? durationMs(b, mvhd[0]) : null;
+
+			for (int[] trak : children(b, moov.headerSize(), b.length, "trak")) {
+				int[] mdia = child(b, trak[0], trak[1], "mdia");
+				int[] hdlr = mdia != null ? child(b, mdia[0], mdia[1], "hdlr") : null;
+				if (hdlr == null || !"vide".equals(fourcc(b, hdlr[0] + 8))) {
+					continue;
+				}
+				int[] minf = child(b, mdia[0], mdia[1], "minf");
+				int[] stbl = minf != null ? child(b, minf[0], minf[1], "stbl") : null;
+				int[] stsd = stbl != null ? child(b, stbl[0], stbl[1], "stsd") : null;
+				String codec = stsd != null ? codec(b, stsd) : null;
+
+				int[] tkhd = child(b, trak[0], trak[1], "tkhd");
+				Integer width = null;
+				Integer height = null;
+				if (tkhd != null) {
+					int base = tkhd[0] + (b[tkhd[0]] == 1 ? 36 : 24) + 16; // 버전별 시간 필드 + reserved/layer/group/volume
+					int matrixA = (int) readU32(b, base);
+					int matrixD = (int) readU32(b, base + 16);
+					width = (int) (readU32(b, base + 36) >>> 16);
+					height = (int) (readU32(b, base + 40) >>> 16);
+					if (matrixA == 0 && matrixD == 0) { // 90 / 270 도 회전 (세로 촬영)
+						Integer swap = width;
+						width = height;
+						height = swap;
+					}
+				}
+				return new Mp4Info(durationMs, width, height, codec);
+			}
+			return new Mp4Info(durationMs, null, null, null);
+		} catch (IOException | RuntimeException e) {
+			log.debug("MP4 정보 읽기 실패: {}, {}", file, e.getMessage());
+			return null;
+		}
+	}
+
+	// 최상위 박스 목록. 첫 박스가 ftyp 가 아니거나 크기가 맞지 않으면 빈 목록
+	static List<Box> topLevelBoxes(FileChannel in) throws IOException {
+		List<Box> boxes = new ArrayList<>();
+		long fileSize = in.size();
+		long position = 0;
+		while (position + 8 <= fileSize) {
+			byte[] header = read(in, position, (int) Math.min(16, fileSize - position));
+			long size = readU32(header, 0);
+			String type = fourcc(header, 4);
+			int headerSize = 8;
+			if (size == 1) {
+				if (header.length < 16) {
+					return List.of();
+				}
+				size = readU64(header, 8);
+				headerSize = 16;
+			} else if (size == 0) {
+				size = fileSize - position;
+			}
+			if (size < headerSize || position + size > fileSize) {
+				return List.of(); // 잘린 파일
+			}
+			boxes.add(new Box(type, position, size, headerSize));
+			position += size;
+		}
+		if (boxes.isEmpty() || !"ftyp".equals(boxes.get(0).type())) {
+			return List.of();
+		}
+		return boxes;
+	}
+
+	// [from, to) 를 가리키는 청크 오프셋에 shift 를 더함. 범위를 넘거나 구조가 잘못되면 false
+	private static boolean shiftChunkOffsets(byte[] b, int start, int end, long from, long to, long shift) {
+		int position = start;
+		while (position + 8 <= end) {
+			long size = readU32(b, position);
+			String type = fourcc(b, position + 4);
+			int headerSize = 8;
+			if (size == 1) {
+				size = readU64(b, position + 8);
+				headerSize = 16;
+			} else if (size == 0) {
+				size = end - position;
+			}
+			if (size < headerSize || position + size > end) {
+				return false;
+			}
+			int content = position + headerSize;
+			int boxEnd = (int) (position + size);
+			switch (type) {
+			case "trak", "mdia", "minf", "stbl" -> {
+				if (!shiftChunkOffsets(b, content, boxEnd, from, to, shift)) {
+					return false;
+				}
+			}
+			case "stco", "co64" -> {
+				int entrySize = "stco".equals(type) ? 4 : 8;
+				long count = readU32(b, content + 4); // version/flags 다음
+				if (content + 8 + count * entrySize > boxEnd) {
+					return false;
+				}
+				for (int i = 0; i < count; i++) {
+					int at = content + 8 + i * entrySize;
+					long offset = entrySize == 4 ? readU32(b, at) : readU64(b, at);
+					if (offset >= from && offset < to) {
+						offset += shift;
+						if (entrySize == 4 && offset > 0xFFFFFFFFL) {
+							return false;
+						}
+					}
+					if (entrySize == 4) {
+						writeU32(b, at, offset);
+					} else {
+						writeU64(b, at, offset);
+					}
+				}
+			}
+			default -> {
+			}
+			}
+			position = boxEnd;
+		}
+		return true;
+	}
+
+	// mvhd: 버전 0 은 32비트, 1 은 64비트 시간 필드
+	private static Integer durationMs(byte[] b, int content) {
+		boolean v1 = b[content] == 1;
+		long timescale = readU32(b, content + (v1 ? 20 : 12));
+		long duration = v1 ? readU64(b, content + 24) : readU32(b, content + 16);
+		if (timescale == 0) {
+			return null;
+		}
+		return (int) Math.min(Integer.MAX_VALUE, duration * 1000 / timescale);
+	}
+
+	// stsd 첫 번째 샘플 엔트리 형식. H.264 는 avcC 의 profile / level 까지 (avc1.PPCCLL)
+	private static String codec(byte[] b, int[] stsd) {
+		int entry = stsd[0] + 8; // version/flags + entry_count
+		if (entry + 8 > stsd[1]) {
+			return null;
+		}
+		String format = fourcc(b, entry + 4);
+		int entryEnd = (int) Math.min(stsd[1], entry + readU32(b, entry));
+		if ("avc1".equals(format) || "avc3".equals(format)) {
+			int[] avcC = child(b, entry + 86, entryEnd, "avcC"); // 8 헤더 + 78 VisualSampleEntry 필드
+			if (avcC != null && avcC[0] + 4 <= avcC[1]) {
+				return String.format("%s.%02x%02x%02x", format, b[avcC[0] + 1], b[avcC[0] + 2], b[avcC[0] + 3]);
+			}
+		}
+		return format;
+	}
+
+	// [start, end) 안의 type 박스 중 첫 번째의 {내용 시작, 끝, 박스 시작}
+	static int[] child(byte[] b, int start, int end, String type) {
+		List<int[]> found = children(b, start, end, type);
+		return found.isEmpty() ? null : found.get(0);
+	}
+
+	// type 이 null 이면 모든 자식 박스
+	static List<int[]> children(byte[] b, int start, int end, String type) {
+		List<int[]> found = new ArrayList<>();
+		int position = start;
+		while (position + 8 <= end) {
+			long size = readU32(b, position);
+			int headerSize = 8;
+			if (size == 1) {
+				size = readU64(b, position + 8);
+				headerSize = 16;
+			} else if (size == 0) {
+				size = end - position;
+			}
+			if (size < headerSize || position + size > end) {
+				break;
+			}
+			if (type == null || type.equals(fourcc(b, position + 4))) {
+				found.add(new int[] { position + headerSize, (int) (position + size), position });
+			}
+			position += (int) size;
+		}
+		return found;
+	}
+
+	static Box find(List<Box> boxes, String type) {
+		for (Box box : boxes) {
+			if (type.equals(box.type())) {
+				return box;
+			}
+		}
+		return null;
+	}
+
+	static void copy(FileChannel in, long position, long count, WritableByteChannel out) throws IOException {
+		long end = position + count;
+		while (position < end) {
+			long transferred = in.transferTo(position, Math.min(COPY_CHUNK, end - position), out);
+			if (transferred <= 0) {
+				throw new EOFException("MP4 복사 중 파일이 짧아졌습니다.");
+			}
+			position += transferred;
+		}
+	}
+
+	static byte[] read(FileChannel in, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (in.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException();
+			}
+		}
+		return buffer.array();
+	}
+
+	static String fourcc(byte[] b, int at) {
+		return new String(b, at, 4, StandardCharsets.ISO_8859_1);
+	}
+
+	static long readU32(byte[] b, int at) {
+		return ByteBuffer.wrap(b, at, 4).getInt() & 0xFFFFFFFFL;
+	}
+
+	static long readU64(byte[] b, int at) {
+		return ByteBuffer.wrap(b, at, 8).getLong();
+	}
+
+	private static void writeU32(byte[] b, int at, long value) {
+		ByteBuffer.wrap(b, at, 4).putInt((int) value);
+	}
+
+	private static void writeU64(byte[] b, int at, long value) {
+		ByteBuffer.wrap(b, at, 8).putLong(value);
+	}
+}
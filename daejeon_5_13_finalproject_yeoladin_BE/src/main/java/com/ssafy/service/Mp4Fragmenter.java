@@ -0,0 +1,448 @@
+package com.ssafy.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import com.ssafy.service.Mp4Faststart.Box;
+
+// 일반 MP4 -> 조각 MP4(fMP4) + HLS 재생목록 리먹싱 (재인코딩 없음)
+// moov 의 샘플 테이블(stsz / stco / stsc / stts / ctts / stss)로 샘플 위치를 계산하고,
+// 영상 키프레임 기준으로 목표 길이마다 잘라 moof + mdat 세그먼트로 다시 씀.
+// 샘플 데이터는 원본에서 FileChannel 로 그대로 복사하므로 메모리에는 샘플 테이블만 올라감.
+// 결과: init.mp4 (초기화 세그먼트), seg0.m4s, seg1.m4s ..., index.m3u8
+public final class Mp4Fragmenter {
+	public static final String PLAYLIST = "index.m3u8";
+	private static final String INIT_SEGMENT = "init.mp4";
+	private static final int SYNC_SAMPLE_FLAGS = 0x02000000;     // 다른 샘플에 의존하지 않음
+	private static final int NON_SYNC_SAMPLE_FLAGS = 0x01010000; // 의존함 + non-sync
+
+	// 세그먼트 수, 처음 재생에 필요한 바이트(init + 첫 세그먼트), 전체 바이트
+	public record Result(int segments, long firstPlayBytes, long totalBytes) {
+	}
+
+	private static final class Track {
+		int[] trak;
+		int trackId;
+		long timescale;
+		boolean video;
+		boolean hasCompositionOffsets;
+		int count;
+		long[] offsets;
+		int[] sizes;
+		int[] durations;
+		int[] compositionOffsets;
+		boolean[] sync;
+		long[] decodeTimes;
+	}
+
+	private Mp4Fragmenter() {
+	}
+
+	// source 를 outDir 에 HLS 로 씀 (outDir 은 비어 있어야 함). MP4 가 아니거나 처리할 수 없는 구조면 null
+	public static Result fragment(Path source, Path outDir, double targetSeconds) throws IOException {
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+			List<Box> boxes = Mp4Faststart.topLevelBoxes(in);
+			Box moov = Mp4Faststart.find(boxes, "moov");
+			if (moov == null || Mp4Faststart.find(boxes, "moof") != null || moov.size() > Mp4Faststart.MAX_MOOV_SIZE) {
+				return null;
+			}
+			byte[] b = Mp4Faststart.read(in, moov.offset(), (int) moov.size());
+			int[] mvhd = Mp4Faststart.child(b, moov.headerSize(), b.length, "mvhd");
+			List<Track> tracks = new ArrayList<>();
+			for (int[] trak : Mp4Faststart.children(b, moov.headerSize(), b.length, "trak")) {
+				Track track = parseTrack(b, trak);
+				if (track != null) {
+					tracks.add(track);
+				}
+			}
+			if (mvhd == null || tracks.isEmpty()) {
+				return null;
+			}
+
+			Files.createDirectories(outDir);
+			long initBytes = writeInit(outDir.resolve(INIT_SEGMENT), b, mvhd, tracks);
+
+			// 기준 트랙(영상)의 키프레임 중 직전 경계에서 targetSeconds 이상 지난 곳에서 자름
+			Track reference = tracks.stream().filter(t -> t.video).findFirst().orElse(tracks.get(0));
+			List<Integer> starts = new ArrayList<>();
+			starts.add(0);
+			long targetTicks = (long) (targetSeconds * reference.timescale);
+			for (int i = 1; i < reference.count; i++) {
+				if (reference.sync[i] && reference.decodeTimes[i] - reference.decodeTimes[starts.get(starts.size() - 1)] >= targetTicks) {
+					starts.add(i);
+				}
+			}
+
+			int[] cursors = new int[tracks.size()];
+			long total = initBytes;
+			long firstPlay = initBytes;
+			double maxDuration = 0;
+			StringBuilder segments = new StringBuilder();
+			for (int k = 0; k < starts.size(); k++) {
+				boolean last = k == starts.size() - 1;
+				long endTime = last ? endTime(reference) : reference.decodeTimes[starts.get(k + 1)];
+				int[][] ranges = new int[tracks.size()][];
+				for (int t = 0; t < tracks.size(); t++) {
+					Track track = tracks.get(t);
+					int from = cursors[t];
+					int to = from;
+					// 기준 트랙의 경계 시각 이전에 디코딩되는 샘플까지 (시간 단위가 달라서 곱해서 비교)
+					while (to < track.count && (last || track.decodeTimes[to] * reference.timescale < endTime * track.timescale)) {
+						to++;
+					}
+					ranges[t] = new int[] { from, to };
+					cursors[t] = to;
+				}
+				String name = "seg" + k + ".m4s";
+				long bytes = writeSegment(in, outDir.resolve(name), k + 1, tracks, ranges);
+				total += bytes;
+				if (k == 0) {
+					firstPlay += bytes;
+				}
+				long startTime = reference.decodeTimes[starts.get(k)];
+				double seconds = (double) (endTime - startTime) / reference.timescale;
+				maxDuration = Math.max(maxDuration, seconds);
+				segments.append(String.format(Locale.ROOT, "#EXTINF:%.3f,\n%s\n", seconds, name));
+			}
+
+			String playlist = "#EXTM3U\n"
+					+ "#EXT-X-VERSION:7\n"
+					+ "#EXT-X-TARGETDURATION:" + (long) Math.ceil(maxDuration) + "\n"
+					+ "#EXT-X-MEDIA-SEQUENCE:0\n"
+					+ "#EXT-X-PLAYLIST-TYPE:VOD\n"
+					+ "#EXT-X-INDEPENDENT-SEGMENTS\n"
+					+ "#EXT-X-MAP:URI=\"" + INIT_SEGMENT + "\"\n"
+					+ segments
+					+ "#EXT-X-ENDLIST\n";
+			Files.writeString(outDir.resolve(PLAYLIST), playlist, StandardCharsets.UTF_8);
+			return new Result(starts.size(), firstPlay, total);
+		}
+	}
+
+	// 영상 / 음성 트랙만 사용. 샘플 테이블이 서로 맞지 않으면 null
+	private static Track parseTrack(byte[] b, int[] trak) {
+		int[] tkhd = Mp4Faststart.child(b, trak[0], trak[1], "tkhd");
+		int[] mdia = Mp4Faststart.child(b, trak[0], trak[1], "mdia");
+		if (tkhd == null || mdia == null) {
+			return null;
+		}
+		int[] mdhd = Mp4Faststart.child(b, mdia[0], mdia[1], "mdhd");
+		int[] hdlr = Mp4Faststart.child(b, mdia[0], mdia[1], "hdlr");
+		int[] minf = Mp4Faststart.child(b, mdia[0], mdia[1], "minf");
+		int[] stbl = minf != null ? Mp4Faststart.child(b, minf[0], minf[1], "stbl") : null;
+		if (mdhd == null || hdlr == null || stbl == null) {
+			return null;
+		}
+		String handler = Mp4Faststart.fourcc(b, hdlr[0] + 8);
+		if (!"vide".equals(handler) && !"soun".equals(handler)) {
+			return null;
+		}
+
+		Track track = new Track();
+		track.trak = trak;
+		track.video = "vide".equals(handler);
+		track.trackId = (int) Mp4Faststart.readU32(b, tkhd[0] + (b[tkhd[0]] == 1 ? 20 : 12));
+		track.timescale = Mp4Faststart.readU32(b, mdhd[0] + (b[mdhd[0]] == 1 ? 20 : 12));
+
+		int[] stsz = Mp4Faststart.child(b, stbl[0], stbl[1], "stsz");
+		int[] stco = Mp4Faststart.child(b, stbl[0], stbl[1], "stco");
+		int[] co64 = Mp4Faststart.child(b, stbl[0], stbl[1], "co64");
+		int[] stsc = Mp4Faststart.child(b, stbl[0], stbl[1], "stsc");
+		int[] stts = Mp4Faststart.child(b, stbl[0], stbl[1], "stts");
+		int[] stsd = Mp4Faststart.child(b, stbl[0], stbl[1], "stsd");
+		if (stsd == null || stsz == null || (stco == null && co64 == null) || stsc == null || stts == null || track.timescale == 0) {
+			return null;
+		}
+
+		// 샘플 크기
+		int count = (int) Mp4Faststart.readU32(b, stsz[0] + 8);
+		long constantSize = Mp4Faststart.readU32(b, stsz[0] + 4);
+		if (count <= 0 || (constantSize == 0 && stsz[0] + 12 + 4L * count > stsz[1])) {
+			return null;
+		}
+		track.count = count;
+		track.sizes = new int[count];
+		for (int i = 0; i < count; i++) {
+			track.sizes[i] = (int) (constantSize != 0 ? constantSize : Mp4Faststart.readU32(b, stsz[0] + 12 + 4 * i));
+		}
+
+		// 청크 오프셋 + 청크별 샘플 수(stsc)로 샘플 위치
+		int[] chunkBox = stco != null ? stco : co64;
+		int entrySize = stco != null ? 4 : 8;
+		int chunks = (int) Mp4Faststart.readU32(b, chunkBox[0] + 4);
+		int stscEntries = (int) Mp4Faststart.readU32(b, stsc[0] + 4);
+		if (chunkBox[0] + 8 + (long) entrySize * chunks > chunkBox[1] || stsc[0] + 8 + 12L * stscEntries > stsc[1] || stscEntries == 0) {
+			return null;
+		}
+		track.offsets = new long[count];
+		int sample = 0;
+		for (int e = 0; e < stscEntries && sample < count; e++) {
+			int at = stsc[0] + 8 + 12 * e;
+			int firstChunk = (int) Mp4Faststart.readU32(b, at);
+			int perChunk = (int) Mp4Faststart.readU32(b, at + 4);
+			if (Mp4Faststart.readU32(b, at + 8) != 1) {
+				return null; // 샘플 설명이 여러 개인 파일은 지원하지 않음
+			}
+			int nextFirstChunk = e + 1 < stscEntries ? (int) Mp4Faststart.readU32(b, at + 12) : chunks + 1;
+			for (int chunk = firstChunk; chunk < nextFirstChunk && chunk <= chunks && sample < count; chunk++) {
+				int chunkAt = chunkBox[0] + 8 + entrySize * (chunk - 1);
+				long offset = entrySize == 4 ? Mp4Faststart.readU32(b, chunkAt) : Mp4Faststart.readU64(b, chunkAt);
+				for (int s = 0; s < perChunk && sample < count; s++) {
+					track.offsets[sample] = offset;
+					offset += track.sizes[sample];
+					sample++;
+				}
+			}
+		}
+		if (sample != count) {
+			return null;
+		}
+
+		// 디코딩 시간 (stts)
+		track.durations = new int[count];
+		track.decodeTimes = new long[count];
+		if (!expandRuns(b, stts, track.durations)) {
+			return null;
+		}
+		for (int i = 1; i < count; i++) {
+			track.decodeTimes[i] = track.decodeTimes[i - 1] + track.durations[i - 1];
+		}
+
+		// 표시 시간 오프셋 (ctts, B 프레임이 있을 때만)
+		track.compositionOffsets = new int[count];
+		int[] ctts = Mp4Faststart.child(b, stbl[0], stbl[1], "ctts");
+		if (ctts != null) {
+			if (!expandRuns(b, ctts, track.compositionOffsets)) {
+				return null;
+			}
+			track.hasCompositionOffsets = true;
+		}
+
+		// 키프레임 (stss 가 없으면 모든 샘플이 키프레임)
+		track.sync = new boolean[count];
+		int[] stss = Mp4Faststart.child(b, stbl[0], stbl[1], "stss");
+		if (stss == null) {
+			Arrays.fill(track.sync, true);
+		} else {
+			int syncCount = (int) Mp4Faststart.readU32(b, stss[0] + 4);
+			if (stss[0] + 8 + 4L * syncCount > stss[1]) {
+				return null;
+			}
+			for (int i = 0; i < syncCount; i++) {
+				long number = Mp4Faststart.readU32(b, stss[0] + 8 + 4 * i);
+				if (number >= 1 && number <= count) {
+					track.sync[(int) number - 1] = true;
+				}
+			}
+		}
+		return track;
+	}
+
+	// (sample_count, value) 반복을 샘플별 값으로 펼침 (stts / ctts 공통)
+	private static boolean expandRuns(byte[] b, int[] box, int[] values) {
+		int entries = (int) Mp4Faststart.readU32(b, box[0] + 4);
+		if (box[0] + 8 + 8L * entries > box[1]) {
+			return false;
+		}
+		int sample = 0;
+		for (int e = 0; e < entries; e++) {
+			int at = box[0] + 8 + 8 * e;
+			long runLength = Mp4Faststart.readU32(b, at);
+			int value = (int) Mp4Faststart.readU32(b, at + 4);
+			for (long i = 0; i < runLength && sample < values.length; i++) {
+				values[sample++] = value;
+			}
+		}
+		return sample == values.length;
+	}
+
+	private static long endTime(Track track) {
+		return track.decodeTimes[track.count - 1] + track.durations[track.count - 1];
+	}
+
+	// ftyp + moov (샘플 테이블은 비우고 mvex/trex 추가)
+	private static long writeInit(Path path, byte[] b, int[] mvhd, List<Track> tracks) throws IOException {
+		ByteArrayOutputStream moov = new ByteArrayOutputStream();
+		moov.write(b, mvhd[2], mvhd[1] - mvhd[2]);
+		for (Track track : tracks) {
+			moov.write(initTrak(b, track.trak));
+		}
+		ByteArrayOutputStream mvex = new ByteArrayOutputStream();
+		for (Track track : tracks) {
+			ByteBuffer trex = ByteBuffer.allocate(24);
+			trex.putInt(0).putInt(track.trackId).putInt(1).putInt(0).putInt(0).putInt(0);
+			mvex.write(box("trex", trex.array()));
+		}
+		moov.write(box("mvex", mvex.toByteArray()));
+
+		ByteArrayOutputStream init = new ByteArrayOutputStream();
+		init.write(box("ftyp", "iso6".getBytes(StandardCharsets.ISO_8859_1), new byte[4],
+				"iso6mp41".getBytes(StandardCharsets.ISO_8859_1)));
+		init.write(box("moov", moov.toByteArray()));
+		Files.write(path, init.toByteArray());
+		return init.size();
+	}
+
+	// 원본 trak 에서 stbl 만 빈 테이블로 바꿈 (다른 트랙을 가리키는 tref 는 제외)
+	private static byte[] initTrak(byte[] b, int[] trak) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int[] child : Mp4Faststart.children(b, trak[0], trak[1], null)) {
+			String type = Mp4Faststart.fourcc(b, child[2] + 4);
+			if ("mdia".equals(type)) {
+				ByteArrayOutputStream mdia = new ByteArrayOutputStream();
+				for (int[] mdiaChild : Mp4Faststart.children(b, child[0], child[1], null)) {
+					if ("minf".equals(Mp4Faststart.fourcc(b, mdiaChild[2] + 4))) {
+						mdia.write(box("minf", initMinf(b, mdiaChild)));
+					} else {
+						mdia.write(b, mdiaChild[2], mdiaChild[1] - mdiaChild[2]);
+					}
+				}
+				out.write(box("mdia", mdia.toByteArray()));
+			} else if (!"tref".equals(type)) {
+				out.write(b, child[2], child[1] - child[2]);
+			}
+		}
+		return box("trak", out.toByteArray());
+	}
+
+	private static byte[] initMinf(byte[] b, int[] minf) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int[] child : Mp4Faststart.children(b, minf[0], minf[1], null)) {
+			if (!"stbl".equals(Mp4Faststart.fourcc(b, child[2] + 4))) {
+				out.write(b, child[2], child[1] - child[2]);
+				continue;
+			}
+			int[] stsd = Mp4Faststart.child(b, child[0], child[1], "stsd");
+			ByteArrayOutputStream stbl = new ByteArrayOutputStream();
+			stbl.write(b, stsd[2], stsd[1] - stsd[2]);
+			stbl.write(box("stts", new byte[8]));
+			stbl.write(box("stsc", new byte[8]));
+			stbl.write(box("stsz", new byte[12]));
+			stbl.write(box("stco", new byte[8]));
+			out.write(box("stbl", stbl.toByteArray()));
+		}
+		return out.toByteArray();
+	}
+
+	// moof(mfhd + 트랙별 traf) + mdat. 샘플 데이터는 원본에서 바로 복사
+	private static long writeSegment(FileChannel in, Path path, int sequence, List<Track> tracks, int[][] ranges)
+			throws IOException {
+		int moofSize = 8 + 16;
+		for (int t = 0; t < tracks.size(); t++) {
+			int samples = ranges[t][1] - ranges[t][0];
+			if (samples > 0) {
+				moofSize += trafSize(tracks.get(t), samples);
+			}
+		}
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream(moofSize + 8);
+		DataOutputStream out = new DataOutputStream(header);
+		out.writeInt(moofSize);
+		out.writeBytes("moof");
+		out.writeInt(16);
+		out.writeBytes("mfhd");
+		out.writeInt(0);
+		out.writeInt(sequence);
+		long dataOffset = moofSize + 8; // moof 시작 기준 (tfhd default-base-is-moof)
+		long dataBytes = 0;
+		for (int t = 0; t < tracks.size(); t++) {
+			Track track = tracks.get(t);
+			int from = ranges[t][0];
+			int to = ranges[t][1];
+			if (to == from) {
+				continue;
+			}
+			writeTraf(out, track, from, to, dataOffset + dataBytes);
+			for (int i = from; i < to; i++) {
+				dataBytes += track.sizes[i];
+			}
+		}
+		out.writeInt((int) (8 + dataBytes));
+		out.writeBytes("mdat");
+
+		try (FileChannel segment = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.wrap(header.toByteArray());
+			while (buffer.hasRemaining()) {
+				segment.write(buffer);
+			}
+			for (int t = 0; t < tracks.size(); t++) {
+				Track track = tracks.get(t);
+				// 원본에서 이어져 있는 샘플끼리 묶어서 한 번에 복사
+				int i = ranges[t][0];
+				while (i < ranges[t][1]) {
+					long start = track.offsets[i];
+					long length = track.sizes[i];
+					i++;
+					while (i < ranges[t][1] && track.offsets[i] == start + length) {
+						length += track.sizes[i];
+						i++;
+					}
+					Mp4Faststart.copy(in, start, length, segment);
+				}
+			}
+		}
+		return moofSize + 8 + dataBytes;
+	}
+
+	private static int trafSize(Track track, int samples) {
+		return 8 + 16 + 20 + trunSize(track, samples);
+	}
+
+	private static int trunSize(Track track, int samples) {
+		return 20 + samples * (track.hasCompositionOffsets ? 16 : 12);
+	}
+
+	private static void writeTraf(DataOutputStream out, Track track, int from, int to, long dataOffset) throws IOException {
+		int samples = to - from;
+		out.writeInt(trafSize(track, samples));
+		out.writeBytes("traf");
+		out.writeInt(16);
+		out.writeBytes("tfhd");
+		out.writeInt(0x020000); // default-base-is-moof
+		out.writeInt(track.trackId);
+		out.writeInt(20);
+		out.writeBytes("tfdt");
+		out.writeInt(0x01000000); // version 1 (64비트 시작 시각)
+		out.writeLong(track.decodeTimes[from]);
+		// data-offset, sample-duration, sample-size, sample-flags (+ composition-time-offset, version 1 은 음수 허용)
+		int flags = 0x1 | 0x100 | 0x200 | 0x400 | (track.hasCompositionOffsets ? 0x800 : 0);
+		out.writeInt(trunSize(track, samples));
+		out.writeBytes("trun");
+		out.writeInt((track.hasCompositionOffsets ? 0x01000000 : 0) | flags);
+		out.writeInt(samples);
+		out.writeInt((int) dataOffset);
+		for (int i = from; i < to; i++) {
+			out.writeInt(track.durations[i]);
+			out.writeInt(track.sizes[i]);
+			out.writeInt(track.sync[i] ? SYNC_SAMPLE_FLAGS : NON_SYNC_SAMPLE_FLAGS);
+			if (track.hasCompositionOffsets) {
+				out.writeInt(track.compositionOffsets[i]);
+			}
+		}
+	}
+
+	private static byte[] box(String type, byte[]... parts) throws IOException {
+		int length = 8;
+		for (byte[] part : parts) {
+			length += part.length;
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+		new DataOutputStream(out).writeInt(length);
+		out.write(type.getBytes(StandardCharsets.ISO_8859_1));
+		for (byte[] part : parts) {
+			out.write(part);
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,159 @@
+package com.ssafy.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.dto.contenttype.ContentTypeDto;
+import com.ssafy.dto.shortform.ShortformContentTypeMappingDto;
+import com.ssafy.dto.shortform.ShortformDto;
+import com.ssafy.repository.ShortformRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 콘텐츠 타입별 숏폼 pk 비트맵 인덱스
+// pk 는 AUTO_INCREMENT 라 촘촘하므로 BitSet 한 개가 타입당 (최대 pk / 8) 바이트 정도로 충분히 작음.
+// 쓰기는 바뀌는 비트맵만 복사해서 새 스냅샷으로 교체 (copy-on-write), 읽기는 락 없이 스냅샷을 그대로 사용.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortformContentTypeIndex {
+	private final ShortformRepository formRepo;
+
+	// 스냅샷 안의 BitSet 은 절대 수정하지 않음
+	private volatile Snapshot snapshot;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		try {
+			current();
+		} catch (Exception e) {
+			// 첫 요청 때 다시 시도
+			log.warn("콘텐츠 타입 인덱스 초기화 실패: {}", e.getMessage());
+		}
+	}
+
+	// 콘텐츠 타입 조건에 맞는 pk 비트맵
+	// groups 의 각 항목은 OR 로 묶을 타입 이름 목록이고, 항목끼리는 AND (예: [[관광지, 음식점], [축제]])
+	// 조건이 없으면 전체 숏폼
+	public BitSet match(List<List<String>> groups) throws Exception {
+		Snapshot current = current();
+		BitSet result = (BitSet) current.all.clone();
+		for (List<String> group : groups) {
+			BitSet union = new BitSet();
+			for (String name : group) {
+				Integer typeId = current.typeIds.get(name); // 없는 타입 이름이면 빈 집합
+				BitSet bits = typeId != null ? current.byType.get(typeId) : null;
+				if (bits != null) {
+					union.or(bits);
+				}
+			}
+			result.and(union);
+		}
+		return result;
+	}
+
+	// 콘텐츠 타입 id -> pk 비트맵 (읽기 전용, 반환된 BitSet 은 수정하면 안 됨)
+	public Map<Integer, BitSet> bitmapsByType() throws Exception {
+		return Collections.unmodifiableMap(current().byType);
+	}
+
+	// 가장 최근에 등록된 숏폼 pk (없으면 -1)
+	public int maxPk() throws Exception {
+		return current().all.length() - 1;
+	}
+
+	public synchronized void onInsert(int pk, Integer contentTypeId) throws Exception {
+		Snapshot current = current();
+		Map<Integer, BitSet> byType = new HashMap<>(current.byType);
+		if (contentTypeId != null) {
+			byType.put(contentTypeId, withBit(byType.get(contentTypeId), pk, true));
+		}
+		snapshot = new Snapshot(withBit(current.all, pk, true), byType, current.typeIds);
+	}
+
+	// 수정 시 매핑을 모두 지우고 새로 넣으므로 인덱스도 같은 방식으로 교체
+	public synchronized void onUpdate(int pk, Integer contentTypeId) throws Exception {
+		Snapshot current = current();
+		Map<Integer, BitSet> byType = withoutPk(current.byType, pk);
+		if (contentTypeId != null) {
+			byType.put(contentTypeId, withBit(byType.get(contentTypeId), pk, true));
+		}
+		snapshot = new Snapshot(current.all, byType, current.typeIds);
+	}
+
+	public synchronized void onDelete(int pk) throws Exception {
+		Snapshot current = current();
+		snapshot = new Snapshot(withBit(current.all, pk, false), withoutPk(current.byType, pk), current.typeIds);
+	}
+
+	private Snapshot current() throws Exception {
+		Snapshot current = snapshot;
+		return current != null ? current : load();
+	}
+
+	// 전체 pk 와 매핑을 한 번 읽어서 인덱스 생성
+	private synchronized Snapshot load() throws Exception {
+		if (snapshot != null) {
+			return snapshot;
+		}
+		BitSet all = new BitSet();
+		for (ShortformDto row : formRepo.findAllViewCounts()) {
+			all.set(row.getPk());
+		}
+		Map<Integer, BitSet> byType = new HashMap<>();
+		for (ShortformContentTypeMappingDto mapping : formRepo.findAllShortformContentTypeMappings()) {
+			byType.computeIfAbsent(mapping.getContentTypeId(), k -> new BitSet()).set(mapping.getShortformPk());
+		}
+		snapshot = new Snapshot(all, byType, loadTypeIds());
+		log.info("콘텐츠 타입 인덱스 생성: 숏폼 {}개, 콘텐츠 타입 {}개", all.cardinality(), byType.size());
+		return snapshot;
+	}
+
+	private Map<String, Integer> loadTypeIds() throws Exception {
+		Map<String, Integer> typeIds = new HashMap<>();
+		for (ContentTypeDto type : formRepo.findAllContentTypes()) {
+			typeIds.put(type.getContentTypeName(), type.getContentTypeId());
+		}
+		return typeIds;
+	}
+
+	private static BitSet withBit(BitSet bits, int pk, boolean value) {
+		BitSet copy = bits != null ? (BitSet) bits.clone() : new BitSet();
+		copy.set(pk, value);
+		return copy;
+	}
+
+	// pk 가 들어있는 비트맵만 복사해서 비트를 지움
+	private static Map<Integer, BitSet> withoutPk(Map<Integer, BitSet> byType, int pk) {
+		Map<Integer, BitSet> copy = new HashMap<>(byType);
+		for (Map.Entry<Integer, BitSet> entry : byType.entrySet()) {
+			if (entry.getValue().get(pk)) {
+				copy.put(entry.getKey(), withBit(entry.getValue(), pk, false));
+			}
+		}
+		return copy;
+	}
+
+	// 비트맵에서 before 보다 작은 pk 를 큰 순서대로 최대 limit 개 (before 가 null 이면 처음부터)
+	public static List<Integer> pksBefore(BitSet bits, Integer before, int limit) {
+		List<Integer> pks = new ArrayList<>(limit);
+		int pk = bits.previousSetBit(before != null ? before - 1 : bits.length() - 1);
+		while (pk >= 0 && pks.size() < limit) {
+			pks.add(pk);
+			pk = bits.previousSetBit(pk - 1);
+		}
+		return pks;
+	}
+
+	private record Snapshot(BitSet all, Map<Integer, BitSet> byType, Map<String, Integer> typeIds) {
+	}
+}
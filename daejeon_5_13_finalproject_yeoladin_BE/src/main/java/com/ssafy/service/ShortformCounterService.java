@@ -0,0 +1,197 @@
+package com.ssafy.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ssafy.dto.shortform.ShortformCountDeltaDto;
+import com.ssafy.repository.ShortformRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 숏폼 조회수 / 좋아요 수 write-behind 카운터
+// 요청마다 UPDATE 를 날리지 않고 pk 별 LongAdder 에 모아뒀다가,
+// 주기적으로(그리고 종료 시) UPDATE ... CASE 한 문장으로 일괄 반영한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShortformCounterService {
+	private static final int FLUSH_BATCH_SIZE = 500; // UPDATE 한 문장에 담을 최대 pk 수
+
+	private final ShortformRepository formRepo;
+	// ⭐ 수정: 조회수는 기억해둔 DB 값이 없으므로(조회할 때마다 DB 값 + 미반영분) 반영이 커밋될 때까지 미반영분에 남겨둠
+	private final CountBuffer views = new CountBuffer(true);
+	private final CountBuffer favorites = new CountBuffer(false);
+	// DB에 반영된 좋아요 수 (목록/상세 조회 시 채워짐). 이 값 + 미반영분으로 토글 응답을 만들어 SELECT 를 생략
+	private final Map<Integer, Long> favoriteCounts = new ConcurrentHashMap<>();
+
+	public void recordView(int pk) {
+		views.add(pk, 1);
+	}
+
+	// 아직 DB에 반영되지 않은 조회수 증가분
+	public long pendingViews(int pk) {
+		return views.pending(pk);
+	}
+
+	public void recordFavorite(int pk, long delta) {
+		favorites.add(pk, delta);
+	}
+
+	// 아직 DB에 반영되지 않은 좋아요 수 증감분
+	public long pendingFavorites(int pk) {
+		return favorites.pending(pk);
+	}
+
+	// DB에서 읽은 좋아요 수 기억 (항상 최신 조회값으로 덮어써서 어긋나도 다음 조회 때 바로잡힘)
+	public void rememberFavoriteCount(int pk, long dbCount) {
+		favoriteCounts.put(pk, dbCount);
+	}
+
+	// ⭐ 추가: 현재 좋아요 수 = DB 좋아요 수(기억해둔 값, 없으면 한 번 조회해서 기억) + 미반영분
+	public long favoriteCount(int pk) throws Exception {
+		Long base = favoriteCounts.get(pk);
+		if (base == null) {
+			Integer count = formRepo.getFavoriteCount(pk);
+			base = count != null ? count.longValue() : 0L; // null일 경우 0
+			favoriteCounts.put(pk, base);
+		}
+		return base + favorites.pending(pk);
+	}
+
+	// 삭제된 숏폼의 증가분은 버림
+	public void discard(int pk) {
+		views.discard(pk);
+		favorites.discard(pk);
+		favoriteCounts.remove(pk);
+	}
+
+	@Scheduled(fixedDelayString = "${shortform.counter.flush-interval-ms}")
+	public void scheduledFlush() {
+		flush();
+	}
+
+	@PreDestroy
+	public void flushOnShutdown() {
+		flush();
+		log.info("종료 전 조회수 / 좋아요 수 반영 완료");
+	}
+
+	public synchronized void flush() {
+		flush("조회수", views, formRepo::addViewCounts, null);
+		flush("좋아요 수", favorites, formRepo::addFavoriteCounts, favoriteCounts);
+	}
+
+	// base 가 있으면 꺼낸 증가분을 DB 반영 전에 먼저 옮겨서 "base + 미반영분" 합계가 반영 중에도 유지되게 함
+	// base 가 없으면 (조회수) 꺼낸 증가분을 반영이 커밋된 뒤에 미반영분에서 뺌 (반영 중에 조회해도 값이 줄지 않도록)
+	private void flush(String label, CountBuffer buffer, BatchWriter writer, Map<Integer, Long> base) {
+		List<ShortformCountDeltaDto> deltas = buffer.drain();
+		if (base != null) {
+			moveToBase(base, deltas, 1);
+		}
+		for (int from = 0; from < deltas.size(); from += FLUSH_BATCH_SIZE) {
+			List<ShortformCountDeltaDto> batch = deltas.subList(from, Math.min(from + FLUSH_BATCH_SIZE, deltas.size()));
+			try {
+				writer.write(batch);
+				buffer.committed(batch);
+			} catch (Exception e) {
+				// 반영 실패분은 버퍼에 되돌려서 다음 주기에 다시 시도
+				log.error("{} 일괄 반영 실패 ({}건), 다음 주기에 재시도: {}", label, batch.size(), e.getMessage(), e);
+				buffer.restore(batch);
+				if (base != null) {
+					moveToBase(base, batch, -1);
+				}
+			}
+		}
+		if (!deltas.isEmpty()) {
+			log.debug("{} 일괄 반영: {}건", label, deltas.size());
+		}
+	}
+
+	private void moveToBase(Map<Integer, Long> base, List<ShortformCountDeltaDto> deltas, int sign) {
+		for (ShortformCountDeltaDto delta : deltas) {
+			base.computeIfPresent(delta.getShortformPk(), (pk, count) -> count + sign * delta.getDelta());
+		}
+	}
+
+	@FunctionalInterface
+	private interface BatchWriter {
+		int write(List<ShortformCountDeltaDto> batch) throws Exception;
+	}
+
+	// pk 별 증가분 버퍼 (LongAdder 로 스트라이핑해서 인기 영상에 요청이 몰려도 경합이 적음)
+	static final class CountBuffer {
+		private final Map<Integer, LongAdder> counters = new ConcurrentHashMap<>();
+		// 꺼냈지만 아직 DB 반영이 커밋되지 않은 증가분 (keepInFlight 일 때만 사용, 미반영분에 포함)
+		private final Map<Integer, LongAdder> inFlight = new ConcurrentHashMap<>();
+		private final boolean keepInFlight;
+
+		CountBuffer(boolean keepInFlight) {
+			this.keepInFlight = keepInFlight;
+		}
+
+		void add(int pk, long delta) {
+			LongAdder counter = counters.get(pk);
+			if (counter == null) {
+				counter = counters.computeIfAbsent(pk, k -> new LongAdder());
+			}
+			counter.add(delta);
+		}
+
+		long pending(int pk) {
+			LongAdder counter = counters.get(pk);
+			LongAdder flushing = keepInFlight ? inFlight.get(pk) : null;
+			return (counter != null ? counter.sum() : 0) + (flushing != null ? flushing.sum() : 0);
+		}
+
+		// 현재까지 쌓인 증가분을 꺼냄
+		// sumThenReset 은 동시에 들어온 증가분을 잃을 수 있어서, 읽은 만큼만 빼는 방식으로 처리
+		List<ShortformCountDeltaDto> drain() {
+			List<ShortformCountDeltaDto> deltas = new ArrayList<>();
+			counters.forEach((pk, counter) -> {
+				long sum = counter.sum();
+				if (sum != 0) {
+					if (keepInFlight) {
+						inFlight.computeIfAbsent(pk, k -> new LongAdder()).add(sum); // 빼기 전에 먼저 옮김
+					}
+					counter.add(-sum);
+					deltas.add(new ShortformCountDeltaDto(pk, sum));
+				}
+			});
+			return deltas;
+		}
+
+		// DB 반영이 커밋된 증가분은 미반영분에서 뺌
+		void committed(List<ShortformCountDeltaDto> deltas) {
+			if (!keepInFlight) {
+				return;
+			}
+			for (ShortformCountDeltaDto delta : deltas) {
+				LongAdder flushing = inFlight.get(delta.getShortformPk());
+				if (flushing != null) {
+					flushing.add(-delta.getDelta());
+				}
+			}
+		}
+
+		// 반영 실패분은 다시 쌓인 증가분으로 (더한 뒤에 빼서 합계가 줄어드는 순간이 없게)
+		void restore(List<ShortformCountDeltaDto> deltas) {
+			for (ShortformCountDeltaDto delta : deltas) {
+				add(delta.getShortformPk(), delta.getDelta());
+			}
+			committed(deltas);
+		}
+
+		void discard(int pk) {
+			counters.remove(pk);
+			inFlight.remove(pk);
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.ssafy.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.cache.BoundedCache;
+import com.ssafy.repository.ShortformRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 회원별 좋아요한 숏폼 pk 집합 (favoritedByCurrentUser 계산용)
+// 처음 한 번만 회원의 좋아요 전체를 한 쿼리로 읽어서 캐시하고, 이후 목록 / 상세의 좋아요 여부는 SQL 없이 비트 조회로 계산.
+// 좋아요가 바뀌면 커밋 후 캐시된 집합을 그 자리에서 고침.
+// 좋아요가 적으면 정렬된 pk 배열(개당 4바이트), 많아지면 BitSet(최대 pk / 8 바이트) 중 작은 쪽으로 저장
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortformFavoriteCache {
+	private static final int STRIPES = 64;
+
+	private final ShortformRepository formRepo;
+
+	@Value("${shortform.favorite-cache.size}")
+	private int cacheSize;
+
+	@Value("${shortform.favorite-cache.ttl-minutes}")
+	private long cacheTtlMinutes;
+
+	private BoundedCache<Long, FavoriteSet> cache;
+	// 로딩 중에 좋아요가 바뀌면 이전 상태를 캐시에 넣지 않도록, 회원 구간별 변경 횟수
+	private final long[] versions = new long[STRIPES];
+	private final Object[] locks = new Object[STRIPES];
+
+	@PostConstruct
+	public void init() {
+		cache = new BoundedCache<>(cacheSize, TimeUnit.MINUTES.toMillis(cacheTtlMinutes));
+		for (int i = 0; i < STRIPES; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	// 비로그인이면 빈 집합
+	public FavoriteSet favorites(Long memberId) throws Exception {
+		if (memberId == null) {
+			return FavoriteSet.EMPTY;
+		}
+		FavoriteSet cached = cache.get(memberId);
+		if (cached != null) {
+			return cached;
+		}
+		int stripe = stripe(memberId);
+		long version;
+		synchronized (locks[stripe]) {
+			version = versions[stripe];
+		}
+		FavoriteSet loaded = FavoriteSet.of(formRepo.findFavoritePksByMember(memberId));
+		log.debug("좋아요 캐시 로드: member={}, {} bytes", memberId, loaded.sizeInBytes());
+		synchronized (locks[stripe]) {
+			if (versions[stripe] == version) {
+				cache.put(memberId, loaded);
+			}
+		}
+		return loaded;
+	}
+
+	public boolean isFavorite(Long memberId, int shortformPk) throws Exception {
+		return favorites(memberId).contains(shortformPk);
+	}
+
+	// 커밋 후 호출. 캐시에 없는 회원은 다음 조회 때 새로 읽음
+	public void onFavoriteChanged(Long memberId, int shortformPk, boolean favorited) {
+		int stripe = stripe(memberId);
+		synchronized (locks[stripe]) {
+			versions[stripe]++;
+			FavoriteSet cached = cache.get(memberId);
+			if (cached != null) {
+				cached.set(shortformPk, favorited);
+			}
+		}
+	}
+
+	private static int stripe(Long memberId) {
+		return (int) Math.floorMod(memberId, (long) STRIPES);
+	}
+
+	// pk 집합. 원소 수 x 4 바이트가 BitSet 크기보다 커지면 BitSet 으로 바꿈
+	public static final class FavoriteSet {
+		static final FavoriteSet EMPTY = new FavoriteSet(new int[0], 0);
+
+		private int[] sorted; // BitSet 으로 바꾸면 null
+		private int size;
+		private BitSet bits;
+
+		private FavoriteSet(int[] sorted, int size) {
+			this.sorted = sorted;
+			this.size = size;
+		}
+
+		static FavoriteSet of(List<Integer> pks) {
+			int[] sorted = pks.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+			FavoriteSet set = new FavoriteSet(sorted, sorted.length);
+			set.compactIfDense();
+			return set;
+		}
+
+		public synchronized boolean contains(int pk) {
+			if (bits != null) {
+				return pk >= 0 && bits.get(pk);
+			}
+			return Arrays.binarySearch(sorted, 0, size, pk) >= 0;
+		}
+
+		synchronized void set(int pk, boolean favorited) {
+			if (this == EMPTY || pk < 0) {
+				return;
+			}
+			if (bits != null) {
+				bits.set(pk, favorited);
+				return;
+			}
+			int index = Arrays.binarySearch(sorted, 0, size, pk);
+			if (favorited && index < 0) {
+				int insert = -index - 1;
+				if (size == sorted.length) {
+					sorted = Arrays.copyOf(sorted, Math.max(4, size + (size >> 1)));
+				}
+				System.arraycopy(sorted, insert, sorted, insert + 1, size - insert);
+				sorted[insert] = pk;
+				size++;
+				compactIfDense();
+			} else if (!favorited && index >= 0) {
+				System.arraycopy(sorted, index + 1, sorted, index, size - index - 1);
+				size--;
+			}
+		}
+
+		// 대략적인 점유 메모리 (객체 헤더 제외)
+		public synchronized long sizeInBytes() {
+			return bits != null ? bits.size() / 8 : (long) sorted.length * Integer.BYTES;
+		}
+
+		private void compactIfDense() {
+			if (size == 0 || (long) size * Integer.SIZE <= sorted[size - 1] + 1L) {
+				return;
+			}
+			BitSet dense = new BitSet(sorted[size - 1] + 1);
+			for (int i = 0; i < size; i++) {
+				dense.set(sorted[i]);
+			}
+			bits = dense;
+			sorted = null;
+		}
+	}
+}
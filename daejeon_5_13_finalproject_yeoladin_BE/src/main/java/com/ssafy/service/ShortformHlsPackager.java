@@ -0,0 +1,105 @@
+package com.ssafy.service;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.repository.ShortformRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 숏폼 영상을 HLS(fMP4 세그먼트)로 패키징
+// 등록 / 수정 후 HLS_PACKAGE 후처리 작업으로 <업로드 폴더>/hls/<해시>/ 아래에 init.mp4 + segN.m4s + index.m3u8 을 만들고
+// shortform.playlist 에 재생목록 경로를 기록. 그 전까지(또는 MP4 가 아니면) 클라이언트는 videofile 을 그대로 재생.
+// 시청자는 전체 파일 대신 보는 구간의 세그먼트만 받으므로 중간에 넘기는 짧은 영상의 전송량이 줄어듦.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortformHlsPackager {
+	private static final String HLS_URL_PREFIX = "hls/"; // /videos/ 기준 상대 경로
+
+	private final ShortformRepository formRepo;
+	private final MediaStorageService mediaStorage;
+	private final MediaJobService jobService;
+	private final ShortformLeaderboard leaderboard;
+
+	@Value("${shortform.hls.segment-seconds}")
+	private double segmentSeconds;
+
+	// 기동 시 재생목록이 없는 기존 숏폼에 HLS 작업 추가 (작업을 넣은 적 있거나 대상이 아닌 것으로 확인된 영상은 제외)
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		try {
+			int added = jobService.enqueueMissingHlsJobs();
+			if (added > 0) {
+				log.info("HLS 패키징 작업 {}건 추가", added);
+			}
+		} catch (Exception e) {
+			log.warn("HLS 패키징 작업 추가 실패: {}", e.getMessage());
+		}
+	}
+
+	// HLS_PACKAGE 작업. 예외는 작업 재시도로 이어짐
+	public void packageAndRecord(int pk, String videofile) throws Exception {
+		String playlist = packageVideo(videofile);
+		// 그 사이 영상이 바뀌었으면 videofile 조건에 걸려 반영되지 않음
+		if (playlist == null) {
+			formRepo.markHlsSkipped(pk, videofile); // 작업 기록이 정리돼도 backfill 이 다시 넣지 않음
+		} else if (formRepo.updatePlaylist(pk, videofile, playlist) > 0) {
+			leaderboard.onUpdate(pk);
+		}
+	}
+
+	// 재생목록 경로 반환 (MP4 가 아니거나 처리할 수 없는 구조면 null). 같은 내용이 이미 패키징돼 있으면 재사용
+	String packageVideo(String videofile) throws IOException {
+		Path dir = mediaStorage.hlsDir(videofile);
+		String playlist = HLS_URL_PREFIX + dir.getFileName() + "/" + Mp4Fragmenter.PLAYLIST;
+		if (Files.exists(dir.resolve(Mp4Fragmenter.PLAYLIST))) {
+			return playlist;
+		}
+
+		// 임시 폴더에 다 쓴 뒤 한 번에 옮겨서, 반쯤 쓰인 재생목록이 서빙되지 않도록
+		Path temp = dir.resolveSibling("." + dir.getFileName() + "-" + UUID.randomUUID());
+		try {
+			Mp4Fragmenter.Result result = Mp4Fragmenter.fragment(mediaStorage.videoPath(videofile), temp, segmentSeconds);
+			if (result == null) {
+				log.info("HLS 패키징 대상 아님: {}", videofile);
+				return null;
+			}
+			// 같은 내용의 영상을 다른 작업이 먼저 끝냈으면 그 결과를 씀
+			if (Files.exists(dir.resolve(Mp4Fragmenter.PLAYLIST))) {
+				return playlist;
+			}
+			MediaStorageService.deleteTree(dir); // 재생목록 없이 남은 폴더
+			try {
+				Files.move(temp, dir, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, dir);
+			} catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+				if (Files.exists(dir.resolve(Mp4Fragmenter.PLAYLIST))) {
+					return playlist;
+				}
+				throw e;
+			}
+			// 처음 재생에 필요한 바이트(init + 첫 세그먼트) vs 원본 파일 전체 (progressive 다운로드가 미리 받는 최대치)
+			long fileBytes = Files.size(mediaStorage.videoPath(videofile));
+			log.info("HLS 패키징 완료: {} ({}개 세그먼트, 첫 재생 {} bytes / 원본 {} bytes, {}%)", videofile,
+					result.segments(), result.firstPlayBytes(), fileBytes,
+					fileBytes > 0 ? result.firstPlayBytes() * 100 / fileBytes : 0);
+			return playlist;
+		} finally {
+			MediaStorageService.deleteTree(temp);
+		}
+	}
+}
@@ -0,0 +1,247 @@
+package com.ssafy.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.dto.shortform.ShortformDto;
+import com.ssafy.repository.ShortformRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 인기 숏폼(조회수 순) 리더보드
+// 시작 시 pk / 조회수만 한 번 읽어두고, 이후에는 조회 / 좋아요 / 등록 / 수정 / 삭제 이벤트로만 갱신한다.
+// 상위 capacity 개만 정렬된 보드에 유지하고, 메인 페이지는 마지막으로 발행된 스냅샷만 읽으므로 DB에 접근하지 않음.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortformLeaderboard {
+	private final ShortformRepository formRepo;
+	private final ShortformCounterService counterService;
+
+	@Value("${shortform.leaderboard.capacity}")
+	private int capacity; // 보드에 유지할 후보 수 (메인 페이지 노출 수보다 넉넉하게)
+
+	// 전체 숏폼의 조회수 (DB + 미반영분). 보드 밖의 숏폼이 순위권에 들어오는지 판단하는 데 사용
+	private final Map<Integer, Long> views = new ConcurrentHashMap<>();
+	// 보드에 있는 숏폼의 상세 정보 (제목, 작성자, 파일명 등)
+	private final Map<Integer, ShortformDto> details = new ConcurrentHashMap<>();
+
+	// 아래 필드는 this 로 동기화
+	private final TreeSet<Rank> board = new TreeSet<>();
+	private final Map<Integer, Rank> ranks = new HashMap<>();
+	private volatile boolean seeded;
+
+	// 보드가 가득 찼을 때 마지막 순위의 조회수. 이보다 낮은 숏폼의 조회는 락 없이 카운트만 올림
+	private volatile long threshold = Long.MIN_VALUE;
+	// 읽기 전용 스냅샷 (보드가 바뀔 때마다 새로 발행)
+	private volatile List<Rank> snapshot = List.of();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		try {
+			ensureSeeded();
+		} catch (Exception e) {
+			// 첫 요청 때 다시 시도
+			log.warn("인기 숏폼 리더보드 초기화 실패: {}", e.getMessage());
+		}
+	}
+
+	// 조회수 상위 limit 개 (보드에 있는 만큼만)
+	public List<ShortformDto> top(int limit) throws Exception {
+		ensureSeeded();
+		List<Rank> current = snapshot;
+		List<ShortformDto> result = new ArrayList<>(Math.min(limit, current.size()));
+		for (Rank rank : current) {
+			if (result.size() >= limit) {
+				break;
+			}
+			ShortformDto detail = details.get(rank.pk);
+			if (detail != null) {
+				result.add(copyOf(detail, rank.views));
+			}
+		}
+		return result;
+	}
+
+	public void onView(int pk) throws Exception {
+		ensureSeeded();
+		Long current = views.computeIfPresent(pk, (k, v) -> v + 1);
+		if (current == null) {
+			return; // 없는 숏폼
+		}
+		if (current > threshold || isRanked(pk)) {
+			reposition(pk);
+		}
+	}
+
+	// ⭐ 추가: 현재 조회수 (DB + 미반영분). 아직 초기화 전이거나 없는 숏폼이면 null
+	public Long views(int pk) {
+		return seeded ? views.get(pk) : null;
+	}
+
+	// 좋아요 수는 순위에 영향이 없으므로 보드에 있는 숏폼의 표시 값만 갱신
+	public void onFavorite(int pk, long delta) {
+		details.computeIfPresent(pk, (k, detail) -> {
+			ShortformDto updated = copyOf(detail, detail.getViews());
+			updated.setFavoriteCount((int) Math.max(0, detail.getFavoriteCount() + delta));
+			return updated;
+		});
+	}
+
+	public void onInsert(int pk) throws Exception {
+		ensureSeeded();
+		views.putIfAbsent(pk, 0L);
+		if (0L > threshold) {
+			reposition(pk); // 보드에 빈 자리가 있을 때만 (조회수 0 으로는 순위권에 들 수 없음)
+		}
+	}
+
+	// 제목 / 내용 / 파일이 바뀌었으면 보드에 있는 상세 정보를 다시 읽음
+	public void onUpdate(int pk) throws Exception {
+		if (details.containsKey(pk)) {
+			ShortformDto detail = formRepo.selectVideo(pk);
+			if (detail != null) {
+				details.computeIfPresent(pk, (k, old) -> {
+					detail.setFavoriteCount(old.getFavoriteCount());
+					return detail;
+				});
+			}
+		}
+	}
+
+	public void onDelete(int pk) throws Exception {
+		views.remove(pk);
+		Integer candidate;
+		synchronized (this) {
+			Rank rank = ranks.remove(pk);
+			if (rank == null) {
+				return;
+			}
+			board.remove(rank);
+			details.remove(pk);
+			candidate = bestUnranked();
+			publish();
+		}
+		// 빠진 자리는 보드 밖에서 조회수가 가장 높은 숏폼으로 채움
+		if (candidate != null) {
+			reposition(candidate);
+		}
+	}
+
+	// 현재 조회수로 보드 안 위치를 다시 잡음 (필요하면 보드에 넣고 꼴찌를 밀어냄)
+	private void reposition(int pk) throws Exception {
+		ShortformDto detail = details.get(pk);
+		if (detail == null) {
+			// 새로 순위권에 들어오는 경우에만 DB에서 상세 정보를 읽음 (락 밖에서)
+			detail = formRepo.selectVideo(pk);
+			if (detail == null) {
+				views.remove(pk);
+				return;
+			}
+			detail.setFavoriteCount((int) Math.max(0, detail.getFavoriteCount() + counterService.pendingFavorites(pk)));
+		}
+
+		synchronized (this) {
+			Long current = views.get(pk);
+			if (current == null) {
+				return; // 그 사이 삭제됨
+			}
+			Rank old = ranks.remove(pk);
+			if (old != null) {
+				board.remove(old);
+			}
+			Rank rank = new Rank(pk, current);
+			if (board.size() >= capacity && rank.compareTo(board.last()) > 0) {
+				details.remove(pk); // 순위권 밖
+			} else {
+				board.add(rank);
+				ranks.put(pk, rank);
+				details.putIfAbsent(pk, detail);
+				if (board.size() > capacity) {
+					Rank evicted = board.pollLast();
+					ranks.remove(evicted.pk);
+					details.remove(evicted.pk);
+				}
+			}
+			threshold = board.size() < capacity ? Long.MIN_VALUE : board.last().views;
+			publish();
+		}
+	}
+
+	private synchronized boolean isRanked(int pk) {
+		return ranks.containsKey(pk);
+	}
+
+	// 보드 밖에서 가장 순위가 높은 숏폼 (삭제로 빈 자리를 채울 때만 전체를 훑음)
+	private Integer bestUnranked() {
+		Rank best = null;
+		for (Map.Entry<Integer, Long> entry : views.entrySet()) {
+			if (ranks.containsKey(entry.getKey())) {
+				continue;
+			}
+			Rank rank = new Rank(entry.getKey(), entry.getValue());
+			if (best == null || rank.compareTo(best) < 0) {
+				best = rank;
+			}
+		}
+		return best != null ? best.pk : null;
+	}
+
+	private void publish() {
+		snapshot = List.copyOf(board);
+	}
+
+	// 전체 숏폼의 pk / 조회수와 상위 capacity 개의 상세 정보를 한 번만 읽음 (이후로는 이벤트로만 갱신)
+	private void ensureSeeded() throws Exception {
+		if (seeded) {
+			return;
+		}
+		synchronized (this) {
+			if (seeded) {
+				return;
+			}
+			for (ShortformDto row : formRepo.findAllViewCounts()) {
+				views.put(row.getPk(), row.getViews() + counterService.pendingViews(row.getPk()));
+			}
+			for (ShortformDto row : formRepo.findPopularShortforms(capacity)) {
+				Long current = views.get(row.getPk());
+				if (current == null) {
+					continue; // 두 조회 사이에 등록된 숏폼은 등록 이벤트로 들어옴
+				}
+				row.setFavoriteCount((int) Math.max(0, row.getFavoriteCount() + counterService.pendingFavorites(row.getPk())));
+				Rank rank = new Rank(row.getPk(), current);
+				board.add(rank);
+				ranks.put(rank.pk, rank);
+				details.put(rank.pk, row);
+			}
+			threshold = board.size() < capacity ? Long.MIN_VALUE : board.last().views;
+			publish();
+			seeded = true;
+		}
+		log.info("인기 숏폼 리더보드 초기화: 전체 {}개 중 상위 {}개", views.size(), board.size());
+	}
+
+	// 보드에 둔 값은 바꾸지 않도록 복사해서 돌려줌 (요청마다 favoritedByCurrentUser 등을 채움)
+	private static ShortformDto copyOf(ShortformDto detail, long views) {
+		return detail.toBuilder().views((int) views).build();
+	}
+
+	// 조회수 내림차순, 같으면 최신(pk 큰) 순
+	private record Rank(int pk, long views) implements Comparable<Rank> {
+		@Override
+		public int compareTo(Rank other) {
+			int byViews = Long.compare(other.views, views);
+			return byViews != 0 ? byViews : Integer.compare(other.pk, pk);
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package com.ssafy.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.dto.shortform.ShortformDto;
+import com.ssafy.dto.shortform.ShortformLiveDto;
+import com.ssafy.repository.ShortformRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 숏폼 조회수 / 좋아요 수 실시간 전송 (SSE)
+// 조회 / 좋아요 이벤트는 구독자가 있는 숏폼만 "변경됨" 표시만 하고, interval-ms 마다 변경된 숏폼별로 한 번만 값을 계산해서
+// 그 숏폼의 모든 구독자에게 같은 이벤트를 보냄 (요청이 몰려도 숏폼당 interval 에 한 번, 이벤트 직렬화도 한 번).
+// SseEmitter 는 비동기 요청이라 연결을 붙잡는 스레드가 없음. 쓰기는 send-threads 개의 전송 스레드가 나눠서 하고
+// (스케줄러는 전송 작업만 넣음), 이전 이벤트를 아직 못 받은 구독자는 건너뛰다가 max-skipped 번 연속이면 끊음
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortformLiveBroadcaster {
+	private static final String COUNTS_EVENT = "counts";
+	private static final String DELETED_EVENT = "deleted";
+
+	private final ShortformRepository formRepo;
+	private final ShortformCounterService counterService;
+	private final ShortformLeaderboard leaderboard;
+	private final ObjectMapper objectMapper;
+
+	@Value("${shortform.live.timeout-ms}")
+	private long timeoutMs; // 연결 유지 시간 (끝나면 클라이언트 EventSource 가 다시 연결)
+
+	@Value("${shortform.live.heartbeat-ms}")
+	private long heartbeatMs; // 끊긴 연결을 찾아내기 위한 주석 이벤트 간격
+
+	@Value("${shortform.live.max-subscribers}")
+	private int maxSubscribers;
+
+	@Value("${shortform.live.send-threads}")
+	private int sendThreads;
+
+	@Value("${shortform.live.max-skipped}")
+	private int maxSkipped; // 이전 전송이 끝나지 않아 연속으로 건너뛴 횟수가 이만큼이면 느린 연결로 보고 끊음
+
+	private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+	private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private volatile long lastHeartbeat = System.currentTimeMillis();
+	private ThreadPoolExecutor sender;
+
+	@PostConstruct
+	public void init() {
+		// 구독자마다 대기 중인 작업은 이벤트 하나 + 삭제 알림 하나까지
+		sender = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(maxSubscribers * 2));
+	}
+
+	// 구독 시작. 현재 값을 바로 한 번 보냄 (없는 숏폼이면 NoSuchElementException, 구독자가 너무 많으면 IllegalStateException)
+	public SseEmitter subscribe(int pk) throws Exception {
+		String initial = countsJson(pk);
+		if (subscriberCount.incrementAndGet() > maxSubscribers) {
+			subscriberCount.decrementAndGet();
+			throw new IllegalStateException("실시간 구독자 수 초과");
+		}
+		SseEmitter emitter = new SseEmitter(timeoutMs);
+		Subscriber subscriber = new Subscriber(emitter);
+		subscribers.compute(pk, (k, set) -> {
+			Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+			target.add(subscriber);
+			return target;
+		});
+		emitter.onCompletion(() -> unsubscribe(pk, subscriber));
+		emitter.onTimeout(emitter::complete);
+		emitter.onError(e -> unsubscribe(pk, subscriber));
+
+		// 첫 값은 요청 스레드에서 바로 씀 (아직 다른 전송이 없음)
+		try {
+			emitter.send(SseEmitter.event().name(COUNTS_EVENT).data(initial, MediaType.APPLICATION_JSON));
+		} catch (IOException e) {
+			unsubscribe(pk, subscriber);
+			throw e;
+		}
+		return emitter;
+	}
+
+	// 조회 / 좋아요가 반영된 뒤 호출 (구독자가 없으면 아무것도 하지 않음)
+	public void onChange(int pk) {
+		if (subscribers.containsKey(pk)) {
+			dirty.add(pk);
+		}
+	}
+
+	// 삭제된 숏폼의 구독자에게 알리고 연결 종료 (삭제가 커밋된 뒤 호출)
+	public void onDelete(int pk) {
+		dirty.remove(pk);
+		Set<Subscriber> removed = subscribers.remove(pk);
+		if (removed == null) {
+			return;
+		}
+		subscriberCount.addAndGet(-removed.size());
+		Set<DataWithMediaType> event = SseEmitter.event().name(DELETED_EVENT).data(pk).build();
+		for (Subscriber subscriber : removed) {
+			// 앞선 전송이 끝나기를 기다려야 하므로 건너뛰지 않고 전송 스레드에서 보낸 뒤 종료
+			execute(() -> {
+				try {
+					subscriber.emitter.send(event);
+				} catch (IOException | IllegalStateException e) {
+					// 이미 끊긴 연결
+				} finally {
+					subscriber.emitter.complete();
+				}
+			}, subscriber.emitter::complete);
+		}
+	}
+
+	public int subscriberCount() {
+		return subscriberCount.get();
+	}
+
+	// 스케줄러 스레드는 spring.task.scheduling.pool.size 개라서 다른 작업(DB 반영 등)이 느려도 전송 주기가 밀리지 않음
+	@Scheduled(fixedDelayString = "${shortform.live.interval-ms}")
+	public void publish() {
+		List<Integer> changed = new ArrayList<>(dirty);
+		for (Integer pk : changed) {
+			dirty.remove(pk);
+			Set<Subscriber> emitters = subscribers.get(pk);
+			if (emitters == null) {
+				continue;
+			}
+			try {
+				broadcast(pk, emitters, SseEmitter.event().name(COUNTS_EVENT).data(countsJson(pk), MediaType.APPLICATION_JSON).build());
+			} catch (Exception e) {
+				log.warn("실시간 카운터 계산 실패: pk={}, {}", pk, e.getMessage());
+			}
+		}
+
+		long now = System.currentTimeMillis();
+		if (now - lastHeartbeat >= heartbeatMs) {
+			lastHeartbeat = now;
+			Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("").build();
+			subscribers.forEach((pk, emitters) -> broadcast(pk, emitters, heartbeat));
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		sender.shutdownNow();
+		subscribers.values().forEach(emitters -> emitters.forEach(subscriber -> subscriber.emitter.complete()));
+		subscribers.clear();
+	}
+
+	// 한 번 만든 이벤트를 모든 구독자에게 그대로 씀 (실제 쓰기는 전송 스레드에서)
+	// 이전 이벤트를 아직 쓰는 중인 구독자는 이번 이벤트를 건너뜀 (counts 는 다음 이벤트가 최신 값을 담음)
+	private void broadcast(int pk, Set<Subscriber> emitters, Set<DataWithMediaType> event) {
+		for (Subscriber subscriber : emitters) {
+			if (!subscriber.sending.compareAndSet(false, true)) {
+				if (subscriber.skipped.incrementAndGet() >= maxSkipped) {
+					log.debug("느린 실시간 구독 연결 종료: pk={}", pk);
+					subscriber.dropped = true; // 쓰는 중인 전송이 끝나면 연결 종료
+					unsubscribe(pk, subscriber);
+				}
+				continue;
+			}
+			subscriber.skipped.set(0);
+			execute(() -> {
+				try {
+					subscriber.emitter.send(event);
+				} catch (IOException | IllegalStateException e) {
+					unsubscribe(pk, subscriber); // 클라이언트가 이미 끊은 경우
+				} finally {
+					subscriber.sending.set(false);
+					if (subscriber.dropped) {
+						subscriber.emitter.complete();
+					}
+				}
+			}, () -> subscriber.sending.set(false));
+		}
+	}
+
+	// 종료 중이라 전송 스레드에 넣지 못하면 onRejected 만 실행
+	private void execute(Runnable task, Runnable onRejected) {
+		try {
+			sender.execute(task);
+		} catch (RejectedExecutionException e) {
+			onRejected.run();
+		}
+	}
+
+	private void unsubscribe(int pk, Subscriber subscriber) {
+		subscribers.computeIfPresent(pk, (k, set) -> {
+			if (set.remove(subscriber)) {
+				subscriberCount.decrementAndGet();
+			}
+			return set.isEmpty() ? null : set;
+		});
+	}
+
+	// 조회수는 리더보드가 들고 있는 값(DB + 미반영분), 좋아요 수는 카운터의 값을 씀 (대부분 SQL 없음)
+	private String countsJson(int pk) throws Exception {
+		Long views = leaderboard.views(pk);
+		if (views == null) {
+			ShortformDto video = formRepo.selectVideo(pk);
+			if (video == null) {
+				throw new NoSuchElementException("숏폼을 찾을 수 없습니다: " + pk);
+			}
+			views = video.getViews() + counterService.pendingViews(pk);
+		}
+		long favoriteCount = Math.max(0, counterService.favoriteCount(pk));
+		return objectMapper.writeValueAsString(new ShortformLiveDto(pk, views, favoriteCount));
+	}
+
+	private static final class Subscriber {
+		private final SseEmitter emitter;
+		private final AtomicBoolean sending = new AtomicBoolean(); // 전송 스레드에 넣은 이벤트를 아직 쓰는 중
+		private final AtomicInteger skipped = new AtomicInteger();
+		private volatile boolean dropped;
+
+		Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package com.ssafy.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.cache.BoundedCache;
+import com.ssafy.repository.ShortformRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 회원별 맞춤 숏폼 후보 목록
+// 선호 콘텐츠 타입(member_preferred_contenttype) + 최근 좋아요한 숏폼의 콘텐츠 타입으로 타입별 가중치를 만들고,
+// 콘텐츠 타입 비트맵 인덱스에서 해당 타입의 숏폼을 "가중치 x 최신도" 순으로 골라 회원별로 캐시한다.
+// 캐시된 회원의 목록은 스케줄러가 refresh-minutes 마다, 좋아요가 바뀌면 즉시 백그라운드에서 다시 계산 (요청에서는 읽기만).
+// 처음 보는 회원만 첫 요청에서 한 번 계산. 목록마다 version 이 있어서, 페이지를 넘기는 중에 다시 계산돼도
+// 커서의 version 으로 그때 목록을 계속 읽으므로 중간에 항목이 빠지거나 반복되지 않음
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortformPersonalizer {
+	private static final int FAVORITE_HISTORY = 200; // 가중치 계산에 쓰는 최근 좋아요 수
+
+	private final ShortformRepository formRepo;
+	private final ShortformContentTypeIndex contentTypeIndex;
+
+	@Value("${shortform.personal.candidate-size}")
+	private int candidateSize;
+
+	@Value("${shortform.personal.cache-size}")
+	private int cacheSize;
+
+	@Value("${shortform.personal.cache-ttl-minutes}")
+	private long cacheTtlMinutes;
+
+	@Value("${shortform.personal.refresh-minutes}")
+	private long refreshMinutes;
+
+	@Value("${shortform.personal.preferred-weight}")
+	private double preferredWeight;
+
+	@Value("${shortform.personal.favorite-weight}")
+	private double favoriteWeight;
+
+	@Value("${shortform.personal.recency-half-life}")
+	private double recencyHalfLife; // pk 가 이만큼 오래될 때마다 점수 절반
+
+	private BoundedCache<Long, Candidates> cache;
+	// 페이지를 넘기는 중인 이전 목록 ("회원|version" -> 목록). 다시 계산된 뒤에도 cache-ttl 동안 유지
+	private BoundedCache<String, Candidates> snapshots;
+	private final AtomicLong versions = new AtomicLong();
+	private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+	// 재계산 작업이 밀리면 거절되고 버려짐 (다음 스케줄 주기에 다시 시도)
+	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS,
+			new ArrayBlockingQueue<>(100));
+
+	@PostConstruct
+	public void init() {
+		cache = new BoundedCache<>(cacheSize, TimeUnit.MINUTES.toMillis(cacheTtlMinutes));
+		snapshots = new BoundedCache<>(cacheSize * 2, TimeUnit.MINUTES.toMillis(cacheTtlMinutes));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	// 회원의 현재 후보 목록 (처음 한 번만 요청 스레드에서 계산하고, 이후로는 캐시만 읽음)
+	public Candidates candidates(Long memberId) throws Exception {
+		Candidates cached = cache.get(memberId);
+		if (cached != null) {
+			return cached;
+		}
+		Candidates computed = compute(memberId);
+		store(memberId, computed);
+		return computed;
+	}
+
+	// 커서가 가리키는 목록. 이미 밀려났으면 null (호출하는 쪽에서 현재 목록으로 처음부터)
+	public Candidates snapshot(Long memberId, long version) {
+		Candidates current = cache.get(memberId);
+		if (current != null && current.version() == version) {
+			return current;
+		}
+		return snapshots.get(memberId + "|" + version);
+	}
+
+	// 캐시된 회원 중 오래된 목록을 백그라운드에서 다시 계산 (작업이 밀려 거절된 회원은 다음 주기에)
+	@Scheduled(fixedDelayString = "${shortform.personal.refresh-interval-ms}")
+	public void refreshStale() {
+		long staleBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(refreshMinutes);
+		for (Long memberId : cache.keys()) {
+			Candidates cached = cache.get(memberId);
+			if (cached != null && cached.computedAt() < staleBefore) {
+				refreshAsync(memberId);
+			}
+		}
+	}
+
+	// 좋아요가 바뀌면 이미 캐시된 회원만 백그라운드에서 다시 계산
+	public void onFavoriteChanged(Long memberId) {
+		if (cache.get(memberId) != null) {
+			refreshAsync(memberId);
+		}
+	}
+
+	private void refreshAsync(Long memberId) {
+		if (!refreshing.add(memberId)) {
+			return; // 이미 계산 중
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					store(memberId, compute(memberId));
+				} catch (Exception e) {
+					log.warn("맞춤 피드 후보 재계산 실패: member={}, {}", memberId, e.getMessage());
+				} finally {
+					refreshing.remove(memberId);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			refreshing.remove(memberId);
+		}
+	}
+
+	private void store(Long memberId, Candidates candidates) {
+		cache.put(memberId, candidates);
+		if (candidates.personalized()) {
+			snapshots.put(memberId + "|" + candidates.version(), candidates);
+		}
+	}
+
+	Candidates compute(Long memberId) throws Exception {
+		List<Integer> preferredTypes = formRepo.findPreferredContentTypeIds(memberId);
+		List<Integer> favoritePks = formRepo.findRecentFavoritePks(memberId, FAVORITE_HISTORY);
+		if (preferredTypes.isEmpty() && favoritePks.isEmpty()) {
+			return Candidates.noHistory(); // 기록이 없으면 전체 피드 사용
+		}
+
+		// 타입별 가중치: 선호 타입은 고정 가중치, 좋아요한 숏폼의 타입은 좋아요 비율만큼
+		Map<Integer, BitSet> byType = contentTypeIndex.bitmapsByType();
+		Map<Integer, Double> weights = new HashMap<>();
+		for (Integer typeId : preferredTypes) {
+			weights.merge(typeId, preferredWeight, Double::sum);
+		}
+		BitSet favorited = new BitSet();
+		favoritePks.forEach(favorited::set);
+		for (Map.Entry<Integer, BitSet> entry : byType.entrySet()) {
+			BitSet overlap = (BitSet) entry.getValue().clone();
+			overlap.and(favorited);
+			int count = overlap.cardinality();
+			if (count > 0) {
+				weights.merge(entry.getKey(), favoriteWeight * count / favoritePks.size(), Double::sum);
+			}
+		}
+
+		BitSet pool = new BitSet();
+		for (Integer typeId : weights.keySet()) {
+			BitSet bits = byType.get(typeId);
+			if (bits != null) {
+				pool.or(bits);
+			}
+		}
+		pool.andNot(favorited); // 이미 좋아요한 숏폼은 제외
+
+		// 점수 = 타입 가중치 합 x 최신도 (최신 pk 기준 recencyHalfLife 개마다 절반), 상위 candidateSize 개만 유지
+		int newest = contentTypeIndex.maxPk();
+		PriorityQueue<double[]> heap = new PriorityQueue<>(Comparator.comparingDouble(entry -> entry[1]));
+		for (int pk = pool.nextSetBit(0); pk >= 0; pk = pool.nextSetBit(pk + 1)) {
+			double affinity = 0;
+			for (Map.Entry<Integer, Double> weight : weights.entrySet()) {
+				BitSet bits = byType.get(weight.getKey());
+				if (bits != null && bits.get(pk)) {
+					affinity += weight.getValue();
+				}
+			}
+			double score = affinity * Math.pow(0.5, (newest - pk) / recencyHalfLife);
+			if (heap.size() < candidateSize) {
+				heap.add(new double[] { pk, score });
+			} else if (score > heap.peek()[1]) {
+				heap.poll();
+				heap.add(new double[] { pk, score });
+			}
+		}
+		List<double[]> ranked = new ArrayList<>(heap);
+		ranked.sort(Comparator.comparingDouble((double[] entry) -> entry[1]).reversed());
+		List<Integer> pks = ranked.stream().map(entry -> (int) entry[0]).toList();
+		return new Candidates(true, pks, System.currentTimeMillis(), versions.incrementAndGet());
+	}
+
+	// personalized 가 false 면 기록이 없는 회원 (전체 피드로 대체)
+	public record Candidates(boolean personalized, List<Integer> pks, long computedAt, long version) {
+		static Candidates noHistory() {
+			return new Candidates(false, List.of(), System.currentTimeMillis(), 0);
+		}
+	}
+}
@@ -1,18 +1,34 @@
 package com.ssafy.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.ssafy.dto.contenttype.ContentTypeDto;
 import com.ssafy.dto.shortform.ShortformContentTypeMappingDto;
 import com.ssafy.dto.shortform.ShortformDto;
+import com.ssafy.dto.shortform.ShortformFavoriteDto;
+import com.ssafy.dto.shortform.ShortformFavoriteRequestDto;
+import com.ssafy.dto.shortform.ShortformPageDto;
+import com.ssafy.dto.shortform.ShortformViewerStatsDto;
 import com.ssafy.repository.ShortformRepository;
+import com.ssafy.service.MediaJobService.JobType;
+import com.ssafy.service.MediaStorageService.MediaKind;
 
 
 import lombok.RequiredArgsConstructor;
@@ -23,8 +39,22 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ShortformService {
 	private final ShortformRepository formRepo; 
+	private final ShortformCounterService counterService;
+	private final ShortformLeaderboard leaderboard;
+	private final ShortformTrending trending;
+	private final ShortformContentTypeIndex contentTypeIndex;
+	private final ShortformPersonalizer personalizer;
+	private final MediaStorageService mediaStorage;
+	private final MediaJobService jobService;
+	private final ShortformViewerCounter viewerCounter;
+	private final ShortformFavoriteCache favoriteCache;
+	private final ShortformLiveBroadcaster liveBroadcaster;
+	private static final int MAX_FAVORITE_BATCH = 200; // 일괄 좋아요 요청 최대 개수
+	private static final int MAX_FEED_PAGE_SIZE = 50; // 피드 한 페이지 최대 개수
 	
+	@Transactional // 숏폼 행과 후처리 작업을 같이 반영
 	public int insertVideo(ShortformDto form, Long memberId) throws Exception{ // memberId는 필요하다면 서비스에서 사용
+		applyVideoInfo(form); // 목록에서 파일을 열지 않도록 재생 시간 / 해상도 / 코덱을 같이 저장 (처리 대기 파일이면 작업에서)
 		// 1. shortform 테이블에 삽입
 		int shortformInsertCount = formRepo.insertVideo(form); // 이 시점에 form 객체의 pk 필드에 생성된 PK가 담김
 
@@ -48,23 +78,72 @@ public class ShortformService {
              throw new IllegalArgumentException("콘텐츠 타입이 선택되지 않았습니다.");
         }
 
+        int pk = form.getPk();
+        afterCommit(() -> {
+            leaderboard.onInsert(pk);
+            contentTypeIndex.onInsert(pk, selectedContentTypeId);
+        });
+        enqueueVideoJob(form);
 		return shortformInsertCount; // 숏폼 삽입 성공 개수 반환
 	}
 	
+	// ⭐ 추가: 후처리 작업 추가 (처리 대기 업로드면 저장 작업, 이미 저장된 파일이면 HLS 패키징). 작업 id 는 form.jobId 로
+	private void enqueueVideoJob(ShortformDto form) throws Exception {
+		JobType type = mediaStorage.isPending(form.getVideofile()) ? JobType.SHORTFORM_VIDEO : JobType.HLS_PACKAGE;
+		form.setJobId(jobService.enqueue(type, form.getPk(), form.getVideofile()));
+	}
+
+	// ⭐ 추가: SHORTFORM_VIDEO 작업. 처리 대기 파일을 faststart + 중복 제거 저장하고 videofile / 메타데이터 교체 후 HLS 작업 추가
+	// 트랜잭션 없이 순서대로 반영 (참조 수 변경이 롤백되면 파일과 어긋나므로). 대기 파일은 교체가 반영된 뒤에만 지움
+	public void processPendingVideo(int pk, String pendingName) throws Exception {
+		ShortformDto video = formRepo.selectVideo(pk);
+		if (video == null || !pendingName.equals(video.getVideofile())) {
+			return; // 그 사이 삭제됐거나 다른 영상으로 바뀜 (대기 파일은 그쪽에서 정리됨)
+		}
+		String storedName = mediaStorage.commitPending(MediaKind.VIDEO, pendingName);
+		video.setVideofile(storedName);
+		applyVideoInfo(video);
+		int updated;
+		try {
+			updated = formRepo.updateVideoFile(pk, pendingName, video);
+		} catch (Exception e) {
+			mediaStorage.release(MediaKind.VIDEO, storedName); // 재시도 때 다시 저장하므로 이번 참조는 되돌림
+			throw e;
+		}
+		if (updated == 0) {
+			mediaStorage.release(MediaKind.VIDEO, storedName);
+			return;
+		}
+		mediaStorage.release(MediaKind.VIDEO, pendingName);
+		leaderboard.onUpdate(pk); // 캐시된 숏폼 정보 갱신
+		try {
+			jobService.enqueue(JobType.HLS_PACKAGE, pk, storedName);
+		} catch (Exception e) {
+			log.warn("HLS 작업 추가 실패 (다음 기동 때 다시 추가됨): pk={}, {}", pk, e.getMessage());
+		}
+	}
+
+	// ⭐ 추가: 업로드된 MP4 의 메타데이터 (MP4 가 아니거나 처리 대기 파일이면 모두 null)
+	private void applyVideoInfo(ShortformDto form) {
+		Mp4Faststart.Mp4Info info = mediaStorage.isPending(form.getVideofile()) ? null : mediaStorage.videoInfo(form.getVideofile());
+		form.setDurationMs(info != null ? info.durationMs() : null);
+		form.setWidth(info != null ? info.width() : null);
+		form.setHeight(info != null ? info.height() : null);
+		form.setVideoCodec(info != null ? info.videoCodec() : null);
+	}
+
 	public ShortformDto selectVideo(int pk, Long memberId) throws Exception{
 		ShortformDto video = formRepo.selectVideo(pk); // 숏폼 기본 정보 조회
 
         if (video != null) {
+            applyPendingCounts(video); // 아직 DB에 반영되지 않은 조회수 / 좋아요 수 포함
+
             // 해당 숏폼과 연결된 콘텐츠 타입 이름 목록 조회
             List<String> contentTypes = formRepo.findContentTypeNamesByShortformPk(pk);
             video.setContentTypes(contentTypes); // DTO에 설정
 
-            // 로그인한 사용자라면 좋아요 여부 확인
-            if (memberId != null) {
-                video.setFavoritedByCurrentUser(formRepo.isFavorite(memberId, pk) > 0);
-            } else {
-                video.setFavoritedByCurrentUser(false); // memberId가 없으면 좋아요 안 한 것으로 처리
-            }
+            // 로그인한 사용자라면 좋아요 여부 확인 (memberId가 없으면 좋아요 안 한 것으로 처리)
+            video.setFavoritedByCurrentUser(favoriteCache.isFavorite(memberId, pk));
         }
         return video;
 	}
@@ -72,8 +151,13 @@ public class ShortformService {
 	public List<ShortformDto> getPopularShortforms(int limit) throws Exception {
         // 이 단계에서는 각 숏폼의 contentTypes나 favoritedByCurrentUser를 로드하지 않습니다.
         // 메인 페이지 목록에서는 간단한 정보만 필요하다고 가정합니다.
-        // 만약 해당 정보가 필요하다면, selectAllVideo와 유사한 방식으로 처리해야 합니다.
-        return formRepo.findPopularShortforms(limit);
+        // 조회수 순위는 ShortformLeaderboard 가 이벤트로 갱신하므로 DB를 조회하지 않음
+        return leaderboard.top(limit);
+    }
+
+	// ⭐ 추가: 최근 조회 / 좋아요가 많은 순 (시간이 지날수록 점수 감쇠)
+	public List<ShortformDto> getTrendingShortforms(int limit) throws Exception {
+        return trending.top(limit);
     }
 	
 	public List<ContentTypeDto> getAllContentTypes() throws Exception {
@@ -82,6 +166,7 @@ public class ShortformService {
 	
 	// READ - 전체 조회 (콘텐츠 타입 정보 포함)
 	// N+1 문제를 피하기 위해, 비디오 목록 전체를 가져온 후, 모든 매핑 정보를 가져와서 매핑하는 방식
+	// 카탈로그가 커지면 전체를 매번 읽게 되므로, 목록 화면은 selectFeed (커서 페이지)를 사용
 	public List<ShortformDto> selectAllVideo(Long memberId) throws Exception{
 		List<ShortformDto> videos = formRepo.selectAllVideo(); // 모든 숏폼 기본 정보 조회
 
@@ -93,39 +178,189 @@ public class ShortformService {
         List<ShortformContentTypeMappingDto> allMappings = formRepo.findAllShortformContentTypeMappings();
 
         // 매핑 정보를 Shortform PK 별로 그룹화 (Map<Integer, List<String>>)
-        Map<Integer, List<String>> contentTypeMap = allMappings.stream()
-            .collect(Collectors.groupingBy(
-                ShortformContentTypeMappingDto::getShortformPk, // 키: shortformPk
-                Collectors.mapping( // 값: 콘텐츠 타입 이름 리스트
-                    ShortformContentTypeMappingDto::getContentTypeName,
-                    Collectors.toList()
-                )
-            ));
+        Map<Integer, List<String>> contentTypeMap = groupContentTypeNames(allMappings);
 
-        // 각 비디오 DTO에 해당하는 콘텐츠 타입 목록 설정
+        // 로그인한 사용자의 좋아요 집합 (캐시에 있으면 SQL 없음)
+        ShortformFavoriteCache.FavoriteSet favorites = favoriteCache.favorites(memberId);
+
+        // 각 비디오 DTO에 해당하는 콘텐츠 타입 목록 및 좋아요 여부 설정
         for (ShortformDto video : videos) {
-            List<String> types = contentTypeMap.getOrDefault(video.getPk(), new ArrayList<>());
-            video.setContentTypes(types); // DTO에 설정
+            video.setContentTypes(contentTypeMap.getOrDefault(video.getPk(), new ArrayList<>())); // DTO에 설정
+            applyPendingCounts(video);
+            video.setFavoritedByCurrentUser(favorites.contains(video.getPk()));
+        }
+
+        return videos;
+	}
+
+	// ⭐ 추가: 피드 커서 페이지 조회
+	// (date, pk) keyset 으로 다음 페이지를 찾으므로 몇 번째 페이지든 인덱스에서 size + 1 건만 읽음
+	// 콘텐츠 타입 / 좋아요 여부도 이 페이지에 해당하는 숏폼만 한 번에 조회
+	public ShortformPageDto selectFeed(String cursor, int size, Long memberId) throws Exception {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+
+        LocalDateTime cursorDate = null;
+        Integer cursorPk = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] decoded = decodeCursor(cursor, 2);
+            try {
+                cursorDate = LocalDateTime.parse(decoded[0]);
+                cursorPk = Integer.valueOf(decoded[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다.", e);
+            }
+        }
 
-            // 로그인한 사용자라면 각 비디오에 대한 좋아요 여부 확인 (이 부분은 여전히 N+1 가능성 있음, Bulk Select 고려)
-            // 하지만 비디오 개수가 많지 않다면 이 방법도 허용 가능
-             if (memberId != null) {
-                 video.setFavoritedByCurrentUser(formRepo.isFavorite(memberId, video.getPk()) > 0);
-             } else {
-                 video.setFavoritedByCurrentUser(false); // memberId가 없으면 좋아요 안 한 것으로 처리
-             }
+        // 한 건 더 읽어서 다음 페이지 존재 여부 판단
+        List<ShortformDto> videos = formRepo.findShortformFeed(cursorDate, cursorPk, pageSize + 1);
+        boolean hasNext = videos.size() > pageSize;
+        if (hasNext) {
+            videos = new ArrayList<>(videos.subList(0, pageSize));
         }
+        decorateVideos(videos, memberId);
 
+        String nextCursor = null;
+        if (hasNext) {
+            ShortformDto last = videos.get(videos.size() - 1);
+            nextCursor = encodeCursor(last.getDate() + "|" + last.getPk());
+        }
+        return new ShortformPageDto(videos, nextCursor, hasNext);
+    }
 
+	// ⭐ 추가: 회원 맞춤 피드 (선호 콘텐츠 타입 + 좋아요 기록 + 최신도)
+	// 후보 목록은 회원별로 메모리에 캐시되어 있으므로 페이지마다 후보 pk 를 IN 으로 한 번만 조회
+	// 비로그인 / 기록이 없는 회원은 전체 피드와 같음
+	public ShortformPageDto selectPersonalFeed(Long memberId, String cursor, int size) throws Exception {
+        if (memberId == null) {
+            return selectFeed(cursor, size, null);
+        }
+        ShortformPersonalizer.Candidates candidates = personalizer.candidates(memberId);
+        String[] decoded = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+        // 전체 피드 커서(date|pk)면 전체 피드로 이어서 조회 (이전 페이지를 받을 때는 기록이 없었던 경우)
+        if (decoded != null && decoded.length == 2) {
+            return selectFeed(cursor, size, memberId);
+        }
+        if (!candidates.personalized() && decoded == null) {
+            return selectFeed(null, size, memberId);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        int offset = 0;
+        // 개인화 커서는 p|목록 version|offset. 첫 페이지를 받은 목록을 끝까지 읽음
+        if (decoded != null) {
+            long version;
+            if (decoded.length != 3 || !"p".equals(decoded[0])) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            try {
+                version = Long.parseLong(decoded[1]);
+                offset = Integer.parseInt(decoded[2]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다.", e);
+            }
+            if (offset < 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            ShortformPersonalizer.Candidates snapshot = personalizer.snapshot(memberId, version);
+            if (snapshot != null) {
+                candidates = snapshot;
+            } else if (!candidates.personalized()) {
+                return selectFeed(null, size, memberId);
+            } else {
+                offset = 0; // 이전 목록이 밀려났으면 현재 목록 처음부터
+            }
+        }
+
+        List<Integer> pks = candidates.pks();
+        int end = Math.min(offset + pageSize, pks.size());
+        List<ShortformDto> videos = offset < end ? selectVideosInOrder(pks.subList(offset, end)) : new ArrayList<>();
+        decorateVideos(videos, memberId);
+
+        boolean hasNext = end < pks.size();
+        String nextCursor = hasNext ? encodeCursor("p|" + candidates.version() + "|" + end) : null;
+        return new ShortformPageDto(videos, nextCursor, hasNext);
+    }
+
+	// ⭐ 추가: 콘텐츠 타입 조합으로 숏폼 필터링 (최신 pk 순 커서 페이지)
+	// contentTypeGroups 의 각 항목은 "관광지|음식점" 처럼 | 로 묶은 OR 조건이고, 항목끼리는 AND
+	// 조건은 메모리 비트맵 인덱스로 계산하고, DB는 이 페이지의 pk 만 IN 으로 한 번 조회
+	public ShortformPageDto selectFilteredVideos(List<String> contentTypeGroups, Integer excludePk, String cursor,
+            int size, Long memberId) throws Exception {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+
+        List<List<String>> groups = new ArrayList<>();
+        if (contentTypeGroups != null) {
+            for (String group : contentTypeGroups) {
+                List<String> names = Arrays.stream(group.split("\\|"))
+                        .map(String::trim)
+                        .filter(name -> !name.isEmpty())
+                        .collect(Collectors.toList());
+                if (!names.isEmpty()) {
+                    groups.add(names);
+                }
+            }
+        }
+
+        Integer beforePk = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                beforePk = Integer.valueOf(decodeCursor(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다.", e);
+            }
+            if (beforePk < 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+        }
+
+        BitSet matched = contentTypeIndex.match(groups);
+        if (excludePk != null && excludePk >= 0) {
+            matched.clear(excludePk); // 지금 보고 있는 영상 제외
+        }
+
+        // 한 건 더 꺼내서 다음 페이지 존재 여부 판단
+        List<Integer> pks = ShortformContentTypeIndex.pksBefore(matched, beforePk, pageSize + 1);
+        boolean hasNext = pks.size() > pageSize;
+        if (hasNext) {
+            pks = pks.subList(0, pageSize);
+        }
+
+        List<ShortformDto> videos = selectVideosInOrder(pks);
+        decorateVideos(videos, memberId);
+
+        String nextCursor = hasNext ? encodeCursor(String.valueOf(pks.get(pks.size() - 1))) : null;
+        return new ShortformPageDto(videos, nextCursor, hasNext);
+    }
+
+	// pk 목록 순서대로 숏폼 조회 (IN 한 번, 그 사이 삭제된 pk 는 빠짐)
+	private List<ShortformDto> selectVideosInOrder(List<Integer> pks) throws Exception {
+        if (pks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, ShortformDto> rows = formRepo.selectVideosByPks(pks).stream()
+                .collect(Collectors.toMap(ShortformDto::getPk, video -> video));
+        List<ShortformDto> videos = new ArrayList<>(pks.size());
+        for (Integer pk : pks) {
+            ShortformDto video = rows.get(pk);
+            if (video != null) {
+                videos.add(video);
+            }
+        }
         return videos;
-	}
+    }
 	
 	public List<ShortformDto> selectVideosByContentTypeName(String contentTypeName, Long memberId) throws Exception {
         // 해당 콘텐츠 타입 이름과 연결된 숏폼 목록 조회
         List<ShortformDto> videos = formRepo.findVideosByContentTypeName(contentTypeName);
 
+        decorateVideos(videos, memberId);
+        return videos;
+    }
+
+	// 목록에 콘텐츠 타입, 좋아요 여부, 미반영 카운트를 채움 (목록에 있는 숏폼만 한 번씩 일괄 조회)
+	private void decorateVideos(List<ShortformDto> videos, Long memberId) throws Exception {
         if (videos.isEmpty()) {
-            return videos; // 결과가 없으면 바로 반환
+            return; // 결과가 없으면 바로 반환
         }
 
         // 조회된 비디오 PK 목록 추출
@@ -134,40 +369,53 @@ public class ShortformService {
                                     .collect(Collectors.toList());
 
         // 해당 비디오들의 모든 콘텐츠 타입 매핑 정보를 한 번에 조회
-        List<ShortformContentTypeMappingDto> mappings = formRepo.findShortformContentTypeMappingsByPks(videoPks);
+        Map<Integer, List<String>> contentTypeMap = groupContentTypeNames(formRepo.findShortformContentTypeMappingsByPks(videoPks));
+
+        // 로그인한 사용자라면 좋아요 집합에서 비트 조회 (캐시에 없을 때만 회원 좋아요 전체를 한 번 읽음)
+        ShortformFavoriteCache.FavoriteSet favorites = favoriteCache.favorites(memberId);
+
+        // 각 비디오 DTO에 해당하는 콘텐츠 타입 목록 및 좋아요 여부 설정
+        for (ShortformDto video : videos) {
+            video.setContentTypes(contentTypeMap.getOrDefault(video.getPk(), new ArrayList<>()));
+            applyPendingCounts(video);
+
+            video.setFavoritedByCurrentUser(favorites.contains(video.getPk())); // 좋아요 여부 설정
+        }
+    }
 
-        // 매핑 정보를 Shortform PK 별로 그룹화
-        Map<Integer, List<String>> contentTypeMap = mappings.stream()
+	// 매핑 정보를 Shortform PK 별로 그룹화
+	private Map<Integer, List<String>> groupContentTypeNames(List<ShortformContentTypeMappingDto> mappings) {
+        return mappings.stream()
             .collect(Collectors.groupingBy(
-                ShortformContentTypeMappingDto::getShortformPk,
-                Collectors.mapping(
+                ShortformContentTypeMappingDto::getShortformPk, // 키: shortformPk
+                Collectors.mapping( // 값: 콘텐츠 타입 이름 리스트
                     ShortformContentTypeMappingDto::getContentTypeName,
                     Collectors.toList()
                 )
             ));
+    }
 
-         // 로그인한 사용자라면, 조회된 비디오들에 대한 좋아요 여부를 한 번에 조회
-         Map<Integer, Boolean> favoriteStatusMap = new HashMap<>();
-         if (memberId != null && !videoPks.isEmpty()) {
-             List<Integer> favoritedPks = formRepo.findFavoritedShortformPksByMember(memberId, videoPks);
-             for (Integer pk : favoritedPks) {
-                 favoriteStatusMap.put(pk, true);
-             }
-         }
-
-
-        // 각 비디오 DTO에 해당하는 콘텐츠 타입 목록 및 좋아요 여부 설정
-        for (ShortformDto video : videos) {
-            List<String> types = contentTypeMap.getOrDefault(video.getPk(), new ArrayList<>());
-            video.setContentTypes(types);
+	// 페이지 커서: 마지막 항목의 정렬 키("date|pk" 등)를 URL-safe Base64 로 감싼 값 (클라이언트는 내용을 해석하지 않음)
+	private String encodeCursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-            video.setFavoritedByCurrentUser(favoriteStatusMap.getOrDefault(video.getPk(), false)); // 좋아요 여부 설정
+	private String[] decodeCursor(String cursor, int partCount) {
+        String[] parts = decodeCursor(cursor);
+        if (parts.length != partCount) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
         }
+        return parts;
+    }
 
-        return videos;
+	private String[] decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
     }
 
-	
 	// ⭐ 수정: 업데이트 시 작성자 검증을 위해 memberId 파라미터 추가 (선택 사항, 컨트롤러에서 이미 할 수도 있음)
     // 파일 관련 로직은 컨트롤러로 이동했으므로, 여기서는 DTO를 받아 DB만 업데이트
     @Transactional
@@ -184,6 +432,10 @@ public class ShortformService {
         // }
 
         // 2. shortform 테이블 업데이트
+        applyVideoInfo(form); // 파일이 바뀌었을 수 있으므로 다시 읽음 (moov 만 읽음)
+        // 같은 영상이면 기존 재생목록 유지, 바뀌었으면 새로 패키징
+        boolean sameVideo = form.getVideofile() != null && form.getVideofile().equals(existingVideo.getVideofile());
+        form.setPlaylist(sameVideo ? existingVideo.getPlaylist() : null);
         int updateCount = formRepo.updateVideo(form); // 이 시점에 form의 pk, title, content, videofile 사용
         if (updateCount == 0) {
             throw new RuntimeException("Failed to update shortform video in DB.");
@@ -201,6 +453,14 @@ public class ShortformService {
         } else {
             throw new IllegalArgumentException("콘텐츠 타입이 선택되지 않았습니다. (Update)");
         }
+        int pk = form.getPk();
+        afterCommit(() -> {
+            leaderboard.onUpdate(pk);
+            contentTypeIndex.onUpdate(pk, selectedContentTypeId);
+        });
+        if (form.getPlaylist() == null) {
+            enqueueVideoJob(form);
+        }
         return updateCount;
     }
     
@@ -242,18 +502,47 @@ public class ShortformService {
         int cnt = formRepo.deleteVideo(pk);
         if (cnt == 0) {
             log.warn("Failed to delete video from DB or no video found with PK {}", pk);
+        } else {
+            afterCommit(() -> {
+                counterService.discard(pk); // 삭제된 숏폼의 미반영 조회수 / 좋아요 수는 버림
+                viewerCounter.discard(pk);
+                leaderboard.onDelete(pk);
+                trending.onDelete(pk);
+                contentTypeIndex.onDelete(pk);
+                liveBroadcaster.onDelete(pk);
+            });
         }
         return cnt;
     }
 	
-	public int incrementViewCount(int pk) throws Exception {
-        int cnt = formRepo.incrementViewCount(pk);
-        return cnt;
+	// 조회수는 메모리에 누적 후 ShortformCounterService 가 주기적으로 일괄 반영 (요청마다 UPDATE 하지 않음)
+	// ⭐ 추가: 조회수(views)는 요청마다 늘고, 고유 시청자(uniqueViewers)는 viewerKey 기준으로 한 번만 셈
+	public int incrementViewCount(int pk, String viewerKey) throws Exception {
+        leaderboard.onView(pk);
+        trending.onView(pk);
+        counterService.recordView(pk);
+        viewerCounter.recordView(pk, viewerKey);
+        liveBroadcaster.onChange(pk); // 실시간 구독자가 있으면 다음 전송 주기에 반영
+        return 1;
     }
+
+	// ⭐ 추가: 여러 숏폼을 합친 고유 시청자 수 (같은 사람이 여러 영상을 봐도 한 명)
+	public ShortformViewerStatsDto selectUniqueViewers(List<Integer> pks, ShortformViewerCounter.Window window) throws Exception {
+		return viewerCounter.uniqueViewers(pks, window);
+	}
+
+	// 아직 DB에 반영되지 않은 조회수 / 좋아요 수를 더함 (DB에서 읽은 좋아요 수는 토글 응답용으로 기억)
+	private void applyPendingCounts(ShortformDto video) {
+		video.setViews(video.getViews() + (int) counterService.pendingViews(video.getPk()));
+		counterService.rememberFavoriteCount(video.getPk(), video.getFavoriteCount());
+		video.setFavoriteCount((int) Math.max(0, video.getFavoriteCount() + counterService.pendingFavorites(video.getPk())));
+	}
 	
 	// --- 좋아요 관련 서비스 메서드 추가 ---
+	// 회원 행을 잠근 뒤 DELETE / INSERT IGNORE 의 영향받은 행 수로 판단 (연속 탭은 앞 요청이 커밋될 때까지 기다림)
+	// favorite_count 증감은 커밋 후 ShortformCounterService 에 모았다가 일괄 반영
 	@Transactional
-    public boolean toggleFavorite(Long memberId, int shortformPk) throws Exception {
+    public ShortformFavoriteDto toggleFavorite(Long memberId, int shortformPk) throws Exception {
         // memberId가 null인 경우는 컨트롤러 레벨에서 이미 처리되었거나,
         // SecurityConfig에 의해 인증된 사용자만 접근 가능하므로 여기서는 memberId가 null이 아니라고 가정.
         // 만약을 위해 한번 더 체크할 수 있음:
@@ -262,22 +551,174 @@ public class ShortformService {
             throw new IllegalArgumentException("사용자 ID가 없습니다. 로그인이 필요합니다."); // 또는 다른 적절한 예외
         }
 
-        boolean isFavorited = formRepo.isFavorite(memberId, shortformPk) > 0;
-        if (isFavorited) {
-            formRepo.removeFavorite(memberId, shortformPk);
-            formRepo.decrementFavoriteCount(shortformPk);
-            log.info("사용자 ID {} 가 비디오 PK {} 의 좋아요를 취소했습니다.", memberId, shortformPk);
-            return false;
-        } else {
-            formRepo.addFavorite(memberId, shortformPk);
-            formRepo.incrementFavoriteCount(shortformPk);
+        lockMemberForFavorite(memberId);
+        int delta = applyFavorite(memberId, shortformPk, null);
+        ShortformFavoriteDto result = new ShortformFavoriteDto(shortformPk, delta > 0, currentFavoriteCount(shortformPk, delta));
+        recordFavoriteDeltasAfterCommit(memberId, Map.of(shortformPk, delta));
+        if (delta > 0) {
             log.info("사용자 ID {} 가 비디오 PK {} 를 좋아합니다.", memberId, shortformPk);
-            return true;
+        } else {
+            log.info("사용자 ID {} 가 비디오 PK {} 의 좋아요를 취소했습니다.", memberId, shortformPk);
         }
+        return result;
+    }
+
+	// ⭐ 추가: 클라이언트에 쌓인 좋아요 요청을 한 트랜잭션으로 반영
+	// 같은 숏폼에 대한 요청은 순서대로 합쳐서 최종 상태만 반영 (토글 두 번 = 변경 없음)
+	@Transactional
+    public List<ShortformFavoriteDto> applyFavorites(Long memberId, List<ShortformFavoriteRequestDto> requests) throws Exception {
+        if (memberId == null) {
+            throw new IllegalArgumentException("사용자 ID가 없습니다. 로그인이 필요합니다.");
+        }
+        if (requests == null || requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (requests.size() > MAX_FAVORITE_BATCH) {
+            throw new IllegalArgumentException("한 번에 반영할 수 있는 좋아요 요청은 최대 " + MAX_FAVORITE_BATCH + "개입니다.");
+        }
+
+        // pk 오름차순으로 처리해서 동시에 들어온 일괄 요청끼리 락 순서가 엇갈리지 않도록 함
+        lockMemberForFavorite(memberId);
+        Map<Integer, FavoriteOp> ops = new TreeMap<>();
+        for (ShortformFavoriteRequestDto request : requests) {
+            if (request.getShortformPk() == null) {
+                throw new IllegalArgumentException("shortformPk 가 없는 요청이 있습니다.");
+            }
+            ops.computeIfAbsent(request.getShortformPk(), pk -> new FavoriteOp()).add(request.getFavorited());
+        }
+
+        Map<Integer, Integer> deltas = new HashMap<>();
+        Map<Integer, Boolean> states = new HashMap<>();
+        for (Map.Entry<Integer, FavoriteOp> entry : ops.entrySet()) {
+            int pk = entry.getKey();
+            FavoriteOp op = entry.getValue();
+            if (op.target != null) {
+                boolean desired = op.target ^ (op.toggles % 2 == 1);
+                deltas.put(pk, applyFavorite(memberId, pk, desired));
+                states.put(pk, desired);
+            } else if (op.toggles % 2 == 1) {
+                int delta = applyFavorite(memberId, pk, null);
+                deltas.put(pk, delta);
+                states.put(pk, delta > 0);
+            } else {
+                // 토글이 짝수 번이면 변경 없이 현재 상태만 응답
+                deltas.put(pk, 0);
+                states.put(pk, favoriteCache.isFavorite(memberId, pk));
+            }
+        }
+
+        List<ShortformFavoriteDto> results = new ArrayList<>(ops.size());
+        for (Integer pk : ops.keySet()) {
+            results.add(new ShortformFavoriteDto(pk, states.get(pk), currentFavoriteCount(pk, deltas.get(pk))));
+        }
+        recordFavoriteDeltasAfterCommit(memberId, deltas);
+        log.info("사용자 ID {} 좋아요 일괄 반영: 요청 {}건 -> 숏폼 {}개", memberId, requests.size(), ops.size());
+        return results;
     }
 
     public int getFavoriteCount(int shortformPk) throws Exception {
-        Integer count = formRepo.getFavoriteCount(shortformPk);
-        return count != null ? count : 0; // null일 경우 0 반환
+        return currentFavoriteCount(shortformPk, 0);
+    }
+
+	// ⭐ 추가: 좋아요 변경 전에 회원 행을 잠가서 같은 회원의 요청은 한 번에 하나씩 (다른 회원끼리는 기다리지 않음)
+	private void lockMemberForFavorite(Long memberId) throws Exception {
+        if (formRepo.lockMemberForFavorite(memberId) == null) {
+            throw new NoSuchElementException("회원을 찾을 수 없습니다: " + memberId);
+        }
+    }
+
+	// 좋아요 상태 변경 후 favorite_count 증감분 반환 (+1 / -1 / 0). lockMemberForFavorite 뒤에 호출
+	// desired 가 null 이면 토글: DELETE 가 1행이면 취소, 0행이면 INSERT (잠금 덕분에 문장 하나로 상태가 정해짐)
+	// 좋아요 행이 실제로 정확히 1행 추가 / 삭제됐을 때만 개수를 움직임 (중복 추가, 없는 행 삭제는 0)
+	private int applyFavorite(Long memberId, int shortformPk, Boolean desired) throws Exception {
+        if (desired == null) {
+            if (formRepo.removeFavorite(memberId, shortformPk) == 1) {
+                return -1;
+            }
+            return addFavorite(memberId, shortformPk);
+        }
+        if (desired) {
+            return addFavorite(memberId, shortformPk);
+        }
+        return formRepo.removeFavorite(memberId, shortformPk) == 1 ? -1 : 0;
+    }
+
+	// INSERT IGNORE 는 FK 오류도 무시하므로, 0행이면 숏폼이 있는지 확인 (없으면 일괄 요청 전체 롤백)
+	private int addFavorite(Long memberId, int shortformPk) throws Exception {
+        if (formRepo.addFavoriteIfAbsent(memberId, shortformPk) == 1) {
+            return 1;
+        }
+        if (formRepo.getFavoriteCount(shortformPk) == null) {
+            throw new NoSuchElementException("숏폼을 찾을 수 없습니다: " + shortformPk);
+        }
+        return 0; // 이미 좋아요함
+    }
+
+	// 롤백되면 좋아요 수도 바뀌지 않아야 하므로 커밋 후에 증감분을 기록
+	private void recordFavoriteDeltasAfterCommit(Long memberId, Map<Integer, Integer> deltas) {
+        Runnable record = () -> {
+            deltas.forEach((pk, delta) -> {
+                if (delta != 0) {
+                    favoriteCache.onFavoriteChanged(memberId, pk, delta > 0);
+                    counterService.recordFavorite(pk, delta);
+                    leaderboard.onFavorite(pk, delta);
+                    if (delta > 0) {
+                        trending.onFavorite(pk);
+                    }
+                    liveBroadcaster.onChange(pk);
+                }
+            });
+            if (deltas.values().stream().anyMatch(delta -> delta != 0)) {
+                personalizer.onFavoriteChanged(memberId); // 좋아요 기록이 바뀌었으니 맞춤 피드 다시 계산
+            }
+        };
+        afterCommit(record::run);
+    }
+
+	@FunctionalInterface
+	private interface CommitHook {
+        void run() throws Exception;
+    }
+
+	// 메모리 상태(순위 / 점수 / 미반영 개수 등)는 커밋된 뒤에만 반영. 롤백되면 DB 와 같이 그대로 남음
+	// 이미 커밋된 뒤이므로 실패해도 요청은 성공으로 두고 로그만 남김 (메모리 상태는 다음 재계산 때 맞춰짐)
+	private void afterCommit(CommitHook hook) {
+        Runnable run = () -> {
+            try {
+                hook.run();
+            } catch (Exception e) {
+                log.warn("커밋 후 숏폼 상태 반영 실패: {}", e.getMessage(), e);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            run.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                run.run();
+            }
+        });
+    }
+
+	// DB 좋아요 수(기억해둔 값, 없으면 한 번 조회) + 미반영분 + 아직 기록 전인 이번 요청의 증감분
+	private int currentFavoriteCount(int shortformPk, int uncommittedDelta) throws Exception {
+        return (int) Math.max(0, counterService.favoriteCount(shortformPk) + uncommittedDelta);
+    }
+
+	// 같은 숏폼에 대한 요청 누적: 마지막 명시적 상태(target) 이후의 토글 횟수만 의미가 있음
+	private static class FavoriteOp {
+        private Boolean target;
+        private int toggles;
+
+        void add(Boolean favorited) {
+            if (favorited != null) {
+                target = favorited;
+                toggles = 0;
+            } else {
+                toggles++;
+            }
+        }
     }
 }
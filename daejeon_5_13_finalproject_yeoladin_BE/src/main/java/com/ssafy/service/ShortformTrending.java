@@ -0,0 +1,263 @@
+package com.ssafy.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.dto.shortform.ShortformDto;
+import com.ssafy.dto.shortform.ShortformTrendingDto;
+import com.ssafy.repository.ShortformRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 트렌딩 숏폼 (시간 감쇠 점수)
+// 이벤트 점수를 현재 시각 기준으로 깎는 대신, 고정 기준 시각(EPOCH)에서 앞으로 당겨 e^(λ·(t - EPOCH)) 배로 쌓는다 (forward decay).
+// 이렇게 하면 지난 점수를 다시 계산할 필요가 없고, 순위는 쌓인 값 그대로 비교하면 된다.
+// 값이 금방 double 범위를 넘으므로 자연로그로 저장하고 log-sum-exp 로 더한다. (이벤트당 O(1), CAS 로 락 없이 갱신)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortformTrending {
+	private static final long EPOCH_MS = 1735657200000L; // 2025-01-01 00:00 KST (점수 기준 시각)
+	private static final double NO_SCORE = Double.NEGATIVE_INFINITY; // log(0)
+	private static final double PRUNE_BELOW = 1e-3; // 현재 점수가 이보다 작으면 메모리/테이블에서 정리
+	private static final int CHECKPOINT_BATCH_SIZE = 500;
+
+	private final ShortformRepository formRepo;
+	private final ShortformCounterService counterService;
+
+	@Value("${shortform.trending.half-life-hours}")
+	private double halfLifeHours;
+
+	@Value("${shortform.trending.view-weight}")
+	private double viewWeight;
+
+	@Value("${shortform.trending.favorite-weight}")
+	private double favoriteWeight;
+
+	@Value("${shortform.trending.size}")
+	private int size; // 미리 만들어 두는 목록 크기
+
+	// pk -> 로그 점수 (double 비트를 AtomicLong 에 담아 CAS)
+	private final Map<Integer, AtomicLong> scores = new ConcurrentHashMap<>();
+	// 마지막 체크포인트 이후 점수가 바뀐 pk
+	private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+
+	private volatile List<ShortformDto> cached = List.of();
+	private volatile boolean snapshotReady;
+
+	public void onView(int pk) {
+		add(pk, viewWeight, System.currentTimeMillis());
+	}
+
+	// 좋아요 취소는 점수에서 빼지 않음 (이미 받은 관심은 시간이 지나면 자연히 감쇠)
+	public void onFavorite(int pk) {
+		add(pk, favoriteWeight, System.currentTimeMillis());
+	}
+
+	public void onDelete(int pk) {
+		scores.remove(pk);
+		dirty.remove(pk); // 테이블 행은 FK CASCADE 로 같이 삭제됨
+		cached = cached.stream().filter(video -> video.getPk() != pk).toList(); // 다음 갱신 전까지 미리 만든 목록에서도 제외
+	}
+
+	void add(int pk, double weight, long nowMs) {
+		if (weight <= 0) {
+			return;
+		}
+		mergeLog(pk, Math.log(weight) + lambdaPerMs() * (nowMs - EPOCH_MS));
+		dirty.add(pk);
+	}
+
+	// 로그 점수에 logTerm 을 더함 (log-sum-exp, CAS 재시도)
+	private void mergeLog(int pk, double logTerm) {
+		AtomicLong cell = scores.get(pk);
+		if (cell == null) {
+			cell = scores.computeIfAbsent(pk, k -> new AtomicLong(Double.doubleToRawLongBits(NO_SCORE)));
+		}
+		long prev;
+		long next;
+		do {
+			prev = cell.get();
+			next = Double.doubleToRawLongBits(logAddExp(Double.longBitsToDouble(prev), logTerm));
+		} while (!cell.compareAndSet(prev, next));
+	}
+
+	// 트렌딩 상위 limit 개. 스케줄러가 cache-ms 마다 미리 만들어 둔 목록을 그대로 돌려줌 (요청에서는 계산 / 조회 없음)
+	// 미리 만든 개수(shortform.trending.size)보다 많이 요청하거나 아직 한 번도 만들지 못했으면 그때만 직접 계산
+	public List<ShortformDto> top(int limit) throws Exception {
+		List<ShortformDto> snapshot = cached;
+		if (limit > size || !snapshotReady) {
+			return load(limit);
+		}
+		return snapshot.size() <= limit ? snapshot : snapshot.subList(0, limit);
+	}
+
+	@Scheduled(fixedDelayString = "${shortform.trending.cache-ms}")
+	public synchronized void refreshTop() {
+		try {
+			cached = List.copyOf(load(size));
+			snapshotReady = true;
+		} catch (Exception e) {
+			log.warn("트렌딩 목록 갱신 실패, 이전 목록 유지: {}", e.getMessage());
+		}
+	}
+
+	private List<ShortformDto> load(int limit) throws Exception {
+		List<Integer> pks = topPks(limit);
+		List<ShortformDto> result = new ArrayList<>(pks.size());
+		if (!pks.isEmpty()) {
+			Map<Integer, ShortformDto> rows = new HashMap<>();
+			for (ShortformDto row : formRepo.selectVideosByPks(pks)) {
+				rows.put(row.getPk(), row);
+			}
+			for (Integer pk : pks) { // 점수 순서 유지
+				ShortformDto row = rows.get(pk);
+				if (row != null) {
+					row.setViews(row.getViews() + (int) counterService.pendingViews(pk));
+					row.setFavoriteCount((int) Math.max(0, row.getFavoriteCount() + counterService.pendingFavorites(pk)));
+					result.add(row);
+				}
+			}
+		}
+		return result;
+	}
+
+	// 로그 점수 상위 limit 개 pk (크기 limit 의 최소 힙으로 한 번 훑음)
+	List<Integer> topPks(int limit) {
+		PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+		for (Map.Entry<Integer, AtomicLong> entry : scores.entrySet()) {
+			double logScore = Double.longBitsToDouble(entry.getValue().get());
+			if (heap.size() < limit) {
+				heap.add(Map.entry(entry.getKey(), logScore));
+			} else if (limit > 0 && logScore > heap.peek().getValue()) {
+				heap.poll();
+				heap.add(Map.entry(entry.getKey(), logScore));
+			}
+		}
+		List<Map.Entry<Integer, Double>> top = new ArrayList<>(heap);
+		top.sort(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder()));
+		return top.stream().map(Map.Entry::getKey).toList();
+	}
+
+	// 현재 시각 기준 감쇠된 점수 (로그 점수에서 기준 시각 이후 경과분만큼 빼서 되돌림)
+	public double currentScore(int pk) {
+		AtomicLong cell = scores.get(pk);
+		if (cell == null) {
+			return 0;
+		}
+		return Math.exp(Double.longBitsToDouble(cell.get()) - lambdaPerMs() * (System.currentTimeMillis() - EPOCH_MS));
+	}
+
+	// 재시작 시 마지막 체크포인트에서 점수 복원 (반감기 설정이 바뀌었으면 현재 시각 기준 점수를 유지하도록 환산)
+	@EventListener(ApplicationReadyEvent.class)
+	public void restore() {
+		try {
+			long elapsed = System.currentTimeMillis() - EPOCH_MS;
+			long halfLifeMs = halfLifeMs();
+			int converted = 0;
+			for (ShortformTrendingDto row : formRepo.findTrendingScores()) {
+				double logScore = row.getLogScore();
+				if (row.getHalfLifeMs() != halfLifeMs && row.getHalfLifeMs() > 0) {
+					double storedLambda = Math.log(2) / row.getHalfLifeMs();
+					logScore += (lambdaPerMs() - storedLambda) * elapsed;
+					dirty.add(row.getShortformPk());
+					converted++;
+				}
+				// 복원 전에 들어온 이벤트 점수와 합침
+				mergeLog(row.getShortformPk(), logScore);
+			}
+			log.info("트렌딩 점수 복원: {}개 (반감기 변경으로 환산 {}개)", scores.size(), converted);
+		} catch (Exception e) {
+			log.error("트렌딩 점수 복원 실패: {}", e.getMessage(), e);
+		}
+		refreshTop(); // 복원한 점수로 첫 목록
+	}
+
+	@Scheduled(fixedDelayString = "${shortform.trending.checkpoint-interval-ms}")
+	public void scheduledCheckpoint() {
+		checkpoint();
+	}
+
+	@PreDestroy
+	public void checkpointOnShutdown() {
+		checkpoint();
+		log.info("종료 전 트렌딩 점수 저장 완료");
+	}
+
+	// 바뀐 점수만 upsert 하고, 충분히 감쇠된 점수는 정리
+	public synchronized void checkpoint() {
+		long halfLifeMs = halfLifeMs();
+		double floor = Math.log(PRUNE_BELOW) + lambdaPerMs() * (System.currentTimeMillis() - EPOCH_MS);
+
+		List<ShortformTrendingDto> changed = new ArrayList<>();
+		for (Integer pk : dirty) {
+			dirty.remove(pk);
+			AtomicLong cell = scores.get(pk);
+			if (cell != null) {
+				changed.add(new ShortformTrendingDto(pk, Double.longBitsToDouble(cell.get()), halfLifeMs));
+			}
+		}
+		List<Integer> pruned = new ArrayList<>();
+		scores.forEach((pk, cell) -> {
+			if (Double.longBitsToDouble(cell.get()) < floor && scores.remove(pk, cell)) {
+				pruned.add(pk);
+			}
+		});
+
+		for (int from = 0; from < changed.size(); from += CHECKPOINT_BATCH_SIZE) {
+			List<ShortformTrendingDto> batch = changed.subList(from, Math.min(from + CHECKPOINT_BATCH_SIZE, changed.size()));
+			try {
+				formRepo.upsertTrendingScores(batch);
+			} catch (Exception e) {
+				log.error("트렌딩 점수 저장 실패 ({}건), 다음 주기에 재시도: {}", batch.size(), e.getMessage(), e);
+				batch.forEach(row -> dirty.add(row.getShortformPk()));
+			}
+		}
+		for (int from = 0; from < pruned.size(); from += CHECKPOINT_BATCH_SIZE) {
+			try {
+				formRepo.deleteTrendingScores(pruned.subList(from, Math.min(from + CHECKPOINT_BATCH_SIZE, pruned.size())));
+			} catch (Exception e) {
+				log.warn("감쇠된 트렌딩 점수 정리 실패: {}", e.getMessage());
+			}
+		}
+		if (!changed.isEmpty() || !pruned.isEmpty()) {
+			log.debug("트렌딩 점수 저장: {}건, 정리: {}건", changed.size(), pruned.size());
+		}
+	}
+
+	private long halfLifeMs() {
+		return (long) (halfLifeHours * TimeUnit.HOURS.toMillis(1));
+	}
+
+	private double lambdaPerMs() {
+		return Math.log(2) / halfLifeMs();
+	}
+
+	// log(e^a + e^b) 를 넘침 없이 계산
+	static double logAddExp(double a, double b) {
+		if (a == NO_SCORE) {
+			return b;
+		}
+		if (b == NO_SCORE) {
+			return a;
+		}
+		double max = Math.max(a, b);
+		return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+	}
+}
@@ -0,0 +1,356 @@
+package com.ssafy.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ssafy.dto.shortform.ShortformUploadDto;
+import com.ssafy.service.MediaStorageService.MediaKind;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 대용량 숏폼 이어올리기 (tus 프로토콜 방식)
+// 1. 세션 생성 시 전체 크기만큼 파일을 미리 할당
+// 2. 청크는 요청 바디를 FileChannel.transferFrom 으로 바로 이어붙임 (메모리에 전체를 올리지 않음)
+// 3. 모두 받으면 업로드 폴더로 옮긴 뒤 기존 insertVideo 흐름으로 등록
+// ⭐ 추가: 세션 정보(회원 / 크기 / offset)는 .part 옆 .session 파일에도 저장해서 재시작 후에도 이어받기 가능
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShortformUploadService {
+	private static final String STAGING_DIR = ".uploads";
+	private static final String PART_SUFFIX = ".part";
+	private static final String SESSION_SUFFIX = ".session";
+	private static final long TRANSFER_CHUNK = 1024 * 1024; // transferFrom 1회당 최대 1MB
+
+	@Value("${file.upload-dir}")
+	private String uploadDir;
+
+	@Value("${shortform.upload.max-length}")
+	private long maxLength;
+
+	@Value("${shortform.upload.session-ttl-minutes}")
+	private long sessionTtlMinutes;
+
+	private final MediaStorageService mediaStorage;
+	private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+	// 재시작 전에 만든 세션을 .session 파일로 복구 (받은 offset 부터 이어받기)
+	@PostConstruct
+	public void restoreSessions() {
+		Path stagingPath = stagingPath();
+		if (!Files.isDirectory(stagingPath)) {
+			return;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(stagingPath, "*" + SESSION_SUFFIX)) {
+			for (Path sessionFile : files) {
+				String uploadId = sessionFile.getFileName().toString().replace(SESSION_SUFFIX, "");
+				try {
+					UploadSession session = readSession(uploadId, sessionFile);
+					if (session == null) {
+						Files.deleteIfExists(sessionFile); // .part 가 없으면 복구할 내용이 없음
+						continue;
+					}
+					sessions.put(uploadId, session);
+				} catch (IOException | RuntimeException e) {
+					log.warn("업로드 세션 복구 실패: {} ({})", sessionFile, e.getMessage());
+				}
+			}
+		} catch (IOException e) {
+			log.warn("업로드 세션 복구 실패: {}", stagingPath, e);
+		}
+		if (!sessions.isEmpty()) {
+			log.info("업로드 세션 복구: {}개", sessions.size());
+		}
+	}
+
+	public ShortformUploadDto createSession(Long memberId, long length, String filename) throws IOException {
+		if (length <= 0) {
+			throw new IllegalArgumentException("업로드 크기가 올바르지 않습니다.");
+		}
+		if (length > maxLength) {
+			throw new IllegalArgumentException("업로드 가능한 최대 크기를 초과했습니다. (max " + maxLength + " bytes)");
+		}
+
+		Path stagingPath = stagingPath();
+		Files.createDirectories(stagingPath);
+
+		String uploadId = UUID.randomUUID().toString();
+		Path file = stagingPath.resolve(uploadId + PART_SUFFIX);
+		// 전체 크기만큼 미리 할당해두고 청크는 offset 위치에 바로 씀
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.setLength(length);
+		}
+
+		UploadSession session = new UploadSession(uploadId, memberId, filename, length, file);
+		writeSession(session);
+		sessions.put(uploadId, session);
+		log.info("업로드 세션 생성: id={}, member={}, length={}", uploadId, memberId, length);
+		return session.toDto();
+	}
+
+	public ShortformUploadDto getSession(String uploadId, Long memberId) throws IllegalAccessException {
+		return findSession(uploadId, memberId).toDto();
+	}
+
+	// offset 위치에 요청 바디를 이어붙이고 새 offset 반환
+	// 연결이 중간에 끊겨도 그때까지 받은 바이트는 offset 에 반영되어 다음 요청에서 이어서 보낼 수 있음
+	public long appendChunk(String uploadId, Long memberId, long offset, InputStream body)
+			throws IOException, IllegalAccessException {
+		UploadSession session = findSession(uploadId, memberId);
+		if (!session.lock.tryLock()) {
+			throw new IllegalStateException("같은 업로드에 대한 다른 요청이 진행 중입니다.");
+		}
+		try {
+			session.checkOpen();
+			if (offset != session.offset) {
+				throw new IllegalStateException("Upload-Offset 이 서버 offset(" + session.offset + ")과 다릅니다.");
+			}
+
+			ReadableByteChannel source = Channels.newChannel(body);
+			try (FileChannel channel = FileChannel.open(session.file, StandardOpenOption.WRITE)) {
+				long position = session.offset;
+				while (position < session.length) {
+					long written = channel.transferFrom(source, position, Math.min(TRANSFER_CHUNK, session.length - position));
+					if (written <= 0) {
+						break; // 요청 바디 끝
+					}
+					position += written;
+					session.offset = position;
+				}
+			} finally {
+				session.touch();
+				saveOffset(session);
+			}
+			return session.offset;
+		} finally {
+			session.lock.unlock();
+		}
+	}
+
+	// 모든 바이트를 받은 세션을 업로드 폴더로 옮기고, DB에 저장할 파일명을 반환
+	public String completeSession(String uploadId, Long memberId) throws IOException, IllegalAccessException {
+		UploadSession session = findSession(uploadId, memberId);
+		if (!session.lock.tryLock()) {
+			throw new IllegalStateException("같은 업로드에 대한 다른 요청이 진행 중입니다.");
+		}
+		try {
+			session.checkOpen();
+			if (session.offset != session.length) {
+				throw new IllegalStateException("아직 업로드가 끝나지 않았습니다. (" + session.offset + "/" + session.length + ")");
+			}
+
+			// 처리 대기 이름으로 옮기기만 함 (해시 / faststart / 중복 제거는 후처리 작업에서)
+			String storedName = mediaStorage.storePendingFile(MediaKind.VIDEO, session.file, session.filename);
+			session.closed = true;
+			sessions.remove(uploadId);
+			deleteSessionFile(session);
+			log.info("업로드 세션 완료: id={}, file={}", uploadId, storedName);
+			return storedName;
+		} finally {
+			session.lock.unlock();
+		}
+	}
+
+	public void abortSession(String uploadId, Long memberId) throws IOException, IllegalAccessException {
+		UploadSession session = findSession(uploadId, memberId);
+		// 이어받기 / 완료 요청이 파일을 쓰거나 옮기는 중이면 끝날 때까지 기다렸다가 삭제
+		session.lock.lock();
+		try {
+			session.checkOpen();
+			session.closed = true;
+			sessions.remove(uploadId, session);
+			Files.deleteIfExists(session.file);
+			deleteSessionFile(session);
+		} finally {
+			session.lock.unlock();
+		}
+		log.info("업로드 세션 취소: id={}", uploadId);
+	}
+
+	// 오래 방치된 세션과, 서버 재시작으로 주인을 잃은 임시 파일 정리
+	@Scheduled(fixedDelayString = "${shortform.upload.cleanup-interval-ms}")
+	public void cleanupExpiredSessions() {
+		long expireBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(sessionTtlMinutes);
+
+		sessions.values().removeIf(session -> {
+			// 사용 중인 세션은 건너뜀. 잠근 뒤에는 다른 요청이 이 세션을 쓸 수 없음
+			if (session.lastTouched >= expireBefore || !session.lock.tryLock()) {
+				return false;
+			}
+			try {
+				if (session.closed || session.lastTouched >= expireBefore) {
+					return false; // 잠그는 사이에 완료 / 취소 / 이어받기됨
+				}
+				session.closed = true;
+				try {
+					Files.deleteIfExists(session.file);
+					deleteSessionFile(session);
+				} catch (IOException e) {
+					log.warn("만료된 업로드 파일 삭제 실패: {}", session.file, e);
+				}
+				log.info("만료된 업로드 세션 삭제: id={}", session.uploadId);
+				return true;
+			} finally {
+				session.lock.unlock();
+			}
+		});
+
+		Path stagingPath = stagingPath();
+		if (!Files.isDirectory(stagingPath)) {
+			return;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(stagingPath, "*{" + PART_SUFFIX + "," + SESSION_SUFFIX + "}")) {
+			for (Path file : files) {
+				String uploadId = file.getFileName().toString().replace(PART_SUFFIX, "").replace(SESSION_SUFFIX, "");
+				if (!sessions.containsKey(uploadId) && Files.getLastModifiedTime(file).toMillis() < expireBefore) {
+					Files.deleteIfExists(file);
+				}
+			}
+		} catch (IOException e) {
+			log.warn("업로드 임시 폴더 정리 실패: {}", stagingPath, e);
+		}
+	}
+
+	private UploadSession findSession(String uploadId, Long memberId) throws IllegalAccessException {
+		UploadSession session = sessions.get(uploadId);
+		if (session == null) {
+			throw new NoSuchElementException("업로드 세션을 찾을 수 없습니다: " + uploadId);
+		}
+		if (!Objects.equals(session.memberId, memberId)) {
+			throw new IllegalAccessException("다른 사용자의 업로드 세션입니다.");
+		}
+		return session;
+	}
+
+	private Path stagingPath() {
+		return Paths.get(uploadDir).toAbsolutePath().normalize().resolve(STAGING_DIR);
+	}
+
+	private Path sessionFile(UploadSession session) {
+		return session.file.resolveSibling(session.uploadId + SESSION_SUFFIX);
+	}
+
+	// 받은 바이트를 디스크에 쓴 뒤 offset 기록 (기록된 offset 이 실제보다 앞서지 않도록)
+	// 기록에 실패해도 요청은 그대로 성공. 재시작하면 이전 offset 부터 다시 받음
+	private void saveOffset(UploadSession session) {
+		try (FileChannel channel = FileChannel.open(session.file, StandardOpenOption.WRITE)) {
+			channel.force(false);
+			writeSession(session);
+		} catch (IOException e) {
+			log.warn("업로드 세션 offset 저장 실패: id={} ({})", session.uploadId, e.getMessage());
+		}
+	}
+
+	// 임시 파일에 쓴 뒤 바꿔치기해서 중간에 끊겨도 이전 내용이 남음
+	private void writeSession(UploadSession session) throws IOException {
+		Properties properties = new Properties();
+		if (session.memberId != null) {
+			properties.setProperty("memberId", String.valueOf(session.memberId));
+		}
+		if (session.filename != null) {
+			properties.setProperty("filename", session.filename);
+		}
+		properties.setProperty("length", String.valueOf(session.length));
+		properties.setProperty("offset", String.valueOf(session.offset));
+
+		Path target = sessionFile(session);
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		try (OutputStream out = Files.newOutputStream(temp)) {
+			properties.store(out, null);
+		}
+		try {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private UploadSession readSession(String uploadId, Path sessionFile) throws IOException {
+		Path file = sessionFile.resolveSibling(uploadId + PART_SUFFIX);
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+		Properties properties = new Properties();
+		try (Reader in = Files.newBufferedReader(sessionFile, StandardCharsets.ISO_8859_1)) {
+			properties.load(in);
+		}
+		String memberId = properties.getProperty("memberId");
+		UploadSession session = new UploadSession(uploadId, memberId != null ? Long.valueOf(memberId) : null,
+				properties.getProperty("filename"), Long.parseLong(properties.getProperty("length")), file);
+		session.offset = Math.min(Long.parseLong(properties.getProperty("offset", "0")), session.length);
+		session.lastTouched = Files.getLastModifiedTime(sessionFile).toMillis();
+		return session;
+	}
+
+	private void deleteSessionFile(UploadSession session) {
+		try {
+			Files.deleteIfExists(sessionFile(session));
+		} catch (IOException e) {
+			log.warn("업로드 세션 파일 삭제 실패: id={} ({})", session.uploadId, e.getMessage());
+		}
+	}
+
+	private static class UploadSession {
+		private final String uploadId;
+		private final Long memberId;
+		private final String filename;
+		private final long length;
+		private final Path file;
+		private final ReentrantLock lock = new ReentrantLock();
+		private volatile long offset;
+		private volatile long lastTouched = System.currentTimeMillis();
+		private boolean closed; // 완료 / 취소 / 만료됨 (lock 을 잡고 읽고 씀)
+
+		UploadSession(String uploadId, Long memberId, String filename, long length, Path file) {
+			this.uploadId = uploadId;
+			this.memberId = memberId;
+			this.filename = filename;
+			this.length = length;
+			this.file = file;
+		}
+
+		void touch() {
+			lastTouched = System.currentTimeMillis();
+		}
+
+		// 잠근 뒤 호출. 기다리는 사이 취소 / 만료된 세션이면 없는 세션으로 처리
+		void checkOpen() {
+			if (closed) {
+				throw new NoSuchElementException("업로드 세션을 찾을 수 없습니다: " + uploadId);
+			}
+		}
+
+		ShortformUploadDto toDto() {
+			return new ShortformUploadDto(uploadId, filename, length, offset);
+		}
+	}
+}
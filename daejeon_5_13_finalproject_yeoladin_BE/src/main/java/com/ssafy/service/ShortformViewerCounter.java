@@ -0,0 +1,297 @@
+package com.ssafy.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ssafy.dto.shortform.ShortformDto;
+import com.ssafy.dto.shortform.ShortformViewerSketchDto;
+import com.ssafy.dto.shortform.ShortformViewerStatsDto;
+import com.ssafy.repository.ShortformRepository;
+import com.ssafy.sketch.HyperLogLog;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// 숏폼별 고유 시청자 수 (HyperLogLog)
+// 조회 요청마다 시청자 키(회원 id 또는 익명 지문)의 해시만 메모리에 모아뒀다가, 주기적으로 DB 스케치(일별 + 전체)에 합쳐서 저장.
+// 합치기가 레지스터별 최댓값이라 같은 해시를 두 번 합쳐도 결과가 같으므로, 실패하면 그대로 되돌려서 다음 주기에 다시 합침.
+// 주간 값은 최근 7일 일별 스케치의 합집합. shortform.unique_viewers 에는 전체 기간 추정값을 같이 반영 (목록 조회용)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShortformViewerCounter {
+	public static final String ALL = "ALL";
+	private static final int FLUSH_BATCH_SIZE = 200;     // 한 번에 읽고 쓸 숏폼 수 (스케치 하나 4KB)
+	private static final int MAX_PENDING_HASHES = 512;   // 이보다 많이 쌓이면 해시 목록 대신 스케치 하나로 (둘 다 4KB)
+	private static final int MAX_STATS_PKS = 500;
+
+	public enum Window {
+		DAY(1), WEEK(7), ALL(0);
+
+		private final int days;
+
+		Window(int days) {
+			this.days = days;
+		}
+	}
+
+	private final ShortformRepository formRepo;
+
+	@Value("${shortform.viewers.day-retention}")
+	private int dayRetention; // 일별 스케치 보관 일수
+
+	// 날짜 -> 숏폼 pk -> 아직 DB 에 합치지 않은 시청자
+	private Map<String, Map<Integer, PendingViewers>> pending = new ConcurrentHashMap<>();
+	private final ReadWriteLock swapLock = new ReentrantReadWriteLock(); // 기록은 동시에, 꺼낼 때만 배타적으로
+	private volatile LocalDate lastPruned;
+
+	// 회원이면 회원 id, 아니면 접속 주소 + User-Agent (원문은 저장하지 않고 해시만 사용)
+	public static String viewerKey(Long memberId, String remoteAddr, String userAgent) {
+		return memberId != null ? "m:" + memberId : "a:" + remoteAddr + "|" + (userAgent != null ? userAgent : "");
+	}
+
+	public void recordView(int pk, String viewerKey) {
+		long hash = HyperLogLog.hash(viewerKey);
+		swapLock.readLock().lock();
+		try {
+			pending.computeIfAbsent(LocalDate.now().toString(), d -> new ConcurrentHashMap<>())
+					.computeIfAbsent(pk, k -> new PendingViewers())
+					.add(hash);
+		} finally {
+			swapLock.readLock().unlock();
+		}
+	}
+
+	// 삭제된 숏폼의 미반영분은 버림 (DB 스케치는 FK CASCADE 로 삭제)
+	public void discard(int pk) {
+		swapLock.readLock().lock();
+		try {
+			pending.values().forEach(byPk -> byPk.remove(pk));
+		} finally {
+			swapLock.readLock().unlock();
+		}
+	}
+
+	// 여러 숏폼을 합친 고유 시청자 수 (대시보드용). 미반영분도 포함
+	public ShortformViewerStatsDto uniqueViewers(List<Integer> pks, Window window) throws Exception {
+		if (pks.isEmpty() || pks.size() > MAX_STATS_PKS) {
+			throw new IllegalArgumentException("pks 는 1~" + MAX_STATS_PKS + "개까지 가능합니다.");
+		}
+		List<String> buckets = buckets(window);
+		HyperLogLog union = new HyperLogLog();
+		for (ShortformViewerSketchDto sketch : formRepo.findViewerSketches(pks, buckets)) {
+			union.merge(HyperLogLog.fromBytes(sketch.getRegisters()));
+		}
+		swapLock.readLock().lock();
+		try {
+			pending.forEach((day, byPk) -> {
+				if (window == Window.ALL || buckets.contains(day)) {
+					for (Integer pk : pks) {
+						PendingViewers viewers = byPk.get(pk);
+						if (viewers != null) {
+							viewers.applyTo(union);
+						}
+					}
+				}
+			});
+		} finally {
+			swapLock.readLock().unlock();
+		}
+		return new ShortformViewerStatsDto(window.name(), pks, union.estimate());
+	}
+
+	@Scheduled(fixedDelayString = "${shortform.viewers.flush-interval-ms}")
+	public void scheduledFlush() {
+		flush();
+		pruneOldDays();
+	}
+
+	@PreDestroy
+	public void flushOnShutdown() {
+		flush();
+		log.info("종료 전 고유 시청자 스케치 반영 완료");
+	}
+
+	public synchronized void flush() {
+		Map<String, Map<Integer, PendingViewers>> drained;
+		swapLock.writeLock().lock();
+		try {
+			if (pending.isEmpty()) {
+				return;
+			}
+			drained = pending;
+			pending = new ConcurrentHashMap<>();
+		} finally {
+			swapLock.writeLock().unlock();
+		}
+
+		Set<Integer> pkSet = new HashSet<>();
+		drained.values().forEach(byPk -> pkSet.addAll(byPk.keySet()));
+		List<Integer> pks = new ArrayList<>(pkSet);
+		for (int from = 0; from < pks.size(); from += FLUSH_BATCH_SIZE) {
+			List<Integer> batch = pks.subList(from, Math.min(from + FLUSH_BATCH_SIZE, pks.size()));
+			try {
+				flushBatch(batch, drained);
+			} catch (Exception e) {
+				log.error("고유 시청자 스케치 반영 실패 ({}건), 다음 주기에 재시도: {}", batch.size(), e.getMessage(), e);
+				restore(batch, drained);
+			}
+		}
+		log.debug("고유 시청자 스케치 반영: {}건", pks.size());
+	}
+
+	// 저장된 스케치를 읽어서 미반영분을 합치고 다시 씀 (일별 + 전체)
+	private void flushBatch(List<Integer> pks, Map<String, Map<Integer, PendingViewers>> drained) throws Exception {
+		List<String> buckets = new ArrayList<>(drained.keySet());
+		buckets.add(ALL);
+		Map<String, HyperLogLog> sketches = new HashMap<>();
+		for (ShortformViewerSketchDto stored : formRepo.findViewerSketches(pks, buckets)) {
+			sketches.put(stored.getShortformPk() + "/" + stored.getBucket(), HyperLogLog.fromBytes(stored.getRegisters()));
+		}
+
+		Map<String, ShortformViewerSketchDto> changed = new HashMap<>();
+		for (Map.Entry<String, Map<Integer, PendingViewers>> day : drained.entrySet()) {
+			for (Integer pk : pks) {
+				PendingViewers viewers = day.getValue().get(pk);
+				if (viewers == null) {
+					continue;
+				}
+				for (String bucket : List.of(day.getKey(), ALL)) {
+					String key = pk + "/" + bucket;
+					viewers.applyTo(sketches.computeIfAbsent(key, k -> new HyperLogLog()));
+					changed.put(key, new ShortformViewerSketchDto(pk, bucket, null));
+				}
+			}
+		}
+
+		List<ShortformViewerSketchDto> rows = new ArrayList<>();
+		List<ShortformDto> counts = new ArrayList<>();
+		for (Map.Entry<String, ShortformViewerSketchDto> entry : changed.entrySet()) {
+			HyperLogLog sketch = sketches.get(entry.getKey());
+			ShortformViewerSketchDto row = entry.getValue();
+			row.setRegisters(sketch.toBytes());
+			rows.add(row);
+			if (ALL.equals(row.getBucket())) {
+				ShortformDto count = new ShortformDto();
+				count.setPk(row.getShortformPk());
+				count.setUniqueViewers((int) Math.min(Integer.MAX_VALUE, sketch.estimate()));
+				counts.add(count);
+			}
+		}
+		formRepo.upsertViewerSketches(rows);
+		formRepo.updateUniqueViewers(counts);
+	}
+
+	private void restore(List<Integer> pks, Map<String, Map<Integer, PendingViewers>> drained) {
+		swapLock.readLock().lock();
+		try {
+			drained.forEach((day, byPk) -> {
+				for (Integer pk : pks) {
+					PendingViewers viewers = byPk.get(pk);
+					if (viewers != null) {
+						pending.computeIfAbsent(day, d -> new ConcurrentHashMap<>())
+								.computeIfAbsent(pk, k -> new PendingViewers())
+								.addAll(viewers);
+					}
+				}
+			});
+		} finally {
+			swapLock.readLock().unlock();
+		}
+	}
+
+	// 보관 기간이 지난 일별 스케치 삭제 (하루 한 번)
+	private void pruneOldDays() {
+		LocalDate today = LocalDate.now();
+		if (today.equals(lastPruned)) {
+			return;
+		}
+		try {
+			int deleted = formRepo.deleteViewerSketchesBefore(today.minusDays(dayRetention).toString());
+			lastPruned = today;
+			if (deleted > 0) {
+				log.info("지난 일별 시청자 스케치 {}건 삭제", deleted);
+			}
+		} catch (Exception e) {
+			log.warn("지난 일별 시청자 스케치 삭제 실패: {}", e.getMessage());
+		}
+	}
+
+	private static List<String> buckets(Window window) {
+		if (window == Window.ALL) {
+			return List.of(ALL);
+		}
+		LocalDate today = LocalDate.now();
+		List<String> buckets = new ArrayList<>(window.days);
+		for (int i = 0; i < window.days; i++) {
+			buckets.add(today.minusDays(i).toString());
+		}
+		return buckets;
+	}
+
+	// 한 숏폼의 미반영 시청자. 적을 때는 해시 목록, 많아지면 스케치 하나로 바꿔서 메모리를 4KB 로 제한
+	static final class PendingViewers {
+		private long[] hashes = new long[8];
+		private int size;
+		private HyperLogLog sketch;
+
+		synchronized void add(long hash) {
+			if (sketch != null) {
+				sketch.addHash(hash);
+				return;
+			}
+			if (size == hashes.length) {
+				if (size >= MAX_PENDING_HASHES) {
+					sketch = new HyperLogLog();
+					for (int i = 0; i < size; i++) {
+						sketch.addHash(hashes[i]);
+					}
+					sketch.addHash(hash);
+					hashes = null;
+					return;
+				}
+				hashes = Arrays.copyOf(hashes, size * 2);
+			}
+			hashes[size++] = hash;
+		}
+
+		synchronized void applyTo(HyperLogLog target) {
+			if (sketch != null) {
+				target.merge(sketch);
+				return;
+			}
+			for (int i = 0; i < size; i++) {
+				target.addHash(hashes[i]);
+			}
+		}
+
+		void addAll(PendingViewers other) {
+			HyperLogLog merged = new HyperLogLog();
+			other.applyTo(merged);
+			synchronized (this) {
+				if (sketch == null) {
+					sketch = new HyperLogLog();
+					for (int i = 0; i < size; i++) {
+						sketch.addHash(hashes[i]);
+					}
+					hashes = null;
+				}
+				sketch.merge(merged);
+			}
+		}
+	}
+}
@@ -126,9 +126,25 @@ CREATE TABLE IF NOT EXISTS shortform (
     favorite_count INT DEFAULT 0,
     date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     -- favorite INT DEFAULT 0, -- 이전에 논의된 대로, member_favorite_shortform 테이블로 관리
-    videofile VARCHAR(255) NOT NULL
+    videofile VARCHAR(255) NOT NULL,
+    duration_ms INT NULL,           -- 업로드 시 MP4 에서 읽은 재생 시간 / 해상도 / 코덱 (MP4 가 아니면 NULL)
+    width INT NULL,
+    height INT NULL,
+    video_codec VARCHAR(32) NULL,
+    playlist VARCHAR(255) NULL,     -- HLS 재생목록 (/videos/ 기준 경로, 패키징 전이거나 MP4 가 아니면 NULL)
+    hls_skipped VARCHAR(255) NULL,  -- HLS 패키징 대상이 아닌 것으로 확인된 videofile (같은 파일이면 작업을 다시 넣지 않음)
+    unique_viewers INT NOT NULL DEFAULT 0, -- 고유 시청자 추정값 (shortform_viewer_sketch 'ALL' 스케치 기준)
+    INDEX idx_shortform_date_pk (date, pk) -- 피드 커서 페이지 조회용 (ORDER BY date DESC, pk DESC)
 );
 
+-- 기존 DB 에 컬럼 추가
+-- ALTER TABLE shortform ADD COLUMN duration_ms INT NULL, ADD COLUMN width INT NULL,
+--     ADD COLUMN height INT NULL, ADD COLUMN video_codec VARCHAR(32) NULL;
+-- ALTER TABLE shortform ADD COLUMN playlist VARCHAR(255) NULL;
+-- ALTER TABLE shortform ADD COLUMN hls_skipped VARCHAR(255) NULL;
+-- ALTER TABLE shortform ADD COLUMN unique_viewers INT NOT NULL DEFAULT 0;
+-- ALTER TABLE shortform ADD INDEX idx_shortform_date_pk (date, pk);
+
 -- -----------------------------------------------------
 -- Table shortform_to_contenttype (숏폼-콘텐츠타입 연결 테이블 - 신규)
 -- shortform과 contenttypes 간의 다대다 관계를 위한 중간 테이블
@@ -155,6 +171,31 @@ CREATE TABLE IF NOT EXISTS member_favorite_shortform (
     FOREIGN KEY (shortform_pk) REFERENCES shortform(pk) ON DELETE CASCADE -- 게시물이 삭제되면 관련 좋아요 기록도 삭제
 );
 
+-----
+-- Table shortform trending score checkpoint
+-- 메모리의 시간 감쇠 점수를 주기적으로 저장 (재시작 시 복원)
+-----
+CREATE TABLE IF NOT EXISTS shortform_trending (
+    shortform_pk INT NOT NULL PRIMARY KEY,
+    log_score DOUBLE NOT NULL,          -- 기준 시각(2025-01-01)으로 앞당겨 쌓은 점수의 자연로그
+    half_life_ms BIGINT NOT NULL,       -- 저장 당시 반감기 (설정 변경 시 복원하면서 환산)
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (shortform_pk) REFERENCES shortform(pk) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-----
+-- ⭐ 추가: Table shortform_viewer_sketch
+-- 숏폼별 고유 시청자 HyperLogLog 레지스터 (bucket: 'ALL' = 전체 기간, yyyy-MM-dd = 일별)
+-----
+CREATE TABLE IF NOT EXISTS shortform_viewer_sketch (
+    shortform_pk INT NOT NULL,
+    bucket VARCHAR(10) NOT NULL,
+    registers BLOB NOT NULL,            -- 4096 바이트 (p=12)
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (shortform_pk, bucket),
+    FOREIGN KEY (shortform_pk) REFERENCES shortform(pk) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
 
 
 -----
@@ -174,6 +215,48 @@ CREATE TABLE IF NOT EXISTS member_preferred_contenttype (
 ) ENGINE = InnoDB;
 
 
+-----
+-- Table media_file (업로드 파일 중복 제거)
+-- 같은 내용의 영상 / 이미지는 "<SHA-256>.<확장자>" 파일 하나만 저장하고 참조 수로 공유
+-- stored_name 은 shortform.videofile / images.stored_name 에 그대로 저장되는 값
+-----
+CREATE TABLE IF NOT EXISTS media_file (
+    kind VARCHAR(10) NOT NULL,              -- VIDEO / IMAGE
+    content_hash CHAR(64) NOT NULL,         -- SHA-256 (hex)
+    stored_name VARCHAR(255) NOT NULL,
+    size BIGINT NOT NULL,
+    ref_count INT NOT NULL DEFAULT 1,       -- 0 이 되면 행과 파일을 같이 삭제
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (kind, content_hash)
+) ENGINE = InnoDB;
+
+
+-- ---
+-- Table media_job (업로드 후처리 작업 큐)
+-- 업로드 요청은 파일을 pending-<UUID> 이름으로만 옮겨두고 작업을 넣은 뒤 바로 응답
+-- 워커가 SELECT ... FOR UPDATE SKIP LOCKED 로 작업을 가져가서 처리 (서버 여러 대여도 한 작업은 한 곳에서만)
+-- ---
+CREATE TABLE IF NOT EXISTS media_job (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_type VARCHAR(20) NOT NULL,          -- SHORTFORM_VIDEO / BOARD_IMAGES / HLS_PACKAGE
+    target_id VARCHAR(64) NOT NULL,         -- shortform.pk / board.id
+    file_name VARCHAR(255) NULL,            -- 처리할 저장 파일 이름 (작업 종류에 따라)
+    status VARCHAR(10) NOT NULL DEFAULT 'PENDING', -- PENDING / RUNNING / DONE / FAILED
+    attempts INT NOT NULL DEFAULT 0,
+    next_run_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, -- 실패 시 재시도 시각 (지수 백오프)
+    locked_at DATETIME NULL,                -- RUNNING 이 된 / 마지막으로 연장된 시각 (오래되면 서버가 죽은 것으로 보고 다시 PENDING)
+    lock_token CHAR(36) NULL,               -- 작업을 가져간 워커의 토큰. 결과는 토큰이 같을 때만 기록 (다시 가져간 작업에 늦게 쓰지 않도록)
+    last_error VARCHAR(500) NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_media_job_claim (status, next_run_at),
+    INDEX idx_media_job_target (job_type, target_id)
+) ENGINE = InnoDB;
+
+-- 기존 DB 에 컬럼 추가
+-- ALTER TABLE media_job ADD COLUMN lock_token CHAR(36) NULL;
+
+
 -- -----------------------------------------------------
 -- Table board, image , comment
 -- -----------------------------------------------------
@@ -186,11 +269,20 @@ CREATE TABLE IF NOT EXISTS board (
   img_forder_path  VARCHAR(500),
   thumbnail_url   VARCHAR(500),           -- ✅ 대표 이미지 이름 (NULL 허용)
   content_priview  VARCHAR(30),
+  comment_count    INT           NOT NULL DEFAULT 0, -- 댓글 수 (댓글 등록 / 삭제와 같은 트랜잭션에서 갱신)
   created_time       DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP,
   PRIMARY KEY (id),
+  INDEX idx_board_created (created_time, id), -- 목록 정렬 + 커서 페이지 (created_time, id) keyset
   CONSTRAINT fk_board_member FOREIGN KEY (member_id) REFERENCES member(id) ON DELETE CASCADE
 ) ENGINE = InnoDB;
 
+-- 기존 DB 에는 인덱스만 추가
+-- ALTER TABLE board ADD INDEX idx_board_created (created_time, id);
+-- 기존 DB 에는 댓글 수 컬럼 추가 후 한 번 채움
+-- ALTER TABLE board ADD COLUMN comment_count INT NOT NULL DEFAULT 0 AFTER content_priview;
+-- UPDATE board b SET b.comment_count = (SELECT COUNT(*) FROM comment c WHERE c.board_id = b.id);
+-- 기존 썸네일을 축소본 주소로: image.resize.migrate-thumbnails=true 로 한 번 띄우면 시작할 때 바꿈 (board.xml migrateThumbnailUrls)
+
 CREATE TABLE IF NOT EXISTS images (
   id              BIGINT         NOT NULL AUTO_INCREMENT,
   original_name   VARCHAR(255)   NOT NULL,        -- 사용자가 업로드한 원본 파일명
@@ -213,9 +305,14 @@ CREATE TABLE comment (
     REFERENCES member(id) ON DELETE CASCADE,
 
   CONSTRAINT fk_comment_board FOREIGN KEY (board_id)
-    REFERENCES board(id) ON DELETE CASCADE
+    REFERENCES board(id) ON DELETE CASCADE,
+
+  INDEX idx_comment_board_created (board_id, created_time, id) -- 게시글별 댓글 커서 페이지
 );
 
+-- 기존 DB 에는 인덱스만 추가
+-- ALTER TABLE comment ADD INDEX idx_comment_board_created (board_id, created_time, id);
+
 -- 더미 로그인 파일
 INSERT INTO member (name, email, pw, provider, role, created_at) VALUES ("1", "1", "$2a$10$b2zk3jxqY5u7tHgNS8IHuOhhUfWfAEEgJ34MC7PiPac4jm3SSEm76", "LOCAL", "ROLE_USER", CURRENT_TIMESTAMP)
 
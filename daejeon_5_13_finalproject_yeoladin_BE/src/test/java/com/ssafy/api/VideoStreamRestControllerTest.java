@@ -0,0 +1,162 @@
+package com.ssafy.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+// /videos/{filename} 의 200 / 206 (단일 구간, multipart/byteranges) / If-Range / 416 응답 확인
+class VideoStreamRestControllerTest {
+	private static final String FILE = "clip.mp4";
+
+	@TempDir
+	Path uploadDir;
+
+	private byte[] content;
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		content = new byte[1000];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) ('a' + i % 26);
+		}
+		Files.write(uploadDir.resolve(FILE), content);
+
+		VideoStreamRestController controller = new VideoStreamRestController();
+		ReflectionTestUtils.setField(controller, "uploadDir", uploadDir.toString());
+		mvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	@Test
+	void fullBodyWithoutRange() throws Exception {
+		MockHttpServletResponse response = mvc.perform(get("/videos/" + FILE)).andReturn().getResponse();
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+		assertThat(response.getContentType()).isEqualTo("video/mp4");
+		assertThat(response.getContentAsByteArray()).isEqualTo(content);
+	}
+
+	@Test
+	void singleRange() throws Exception {
+		MockHttpServletResponse response = range("bytes=10-19");
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/1000");
+		assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isEqualTo("10");
+		assertThat(response.getContentAsByteArray()).isEqualTo(slice(10, 19));
+	}
+
+	@Test
+	void suffixAndOpenEndedRanges() throws Exception {
+		assertThat(range("bytes=-5").getContentAsByteArray()).isEqualTo(slice(995, 999));
+		MockHttpServletResponse openEnded = range("bytes=990-");
+		assertThat(openEnded.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 990-999/1000");
+		assertThat(openEnded.getContentAsByteArray()).isEqualTo(slice(990, 999));
+	}
+
+	@Test
+	void multipleRangesUseMultipartByteranges() throws Exception {
+		MockHttpServletResponse response = range("bytes=0-4,20-24");
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+		String boundary = response.getContentType().substring("multipart/byteranges; boundary=".length());
+		String body = response.getContentAsString(StandardCharsets.US_ASCII);
+		assertThat(body).isEqualTo("\r\n--" + boundary + "\r\n"
+				+ "Content-Type: video/mp4\r\nContent-Range: bytes 0-4/1000\r\n\r\n" + ascii(0, 4)
+				+ "\r\n--" + boundary + "\r\n"
+				+ "Content-Type: video/mp4\r\nContent-Range: bytes 20-24/1000\r\n\r\n" + ascii(20, 24)
+				+ "\r\n--" + boundary + "--\r\n");
+		assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH))
+				.isEqualTo(String.valueOf(response.getContentAsByteArray().length));
+	}
+
+	@Test
+	void overlappingRangesAreMerged() throws Exception {
+		MockHttpServletResponse response = range("bytes=0-9,5-14");
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-14/1000");
+		assertThat(response.getContentAsByteArray()).isEqualTo(slice(0, 14));
+	}
+
+	@Test
+	void ifRangeWithCurrentValidatorReturnsPart() throws Exception {
+		String etag = mvc.perform(head("/videos/" + FILE)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		String lastModified = mvc.perform(head("/videos/" + FILE)).andReturn().getResponse()
+				.getHeader(HttpHeaders.LAST_MODIFIED);
+
+		MockHttpServletResponse byEtag = mvc.perform(get("/videos/" + FILE)
+				.header(HttpHeaders.RANGE, "bytes=100-199").header(HttpHeaders.IF_RANGE, etag)).andReturn().getResponse();
+		MockHttpServletResponse byDate = mvc.perform(get("/videos/" + FILE)
+				.header(HttpHeaders.RANGE, "bytes=100-199").header(HttpHeaders.IF_RANGE, lastModified)).andReturn()
+				.getResponse();
+
+		assertThat(byEtag.getStatus()).isEqualTo(206);
+		assertThat(byEtag.getContentAsByteArray()).isEqualTo(slice(100, 199));
+		assertThat(byDate.getStatus()).isEqualTo(206);
+	}
+
+	@Test
+	void ifRangeWithStaleValidatorReturnsWholeFile() throws Exception {
+		MockHttpServletResponse response = mvc.perform(get("/videos/" + FILE)
+				.header(HttpHeaders.RANGE, "bytes=100-199").header(HttpHeaders.IF_RANGE, "\"stale\"")).andReturn()
+				.getResponse();
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsByteArray()).isEqualTo(content);
+	}
+
+	@Test
+	void unsatisfiableRange() throws Exception {
+		MockHttpServletResponse response = range("bytes=5000-");
+
+		assertThat(response.getStatus()).isEqualTo(416);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */1000");
+	}
+
+	@Test
+	void headSendsHeadersOnly() throws Exception {
+		MockHttpServletResponse response = mvc.perform(head("/videos/" + FILE).header(HttpHeaders.RANGE, "bytes=0-99"))
+				.andReturn().getResponse();
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isEqualTo("100");
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void pathOutsideUploadDirIsNotFound() throws Exception {
+		Files.writeString(uploadDir.getParent().resolve("secret.txt"), "secret");
+
+		assertThat(mvc.perform(get("/videos/..%2Fsecret.txt")).andReturn().getResponse().getStatus()).isEqualTo(404);
+		assertThat(mvc.perform(get("/videos/missing.mp4")).andReturn().getResponse().getStatus()).isEqualTo(404);
+	}
+
+	private MockHttpServletResponse range(String range) throws Exception {
+		return mvc.perform(get("/videos/" + FILE).header(HttpHeaders.RANGE, range)).andReturn().getResponse();
+	}
+
+	private byte[] slice(int start, int end) {
+		return Arrays.copyOfRange(content, start, end + 1);
+	}
+
+	private String ascii(int start, int end) {
+		return new String(slice(start, end), StandardCharsets.US_ASCII);
+	}
+}
@@ -0,0 +1,165 @@
+package com.ssafy.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+// 동시에 여러 사용자가 탐색(Range 요청)할 때 기존 리소스 핸들러(/videos/**)와 VideoStreamRestController 비교
+// 처리량과 요청당 힙 할당량을 로그로 남김 (환경마다 달라서 검사하지 않고, 두 핸들러가 같은 바이트를 보냈는지만 확인)
+// 응답 바디는 버리고 바이트 수만 세서 MockHttpServletResponse 의 버퍼가 측정에 섞이지 않게 함
+@Slf4j
+class VideoStreamThroughputTest {
+	private static final int FILE_SIZE = 8 * 1024 * 1024;
+	private static final int SEEK_SIZE = 512 * 1024; // 플레이어가 탐색 후 받는 구간 크기
+	private static final int THREADS = 8;
+	private static final int REQUESTS_PER_THREAD = 200;
+
+	@TempDir
+	Path uploadDir;
+
+	@FunctionalInterface
+	private interface Handler {
+		void handle(MockHttpServletRequest request, HttpServletResponse response) throws Exception;
+	}
+
+	private record Result(long requests, long bytes, long elapsedNs, long allocatedBytes) {
+	}
+
+	@Test
+	void concurrentSeeksAgainstResourceHandler() throws Exception {
+		byte[] content = new byte[FILE_SIZE];
+		new Random(1).nextBytes(content);
+		Files.write(uploadDir.resolve("clip.mp4"), content);
+
+		VideoStreamRestController controller = new VideoStreamRestController();
+		ReflectionTestUtils.setField(controller, "uploadDir", uploadDir.toString());
+		ResourceHttpRequestHandler resourceHandler = new ResourceHttpRequestHandler();
+		resourceHandler.setLocations(List.of(new FileSystemResource(uploadDir.toString() + "/")));
+		resourceHandler.setServletContext(new MockServletContext());
+		resourceHandler.afterPropertiesSet();
+
+		Handler stream = (request, response) -> controller.streamVideo("clip.mp4", request, response);
+		Handler resource = (request, response) -> {
+			request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "clip.mp4");
+			resourceHandler.handleRequest(request, response);
+		};
+
+		run("warmup", resource);
+		run("warmup", stream);
+		Result before = run("ResourceHttpRequestHandler", resource);
+		Result after = run("VideoStreamRestController", stream);
+
+		assertThat(after.bytes()).isEqualTo(before.bytes()); // 같은 구간을 같은 크기로 보냄
+	}
+
+	// 스레드마다 같은 시드로 임의 위치를 탐색 (두 핸들러가 같은 요청을 받도록)
+	private Result run(String label, Handler handler) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<long[]>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				long seed = t;
+				futures.add(pool.submit(() -> {
+					start.await();
+					return seek(handler, new Random(seed));
+				}));
+			}
+			long begin = System.nanoTime();
+			start.countDown();
+			long bytes = 0;
+			long allocated = 0;
+			for (Future<long[]> future : futures) {
+				long[] result = future.get(120, TimeUnit.SECONDS);
+				bytes += result[0];
+				allocated += result[1];
+			}
+			long elapsedNs = System.nanoTime() - begin;
+			long requests = (long) THREADS * REQUESTS_PER_THREAD;
+			log.info("{}: {} 요청, {} MB/s, 요청당 힙 할당 {} KB", label, requests,
+					String.format("%.0f", bytes / 1048576.0 / (elapsedNs / 1e9)), allocated / requests / 1024);
+			return new Result(requests, bytes, elapsedNs, allocated);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	// [보낸 바이트 수, 이 스레드의 힙 할당량]
+	private long[] seek(Handler handler, Random random) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+		long bytes = 0;
+		for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+			long position = (long) random.nextInt(FILE_SIZE - SEEK_SIZE);
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/videos/clip.mp4");
+			request.addHeader(HttpHeaders.RANGE, "bytes=" + position + "-" + (position + SEEK_SIZE - 1));
+			CountingResponse response = new CountingResponse(new MockHttpServletResponse());
+			handler.handle(request, response);
+			assertThat(response.getStatus()).isEqualTo(206);
+			bytes += response.count;
+		}
+		return new long[] { bytes, threads.getCurrentThreadAllocatedBytes() - allocatedBefore };
+	}
+
+	// 바디를 버리고 바이트 수만 셈
+	private static final class CountingResponse extends HttpServletResponseWrapper {
+		private long count;
+		private final ServletOutputStream out = new ServletOutputStream() {
+			@Override
+			public void write(int b) {
+				count++;
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				count += len;
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener listener) {
+			}
+		};
+
+		CountingResponse(HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			return out;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.ssafy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.ssafy.service.BoardContentRenderer.Rendered;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 게시글 본문 렌더러: 이미지 토큰 치환 / 미리보기 / 보조 문자 안전한 자르기
+// 예전 정규식 방식(아래 legacy*)과 같은 결과인지 임의 입력으로 비교하고, 큰 게시글 처리 시간을 로그로 남김
+@Slf4j
+class BoardContentRendererTest {
+	private static final List<String> URLS = List.of("/images/a.jpg", "/images/b.png", "/images/c.gif");
+	private static final Pattern TOKEN = Pattern.compile("__IMAGE_(\\d+)__");
+
+	@Test
+	void substitutesImageTokens() {
+		Rendered rendered = BoardContentRenderer.render("<p>앞__IMAGE_0__중간__IMAGE_2__</p>__IMAGE_1__", URLS);
+
+		assertThat(rendered.content()).isEqualTo("<p>앞<img src='/images/a.jpg' class='inline-image'>중간"
+				+ "<img src='/images/c.gif' class='inline-image'></p><img src='/images/b.png' class='inline-image'>");
+		assertThat(rendered.preview()).isEqualTo("앞[사진]중간[사진][사진]");
+	}
+
+	@Test
+	void leavesUnknownAndMalformedTokens() {
+		Rendered rendered = BoardContentRenderer.render("__IMAGE_3__ __IMAGE_x__ __IMAGE___ __IMAGE_99999999999__",
+				URLS);
+
+		assertThat(rendered.content()).isEqualTo("__IMAGE_3__ __IMAGE_x__ __IMAGE___ __IMAGE_99999999999__");
+		assertThat(BoardContentRenderer.render("본문", List.of()).content()).isEqualTo("본문");
+	}
+
+	@Test
+	void previewStripsTagsAndTrims() {
+		assertThat(BoardContentRenderer.preview("  <p>\n 안녕 <b>하세요</b> </p>  ")).isEqualTo("안녕 하세요");
+		assertThat(BoardContentRenderer.preview("<br><p> </p>")).isNull();
+		assertThat(BoardContentRenderer.preview("a < b")).isEqualTo("a < b"); // 닫히지 않은 < 는 글자
+		assertThat(BoardContentRenderer.preview(null)).isNull();
+	}
+
+	@Test
+	void previewIsCutAtThirtyCodePoints() {
+		String emoji = "😀"; // 보조 문자 (char 2 개)
+		String preview = BoardContentRenderer.preview(emoji.repeat(40));
+
+		assertThat(preview.codePointCount(0, preview.length())).isEqualTo(BoardContentRenderer.PREVIEW_LENGTH);
+		assertThat(preview).isEqualTo(emoji.repeat(30)); // 반쪽 서로게이트 없이 끝남
+		assertThat(BoardContentRenderer.preview("a".repeat(28) + " " + "b")).isEqualTo("a".repeat(28) + " b");
+		assertThat(BoardContentRenderer.preview("a".repeat(29) + " " + "bc")).isEqualTo("a".repeat(29)); // 끝 공백 제거
+	}
+
+	@Test
+	void matchesLegacyRegexPipelineOnRandomInput() {
+		String[] pieces = { "__IMAGE_0__", "__IMAGE_1__", "__IMAGE_2__", "__IMAGE_7__", "__IMAGE_", "__", "_", "<br>",
+				"<p>", "</p>", "<img src='x'>", "<", ">", " ", "\n", "\t", "a", "1", "가", "😀" };
+		Random random = new Random(22);
+		int overlapping = 0;
+		for (int n = 0; n < 200_000; n++) {
+			StringBuilder content = new StringBuilder();
+			int count = random.nextInt(40);
+			for (int i = 0; i < count; i++) {
+				content.append(pieces[random.nextInt(pieces.length)]);
+			}
+			String input = content.toString();
+
+			Rendered rendered = BoardContentRenderer.render(input, URLS);
+			String expected = leftToRightContent(input, URLS);
+			assertThat(rendered.content()).as(input).isEqualTo(expected);
+			assertThat(rendered.preview()).as(input).isEqualTo(legacyPreview(input));
+			if (!expected.equals(legacyContent(input, URLS))) {
+				overlapping++; // 토큰끼리 밑줄을 나눠 쓰는 입력 (예: __IMAGE_1__IMAGE_0__)
+			}
+		}
+		log.info("임의 입력 200000 개 중 토큰이 겹쳐 예전 번호 순 replace 와 결과가 다른 입력: {} 개", overlapping);
+	}
+
+	// 큰 게시글(이미지 n 개) 처리 시간 비교. 환경마다 달라서 검사하지 않고 로그만 남김
+	@Test
+	void largePostTiming() {
+		for (int images : new int[] { 10, 100 }) {
+			List<String> urls = new ArrayList<>();
+			StringBuilder content = new StringBuilder();
+			for (int i = 0; i < images; i++) {
+				urls.add("/images/cas/ab/" + "0123456789abcdef".repeat(4) + ".jpg");
+				content.append("<p>").append("여행 후기 본문입니다. ".repeat(100)).append("</p>__IMAGE_").append(i).append("__");
+			}
+			String input = content.toString();
+			assertThat(BoardContentRenderer.render(input, urls).content()).isEqualTo(legacyContent(input, urls));
+
+			long legacyNs = time(() -> {
+				legacyPreview(input);
+				legacyContent(input, urls);
+			});
+			long renderNs = time(() -> BoardContentRenderer.render(input, urls));
+			log.info("본문 {} 자, 이미지 {} 개: 정규식 {} us, 한 번 훑기 {} us", input.length(), images,
+					TimeUnit.NANOSECONDS.toMicros(legacyNs), TimeUnit.NANOSECONDS.toMicros(renderNs));
+		}
+	}
+
+	// 예열 후 평균 (ns)
+	private static long time(Runnable work) {
+		for (int i = 0; i < 200; i++) {
+			work.run();
+		}
+		int rounds = 500;
+		long begin = System.nanoTime();
+		for (int i = 0; i < rounds; i++) {
+			work.run();
+		}
+		return (System.nanoTime() - begin) / rounds;
+	}
+
+	// 앞에서부터 토큰을 찾아 치환 (렌더러의 기준 동작. 토큰이 겹치지 않으면 예전 replace 와 같음)
+	private static String leftToRightContent(String content, List<String> urls) {
+		Matcher matcher = TOKEN.matcher(content);
+		StringBuilder out = new StringBuilder();
+		while (matcher.find()) {
+			String digits = matcher.group(1);
+			int index = digits.length() > 9 ? -1 : Integer.parseInt(digits);
+			String replacement = index >= 0 && index < urls.size()
+					? "<img src='" + urls.get(index) + "' class='inline-image'>"
+					: matcher.group();
+			matcher.appendReplacement(out, Matcher.quoteReplacement(replacement));
+		}
+		return matcher.appendTail(out).toString();
+	}
+
+	// 예전 boardRegist: 이미지 수만큼 본문 전체 replace
+	private static String legacyContent(String content, List<String> urls) {
+		for (int i = 0; i < urls.size(); i++) {
+			content = content.replace("__IMAGE_" + i + "__", "<img src='" + urls.get(i) + "' class='inline-image'>");
+		}
+		return content;
+	}
+
+	// 예전 createContentPreview. 자르기만 코드 포인트 기준 + 잘린 끝 공백 제거로 바뀜
+	private static String legacyPreview(String content) {
+		String textOnly = content.replaceAll("__IMAGE_\\d+__", "[사진]");
+		textOnly = textOnly.replaceAll("<[^>]*>", "").trim();
+		if (textOnly.isEmpty()) {
+			return null;
+		}
+		if (textOnly.codePointCount(0, textOnly.length()) > BoardContentRenderer.PREVIEW_LENGTH) {
+			textOnly = textOnly.substring(0, textOnly.offsetByCodePoints(0, BoardContentRenderer.PREVIEW_LENGTH)).stripTrailing();
+		}
+		return textOnly;
+	}
+}
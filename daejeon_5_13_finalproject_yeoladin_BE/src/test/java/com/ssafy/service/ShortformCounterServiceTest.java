@@ -0,0 +1,59 @@
+package com.ssafy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ssafy.repository.ShortformRepository;
+
+// 조회수 일괄 반영 중에도 "DB 조회수 + 미반영분" 이 줄어들지 않는지 확인
+class ShortformCounterServiceTest {
+	private ShortformRepository formRepo;
+	private ShortformCounterService counterService;
+	private long dbViews;
+
+	@BeforeEach
+	void setUp() {
+		formRepo = mock(ShortformRepository.class);
+		counterService = new ShortformCounterService(formRepo);
+		dbViews = 100;
+	}
+
+	@Test
+	void pendingViewsStayUntilTheBatchCommits() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			counterService.recordView(1);
+		}
+		List<Long> seenDuringWrite = new ArrayList<>();
+		when(formRepo.addViewCounts(anyList())).thenAnswer(invocation -> {
+			seenDuringWrite.add(dbViews + counterService.pendingViews(1)); // 커밋 전
+			counterService.recordView(1); // 반영 중에 들어온 조회
+			dbViews += 5; // 커밋
+			return 1;
+		});
+
+		counterService.flush();
+
+		assertThat(seenDuringWrite).containsExactly(105L);
+		assertThat(dbViews + counterService.pendingViews(1)).isEqualTo(106);
+	}
+
+	@Test
+	void failedBatchKeepsPendingViews() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			counterService.recordView(1);
+		}
+		when(formRepo.addViewCounts(anyList())).thenThrow(new IllegalStateException("db down"));
+
+		counterService.flush();
+
+		assertThat(counterService.pendingViews(1)).isEqualTo(3);
+	}
+}
@@ -0,0 +1,139 @@
+package com.ssafy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ssafy.dto.shortform.ShortformFavoriteDto;
+import com.ssafy.dto.shortform.ShortformFavoriteRequestDto;
+import com.ssafy.repository.ShortformRepository;
+
+// 좋아요 연속 탭: 같은 회원의 토글이 동시에 와도 하나씩 처리되고, 없는 숏폼은 성공으로 응답하지 않는지 확인
+// 회원 행 잠금(SELECT ... FOR UPDATE)은 커밋될 때까지 잡고 있는 ReentrantLock 으로 흉내냄
+class ShortformFavoriteConcurrencyTest {
+	private static final long MEMBER = 7L;
+	private static final int VIDEO = 1;
+	private static final int MISSING = 99;
+
+	private final Set<String> favorites = ConcurrentHashMap.newKeySet();
+	private final ReentrantLock memberRow = new ReentrantLock();
+	private ShortformCounterService counterService;
+	private ShortformService service;
+	private ExecutorService pool;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ShortformRepository formRepo = mock(ShortformRepository.class);
+		when(formRepo.lockMemberForFavorite(MEMBER)).thenAnswer(invocation -> {
+			memberRow.lock();
+			return MEMBER;
+		});
+		when(formRepo.removeFavorite(any(), anyInt())).thenAnswer(invocation ->
+				favorites.remove(key(invocation.getArgument(0), invocation.getArgument(1))) ? 1 : 0);
+		when(formRepo.addFavoriteIfAbsent(any(), anyInt())).thenAnswer(invocation -> {
+			int pk = invocation.getArgument(1);
+			return pk != MISSING && favorites.add(key(invocation.getArgument(0), pk)) ? 1 : 0; // FK 오류도 0행
+		});
+		when(formRepo.getFavoriteCount(anyInt())).thenAnswer(invocation ->
+				(int) invocation.getArgument(0) == MISSING ? null : 0);
+
+		counterService = mock(ShortformCounterService.class);
+		service = new ShortformService(formRepo, counterService, mock(ShortformLeaderboard.class),
+				mock(ShortformTrending.class), mock(ShortformContentTypeIndex.class), mock(ShortformPersonalizer.class),
+				mock(MediaStorageService.class), mock(MediaJobService.class), mock(ShortformViewerCounter.class),
+				mock(ShortformFavoriteCache.class), mock(ShortformLiveBroadcaster.class));
+		pool = Executors.newFixedThreadPool(2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	void concurrentUnfavoriteTapsAreSerialized() throws Exception {
+		favorites.add(key(MEMBER, VIDEO));
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<ShortformFavoriteDto>> taps = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			taps.add(pool.submit(() -> {
+				start.await();
+				return inTransaction(() -> service.toggleFavorite(MEMBER, VIDEO));
+			}));
+		}
+		start.countDown();
+
+		List<Boolean> states = new ArrayList<>();
+		for (Future<ShortformFavoriteDto> tap : taps) {
+			states.add(tap.get(5, TimeUnit.SECONDS).isFavoritedByCurrentUser()); // 두 요청 모두 성공
+		}
+		// 취소 한 번 + 다시 좋아요 한 번 (두 번 토글 = 처음 상태)
+		assertThat(states).containsExactlyInAnyOrder(false, true);
+		assertThat(favorites).containsExactly(key(MEMBER, VIDEO));
+		verify(counterService).recordFavorite(VIDEO, -1);
+		verify(counterService).recordFavorite(VIDEO, 1);
+	}
+
+	@Test
+	void favoritingMissingShortformFails() {
+		assertThatThrownBy(() -> inTransaction(() -> service.applyFavorites(MEMBER,
+				List.of(new ShortformFavoriteRequestDto(VIDEO, true), new ShortformFavoriteRequestDto(MISSING, true)))))
+				.isInstanceOf(NoSuchElementException.class);
+		assertThatThrownBy(() -> inTransaction(() -> service.toggleFavorite(MEMBER, MISSING)))
+				.isInstanceOf(NoSuchElementException.class);
+	}
+
+	@Test
+	void favoritingAlreadyFavoritedShortformIsNoop() throws Exception {
+		favorites.add(key(MEMBER, VIDEO));
+		List<ShortformFavoriteDto> results = inTransaction(() -> service.applyFavorites(MEMBER,
+				List.of(new ShortformFavoriteRequestDto(VIDEO, true))));
+
+		assertThat(results).singleElement().extracting(ShortformFavoriteDto::isFavoritedByCurrentUser).isEqualTo(true);
+		assertThat(favorites).containsExactly(key(MEMBER, VIDEO));
+	}
+
+	// 트랜잭션처럼 실행: 성공하면 커밋 후 처리를 돌리고, 잠금은 끝날 때 풀림
+	private <T> T inTransaction(Callable<T> work) throws Exception {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			T result = work.call();
+			for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCommit();
+			}
+			return result;
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+			while (memberRow.isHeldByCurrentThread()) {
+				memberRow.unlock();
+			}
+		}
+	}
+
+	private static String key(Long memberId, int pk) {
+		return memberId + ":" + pk;
+	}
+}
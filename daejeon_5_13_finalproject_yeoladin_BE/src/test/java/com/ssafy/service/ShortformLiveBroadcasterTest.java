@@ -0,0 +1,125 @@
+package com.ssafy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.api.ShortformRestController;
+import com.ssafy.dto.shortform.ShortformDto;
+import com.ssafy.repository.ShortformRepository;
+
+// 실시간 카운터(SSE) 구독자가 많아도 스레드가 늘지 않고, 변경은 구독자마다 한 번만 전달되는지 확인
+class ShortformLiveBroadcasterTest {
+	private static final int SUBSCRIBERS = 5000;
+	private static final int SEND_THREADS = 4;
+
+	private ShortformCounterService counterService;
+	private ShortformLiveBroadcaster broadcaster;
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ShortformRepository formRepo = mock(ShortformRepository.class);
+		ShortformDto video = new ShortformDto();
+		video.setPk(1);
+		video.setViews(100);
+		when(formRepo.selectVideo(1)).thenReturn(video);
+		when(formRepo.getFavoriteCount(1)).thenReturn(5);
+		ShortformLeaderboard leaderboard = mock(ShortformLeaderboard.class);
+		when(leaderboard.views(anyInt())).thenReturn(null);
+
+		counterService = new ShortformCounterService(formRepo);
+		broadcaster = new ShortformLiveBroadcaster(formRepo, counterService, leaderboard, new ObjectMapper());
+		ReflectionTestUtils.setField(broadcaster, "timeoutMs", 600000L);
+		ReflectionTestUtils.setField(broadcaster, "heartbeatMs", 600000L);
+		ReflectionTestUtils.setField(broadcaster, "maxSubscribers", SUBSCRIBERS);
+		ReflectionTestUtils.setField(broadcaster, "sendThreads", SEND_THREADS);
+		ReflectionTestUtils.setField(broadcaster, "maxSkipped", 3);
+		broadcaster.init();
+
+		ShortformRestController controller = new ShortformRestController(mock(ShortformService.class),
+				mock(MemberService.class), mock(ShortformUploadService.class), mock(MediaStorageService.class), broadcaster);
+		mvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void idleSubscribersShareTheSenderThreads() throws Exception {
+		int threadsBefore = Thread.activeCount();
+		List<MvcResult> results = new ArrayList<>(SUBSCRIBERS);
+		for (int i = 0; i < SUBSCRIBERS; i++) {
+			results.add(mvc.perform(get("/api/auth/video/1/live")).andReturn());
+		}
+		assertThat(results).allMatch(result -> result.getRequest().isAsyncStarted());
+		assertThat(broadcaster.subscriberCount()).isEqualTo(SUBSCRIBERS);
+
+		// 한 주기 안의 조회 1000번 + 좋아요 1번은 구독자마다 counts 이벤트 한 번
+		for (int i = 0; i < 1000; i++) {
+			counterService.recordView(1);
+			broadcaster.onChange(1);
+		}
+		counterService.recordFavorite(1, 1);
+		broadcaster.onChange(1);
+		broadcaster.publish();
+		awaitAll(results, body -> countEvents(body, "event:counts") == 2);
+		broadcaster.publish(); // 변경 없음
+
+		assertThat(results).allMatch(result -> countEvents(body(result), "event:counts") == 2);
+		assertThat(body(results.get(SUBSCRIBERS - 1))).contains("\"views\":1100", "\"favoriteCount\":6");
+		assertThat(Thread.activeCount()).isLessThanOrEqualTo(threadsBefore + SEND_THREADS);
+	}
+
+	@Test
+	void deleteNotifiesAndClosesSubscribers() throws Exception {
+		List<MvcResult> results = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			results.add(mvc.perform(get("/api/auth/video/1/live")).andReturn());
+		}
+
+		broadcaster.onDelete(1);
+
+		assertThat(broadcaster.subscriberCount()).isZero();
+		awaitAll(results, body -> body.endsWith("event:deleted\ndata:1\n\n"));
+		assertThat(mvc.perform(get("/api/auth/video/2/live")).andReturn().getResponse().getStatus()).isEqualTo(404);
+	}
+
+	// 전송 스레드가 쓰기를 마칠 때까지 기다림
+	private static void awaitAll(List<MvcResult> results, Predicate<String> condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!results.stream().allMatch(result -> condition.test(body(result)))
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+	}
+
+	private static String body(MvcResult result) {
+		try {
+			return result.getResponse().getContentAsString();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static int countEvents(String body, String event) {
+		return body.split(event, -1).length - 1;
+	}
+}
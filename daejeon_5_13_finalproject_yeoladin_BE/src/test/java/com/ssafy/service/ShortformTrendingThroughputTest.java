@@ -0,0 +1,109 @@
+package com.ssafy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ssafy.repository.ShortformRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 트렌딩 점수 갱신 처리량 측정 (여러 스레드가 인기 숏폼 몇 개에 몰리는 경우)
+// 이벤트당 O(1) CAS 라서 스레드를 늘려도 갱신이 사라지지 않고, 처리량은 로그로 남김 (환경마다 달라서 검사하지 않음)
+@Slf4j
+class ShortformTrendingThroughputTest {
+	private static final int HOT_VIDEOS = 16;
+	private static final int UPDATES_PER_THREAD = 200_000;
+
+	@Test
+	void concurrentUpdatesAreNotLost() throws Exception {
+		for (int threads : new int[] { 1, 4, 8 }) {
+			ShortformTrending trending = newTrending();
+			long now = System.currentTimeMillis();
+
+			long elapsedNs = run(threads, worker -> {
+				for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+					trending.add((worker + i) % HOT_VIDEOS, 1.0, now);
+				}
+			});
+
+			long total = (long) threads * UPDATES_PER_THREAD;
+			log.info("트렌딩 갱신 {} 스레드: {} 건, {} ms, {} 만 건/초", threads, total,
+					TimeUnit.NANOSECONDS.toMillis(elapsedNs), String.format("%.1f", total / (elapsedNs / 1e9) / 1e4));
+			// 숏폼마다 total / HOT_VIDEOS 번 (가중치 1) 더해졌어야 함. 측정 중 흐른 시간만큼의 감쇠는 무시할 정도
+			for (int pk = 0; pk < HOT_VIDEOS; pk++) {
+				assertThat(trending.currentScore(pk)).isCloseTo((double) total / HOT_VIDEOS,
+						within(total / HOT_VIDEOS * 1e-3));
+			}
+		}
+	}
+
+	@Test
+	void rankingFollowsEventCounts() {
+		ShortformTrending trending = newTrending();
+		long now = System.currentTimeMillis();
+		for (int pk = 1; pk <= 5; pk++) {
+			for (int i = 0; i < pk * 10; i++) {
+				trending.add(pk, 1.0, now);
+			}
+		}
+		trending.add(6, 1.0, now - TimeUnit.HOURS.toMillis(24 * 10)); // 10 반감기 전 이벤트 1000 번 = 지금 약 1 번
+		for (int i = 1; i < 1000; i++) {
+			trending.add(6, 1.0, now - TimeUnit.HOURS.toMillis(24 * 10));
+		}
+
+		assertThat(trending.topPks(3)).containsExactly(5, 4, 3);
+		assertThat(trending.currentScore(6)).isCloseTo(1000 / 1024.0, within(0.01));
+	}
+
+	private static ShortformTrending newTrending() {
+		ShortformTrending trending = new ShortformTrending(mock(ShortformRepository.class),
+				mock(ShortformCounterService.class));
+		ReflectionTestUtils.setField(trending, "halfLifeHours", 24.0);
+		ReflectionTestUtils.setField(trending, "viewWeight", 1.0);
+		ReflectionTestUtils.setField(trending, "favoriteWeight", 5.0);
+		ReflectionTestUtils.setField(trending, "size", 5);
+		return trending;
+	}
+
+	@FunctionalInterface
+	private interface Worker {
+		void run(int worker);
+	}
+
+	// 모든 스레드를 동시에 출발시키고 전체 걸린 시간(ns) 반환
+	private static long run(int threads, Worker worker) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int id = t;
+				futures.add(pool.submit(() -> {
+					start.await();
+					worker.run(id);
+					return null;
+				}));
+			}
+			long begin = System.nanoTime();
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+			return System.nanoTime() - begin;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.ssafy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ssafy.dto.shortform.ShortformUploadDto;
+
+// 서버가 재시작돼도 받은 offset 부터 이어올리기가 되는지 확인
+class ShortformUploadServiceTest {
+	@TempDir
+	Path uploadDir;
+
+	@Test
+	void sessionSurvivesRestart() throws Exception {
+		ShortformUploadService before = newService();
+		ShortformUploadDto created = before.createSession(7L, 10, "clip.mp4");
+		assertThat(before.appendChunk(created.getUploadId(), 7L, 0, new ByteArrayInputStream("hello".getBytes())))
+				.isEqualTo(5);
+
+		ShortformUploadService after = newService(); // 재시작
+		ShortformUploadDto restored = after.getSession(created.getUploadId(), 7L);
+		assertThat(restored.getOffset()).isEqualTo(5);
+		assertThat(restored.getLength()).isEqualTo(10);
+		assertThat(after.appendChunk(created.getUploadId(), 7L, 5, new ByteArrayInputStream("world".getBytes())))
+				.isEqualTo(10);
+		assertThatThrownBy(() -> after.getSession(created.getUploadId(), 8L)).isInstanceOf(IllegalAccessException.class);
+
+		Path part = uploadDir.resolve(".uploads").resolve(created.getUploadId() + ".part");
+		assertThat(Files.readString(part)).isEqualTo("helloworld");
+	}
+
+	@Test
+	void abortedSessionIsNotRestored() throws Exception {
+		ShortformUploadService before = newService();
+		ShortformUploadDto created = before.createSession(7L, 10, "clip.mp4");
+		before.abortSession(created.getUploadId(), 7L);
+
+		ShortformUploadService after = newService();
+		assertThatThrownBy(() -> after.getSession(created.getUploadId(), 7L)).isInstanceOf(NoSuchElementException.class);
+		try (var files = Files.list(uploadDir.resolve(".uploads"))) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	private ShortformUploadService newService() {
+		ShortformUploadService service = new ShortformUploadService(mock(MediaStorageService.class));
+		ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+		ReflectionTestUtils.setField(service, "maxLength", 1024L);
+		ReflectionTestUtils.setField(service, "sessionTtlMinutes", 60L);
+		service.restoreSessions();
+		return service;
+	}
+}